@@ -22,6 +22,11 @@ import org.wso2.carbon.identity.branding.preference.management.core.exception.Br
 import org.wso2.carbon.identity.branding.preference.management.core.exception.NotImplementedException;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PageBundle;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceResolutionResult;
+
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Branding preference management service interface.
@@ -82,6 +87,26 @@ public interface BrandingPreferenceManager {
                 "resolveApplicationBrandingPreference method is not implemented in " + this.getClass().getName());
     }
 
+    /**
+     * This service method is used to retrieve resolved branding preferences, only if they are modified since the
+     * version known to the client.
+     *
+     * @param type                Type of the branding preference.
+     * @param name                Name of the tenant/application.
+     * @param locale              Language preference of the branding.
+     * @param restrictToPublished Whether to resolve using only published branding preferences only.
+     * @param ifNoneMatch         Entity tags of the versions known to the client.
+     * @return Resolution result holding the resolved branding preference, the reason for not resolving one or the
+     * entity tag of the branding preference if it is not modified.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default PreferenceResolutionResult<BrandingPreference> resolveBrandingPreferenceIfModified(
+            String type, String name, String locale, boolean restrictToPublished, String ifNoneMatch)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException("This functionality is not implemented.");
+    }
+
     /**
      * This API is used to retrieve a resolved branding preference for an application.
      *
@@ -108,6 +133,22 @@ public interface BrandingPreferenceManager {
     BrandingPreference replaceBrandingPreference(BrandingPreference brandingPreference)
             throws BrandingPreferenceMgtException;
 
+    /**
+     * This API is used to partially update a branding preference, using a JSON merge patch (RFC 7396).
+     *
+     * @param type   Resource type.
+     * @param name   Tenant/Application name.
+     * @param locale Language preference.
+     * @param patch  Merge patch of the preference.
+     * @return The patched branding preference.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default BrandingPreference patchBrandingPreference(String type, String name, String locale, Object patch)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException("This functionality is not implemented.");
+    }
+
     /**
      * This API is used to delete a branding preference.
      *
@@ -163,6 +204,62 @@ public interface BrandingPreferenceManager {
         throw new NotImplementedException("This functionality is not implemented.");
     }
 
+    /**
+     * This API is used to retrieve the resolved custom text preferences of multiple screens, such as the screens
+     * rendered in a single page.
+     *
+     * @param type    Type of the custom text preference.
+     * @param name    Name of the tenant/application where custom text belongs.
+     * @param screens Screens where the custom texts need to be applied.
+     * @param locale  Language preference of the custom texts.
+     * @return Resolved custom text preferences by the screen. Screens without custom text preferences are not included.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default Map<String, CustomText> resolveCustomTexts(String type, String name, Set<String> screens, String locale)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException("This functionality is not implemented.");
+    }
+
+    /**
+     * This API is used to retrieve the resolved branding preference and the resolved custom text preferences of the
+     * screens of a page in a single call.
+     *
+     * @param type                Type of the branding and custom text preferences.
+     * @param name                Name of the tenant/application.
+     * @param screens             Screens rendered in the page.
+     * @param locale              Language preference of the page.
+     * @param restrictToPublished Whether to only resolve published branding preferences.
+     * @return Page bundle holding the resolved branding and custom text preferences.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default PageBundle resolvePageBundle(String type, String name, Set<String> screens, String locale,
+                                         boolean restrictToPublished) throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException("This functionality is not implemented.");
+    }
+
+    /**
+     * This API is used to retrieve a resolved custom text preference, only if it is modified since the version
+     * known to the client.
+     *
+     * @param type        Type of the custom text preference.
+     * @param name        Name of the tenant/application where custom text belongs.
+     * @param screen      Screen where the custom text needs to be applied.
+     * @param locale      Language preference of the custom text.
+     * @param ifNoneMatch Entity tags of the versions known to the client.
+     * @return Resolution result holding the resolved custom text preference, the reason for not resolving one or the
+     * entity tag of the custom text preference if it is not modified.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default PreferenceResolutionResult<CustomText> resolveCustomTextIfModified(String type, String name,
+                                                                               String screen, String locale,
+                                                                               String ifNoneMatch)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException("This functionality is not implemented.");
+    }
+
     /**
      * This API is used to replace a given custom text preference.
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022-2024, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2022-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,10 +18,7 @@
 
 package org.wso2.carbon.identity.branding.preference.management.core;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections.MapUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -31,7 +28,13 @@ import org.wso2.carbon.identity.branding.preference.management.core.exception.Br
 import org.wso2.carbon.identity.branding.preference.management.core.internal.BrandingPreferenceManagerComponentDataHolder;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PageBundle;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceResolutionResult;
 import org.wso2.carbon.identity.branding.preference.management.core.util.BrandingPreferenceMgtUtils;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceCodec;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceMergePatch;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser.ParsedPreference;
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
 import org.wso2.carbon.identity.configuration.mgt.core.exception.ConfigurationManagementException;
 import org.wso2.carbon.identity.configuration.mgt.core.model.Resource;
@@ -45,12 +48,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_BRANDING_RESOURCE_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_TYPE;
@@ -58,6 +62,7 @@ import static org.wso2.carbon.identity.branding.preference.management.core.const
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.BRANDING_RESOURCE_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.BRANDING_URLS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.CUSTOM_TEXT_RESOURCE_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DISPLAY_NAME;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_APPLICATION_NOT_FOUND;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_ALREADY_EXISTS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED;
@@ -79,9 +84,12 @@ import static org.wso2.carbon.identity.branding.preference.management.core.const
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_INVALID_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_INVALID_CUSTOM_TEXT_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_NOT_ALLOWED_BRANDING_PREFERENCE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_PREFERENCE_DOCUMENT_TOO_LARGE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.JAVASCRIPT;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.MAX_PREFERENCE_DOCUMENT_SIZE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.NEW_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.OLD_BRANDING_PREFERENCE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_DETAILS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.PRE_ADD_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.PRE_UPDATE_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.RESOURCES_NOT_EXISTS_ERROR_CODE;
@@ -121,16 +129,25 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
             }
         }
 
-        String preferencesJSON = generatePreferencesJSONFromPreference(brandingPreference.getPreference());
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        Object preference = brandingPreference.getPreference();
+        byte[] preferencesJSON = serializePreference(preference);
+        if (preferencesJSON == null) {
             throw handleClientException(ERROR_CODE_INVALID_BRANDING_PREFERENCE, tenantDomain);
         }
+        validatePreferenceSize(preferencesJSON, tenantDomain);
         validatePreferenceUrls(brandingPreference);
 
         triggerPreAddBrandingPreferenceEvents(brandingPreference, tenantDomain);
-        preferencesJSON = generatePreferencesJSONFromPreference(brandingPreference.getPreference());
 
-        try (InputStream inputStream = new ByteArrayInputStream(preferencesJSON.getBytes(StandardCharsets.UTF_8))) {
+        byte[] addedPreferencesJSON;
+        try {
+            addedPreferencesJSON = getPreferenceAfterEvents(brandingPreference, preferencesJSON);
+        } catch (IOException e) {
+            throw handleServerException(ERROR_CODE_ERROR_ADDING_BRANDING_PREFERENCE, tenantDomain, e);
+        }
+        // Event handlers may have enlarged the preference.
+        validatePreferenceSize(addedPreferencesJSON, tenantDomain);
+        try (InputStream inputStream = new ByteArrayInputStream(addedPreferencesJSON)) {
             Resource brandingPreferenceResource = buildResource(resourceName, inputStream);
             getConfigurationManager().addResource(resourceType, brandingPreferenceResource);
             getUIBrandingPreferenceResolver().clearBrandingResolverCacheHierarchy(brandingPreference.getType(),
@@ -210,6 +227,15 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
         return getUIBrandingPreferenceResolver().resolveBranding(type, name, locale, restrictToPublished);
     }
 
+    @Override
+    public PreferenceResolutionResult<BrandingPreference> resolveBrandingPreferenceIfModified(
+            String type, String name, String locale, boolean restrictToPublished, String ifNoneMatch)
+            throws BrandingPreferenceMgtException {
+
+        return getUIBrandingPreferenceResolver().tryResolveBranding(type, name, locale, restrictToPublished,
+                ifNoneMatch);
+    }
+
     /**
      * @deprecated Use {@link #resolveBrandingPreference(String, String, String, boolean)} instead.
      */
@@ -229,24 +255,30 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
                 (brandingPreference.getType(), brandingPreference.getName(), brandingPreference.getLocale());
         String resourceType = getResourceType(brandingPreference.getType());
         String tenantDomain = getTenantDomain();
-        // Check whether the branding resource exists in the particular tenant.
-        if (!isResourceExists(resourceType, resourceName)) {
-            throw handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED, brandingPreference.getType(),
-                    brandingPreference.getName(), tenantDomain);
-        }
+        /* Existing branding preference is needed for the update events. Hence, it is retrieved upfront, instead of
+          checking the existence of the branding resource separately. Throws a client error if it does not exist. */
+        BrandingPreference oldBrandingPreference = getBrandingPreference(brandingPreference.getType(),
+                brandingPreference.getName(), brandingPreference.getLocale());
 
-        String preferencesJSON = generatePreferencesJSONFromPreference(brandingPreference.getPreference());
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        Object preference = brandingPreference.getPreference();
+        byte[] preferencesJSON = serializePreference(preference);
+        if (preferencesJSON == null) {
             throw handleClientException(ERROR_CODE_INVALID_BRANDING_PREFERENCE, tenantDomain);
         }
+        validatePreferenceSize(preferencesJSON, tenantDomain);
         validatePreferenceUrls(brandingPreference);
-        BrandingPreference oldBrandingPreference = getBrandingPreference(brandingPreference.getType(),
-                brandingPreference.getName(), brandingPreference.getLocale());
 
         triggerPreUpdateBrandingPreferenceEvents(oldBrandingPreference, brandingPreference, tenantDomain);
-        preferencesJSON = generatePreferencesJSONFromPreference(brandingPreference.getPreference());
 
-        try (InputStream inputStream = new ByteArrayInputStream(preferencesJSON.getBytes(StandardCharsets.UTF_8))) {
+        byte[] replacedPreferencesJSON;
+        try {
+            replacedPreferencesJSON = getPreferenceAfterEvents(brandingPreference, preferencesJSON);
+        } catch (IOException e) {
+            throw handleServerException(ERROR_CODE_ERROR_UPDATING_BRANDING_PREFERENCE, tenantDomain, e);
+        }
+        // Event handlers may have enlarged the preference.
+        validatePreferenceSize(replacedPreferencesJSON, tenantDomain);
+        try (InputStream inputStream = new ByteArrayInputStream(replacedPreferencesJSON)) {
             Resource brandingPreferenceResource = buildResource(resourceName, inputStream);
             getConfigurationManager().replaceResource(resourceType, brandingPreferenceResource);
             clearBrandingResolverCacheIfRequired(oldBrandingPreference, brandingPreference, tenantDomain);
@@ -259,6 +291,68 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
         return brandingPreference;
     }
 
+    @Override
+    public BrandingPreference patchBrandingPreference(String type, String name, String locale, Object patch)
+            throws BrandingPreferenceMgtException {
+
+        String resourceName = getResourceName(type, name, locale);
+        String resourceType = getResourceType(type);
+        String tenantDomain = getTenantDomain();
+        // Throws a client error if the branding preference does not exist.
+        BrandingPreference oldBrandingPreference = getBrandingPreference(type, name, locale);
+
+        Object preference = PreferenceMergePatch.apply(oldBrandingPreference.getPreference(), patch);
+        if (preference == oldBrandingPreference.getPreference()) {
+            // Patch does not change the preference. Hence, neither the resource nor the caches need to be updated.
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Branding preference patch for tenant: " + tenantDomain + " does not change the preference.");
+            }
+            return oldBrandingPreference;
+        }
+
+        BrandingPreference brandingPreference = new BrandingPreference();
+        brandingPreference.setType(type);
+        brandingPreference.setName(name);
+        brandingPreference.setLocale(locale);
+        brandingPreference.setPreference(preference);
+        byte[] preferencesJSON = serializePreference(preference);
+        if (preferencesJSON == null) {
+            throw handleClientException(ERROR_CODE_INVALID_BRANDING_PREFERENCE, tenantDomain);
+        }
+        validatePreferenceSize(preferencesJSON, tenantDomain);
+        validatePreferenceUrls(brandingPreference);
+
+        triggerPreUpdateBrandingPreferenceEvents(oldBrandingPreference, brandingPreference, tenantDomain);
+
+        byte[] patchedPreferencesJSON;
+        try {
+            patchedPreferencesJSON =
+                    getPreferenceAfterEvents(brandingPreference, preferencesJSON);
+        } catch (IOException e) {
+            throw handleServerException(ERROR_CODE_ERROR_UPDATING_BRANDING_PREFERENCE, tenantDomain, e);
+        }
+        // Event handlers may have enlarged the preference.
+        validatePreferenceSize(patchedPreferencesJSON, tenantDomain);
+        try (InputStream inputStream = new ByteArrayInputStream(patchedPreferencesJSON)) {
+            Resource brandingPreferenceResource = buildResource(resourceName, inputStream);
+            getConfigurationManager().replaceResource(resourceType, brandingPreferenceResource);
+        } catch (ConfigurationManagementException | IOException e) {
+            throw handleServerException(ERROR_CODE_ERROR_UPDATING_BRANDING_PREFERENCE, tenantDomain, e);
+        }
+
+        if (patchedPreferencesJSON == preferencesJSON &&
+                PreferenceMergePatch.isLimitedToField(patch, ORGANIZATION_DETAILS, DISPLAY_NAME)) {
+            // Display name is not inherited by the child organizations. Hence, only the own caches are outdated.
+            getUIBrandingPreferenceResolver().clearResolvedBrandingCache(type, name, tenantDomain);
+        } else {
+            clearBrandingResolverCacheIfRequired(oldBrandingPreference, brandingPreference, tenantDomain);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Branding preference for tenant: " + tenantDomain + " patched successfully.");
+        }
+        return brandingPreference;
+    }
+
     @Override
     public void deleteBrandingPreference(String type, String name, String locale)
             throws BrandingPreferenceMgtException {
@@ -291,12 +385,13 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
         if (isResourceExists(CUSTOM_TEXT_RESOURCE_TYPE, resourceName)) {
             throw handleClientException(ERROR_CODE_CUSTOM_TEXT_ALREADY_EXISTS, tenantDomain);
         }
-        String preferencesJSON = generatePreferencesJSONFromPreference(customText.getPreference());
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        byte[] preferencesJSON = serializePreference(customText.getPreference());
+        if (preferencesJSON == null) {
             throw handleClientException(ERROR_CODE_INVALID_CUSTOM_TEXT_PREFERENCE, tenantDomain);
         }
+        validatePreferenceSize(preferencesJSON, tenantDomain);
 
-        try (InputStream inputStream = new ByteArrayInputStream(preferencesJSON.getBytes(StandardCharsets.UTF_8))) {
+        try (InputStream inputStream = new ByteArrayInputStream(preferencesJSON)) {
             Resource customTextPreferenceResource = buildResource(resourceName, inputStream);
             getConfigurationManager().addResource(CUSTOM_TEXT_RESOURCE_TYPE, customTextPreferenceResource);
             getUIBrandingPreferenceResolver().clearCustomTextResolverCacheHierarchy(tenantDomain,
@@ -363,6 +458,29 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
         return getUIBrandingPreferenceResolver().resolveCustomText(type, name, screen, locale);
     }
 
+    @Override
+    public Map<String, CustomText> resolveCustomTexts(String type, String name, Set<String> screens, String locale)
+            throws BrandingPreferenceMgtException {
+
+        return getUIBrandingPreferenceResolver().resolveCustomTexts(type, name, screens, locale);
+    }
+
+    @Override
+    public PageBundle resolvePageBundle(String type, String name, Set<String> screens, String locale,
+                                        boolean restrictToPublished) throws BrandingPreferenceMgtException {
+
+        return getUIBrandingPreferenceResolver().resolvePageBundle(type, name, screens, locale, restrictToPublished);
+    }
+
+    @Override
+    public PreferenceResolutionResult<CustomText> resolveCustomTextIfModified(String type, String name,
+                                                                              String screen, String locale,
+                                                                              String ifNoneMatch)
+            throws BrandingPreferenceMgtException {
+
+        return getUIBrandingPreferenceResolver().tryResolveCustomText(type, name, screen, locale, ifNoneMatch);
+    }
+
     @Override
     public CustomText replaceCustomText(CustomText customText)
             throws BrandingPreferenceMgtException {
@@ -374,12 +492,13 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
             throw handleClientException(ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS, tenantDomain);
         }
 
-        String preferencesJSON = generatePreferencesJSONFromPreference(customText.getPreference());
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        byte[] preferencesJSON = serializePreference(customText.getPreference());
+        if (preferencesJSON == null) {
             throw handleClientException(ERROR_CODE_INVALID_BRANDING_PREFERENCE, tenantDomain);
         }
+        validatePreferenceSize(preferencesJSON, tenantDomain);
 
-        try (InputStream inputStream = new ByteArrayInputStream(preferencesJSON.getBytes(StandardCharsets.UTF_8))) {
+        try (InputStream inputStream = new ByteArrayInputStream(preferencesJSON)) {
             Resource customTextResource = buildResource(resourceName, inputStream);
             getConfigurationManager().replaceResource(CUSTOM_TEXT_RESOURCE_TYPE, customTextResource);
         } catch (ConfigurationManagementException | IOException e) {
@@ -461,23 +580,56 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
     }
 
     /**
-     * Build a JSON string which contains preferences from a preference object.
+     * Serialize a preference object into the JSON document to be stored. The serialized document is validated by
+     * scanning it, without building the preference tree again.
      *
      * @param object Preference object of Branding Preference Model/Custom Text Model.
-     * @return JSON string which contains preferences.
+     * @return UTF-8 encoded JSON document, or null if the preference is not a valid preference.
      */
-    private String generatePreferencesJSONFromPreference(Object object) {
+    private byte[] serializePreference(Object object) {
 
-        ObjectMapper mapper = new ObjectMapper();
-        String preferencesJSON = null;
         try {
-            preferencesJSON = mapper.writeValueAsString(object);
-        } catch (JsonProcessingException e) {
+            byte[] preferencesJSON = PreferenceCodec.writeAsBytes(object);
+            return PreferenceParser.scan(preferencesJSON) == null ? null : preferencesJSON;
+        } catch (IOException e) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Error while generating JSON string from the branding preference request.", e);
             }
+            return null;
+        }
+    }
+
+    /**
+     * Check whether the JSON document to be stored is within the maximum document size.
+     *
+     * @param preferencesJSON UTF-8 encoded JSON document.
+     * @param tenantDomain    Tenant domain.
+     * @throws BrandingPreferenceMgtClientException if the document exceeds the maximum document size.
+     */
+    private void validatePreferenceSize(byte[] preferencesJSON, String tenantDomain)
+            throws BrandingPreferenceMgtClientException {
+
+        if (preferencesJSON.length > MAX_PREFERENCE_DOCUMENT_SIZE) {
+            throw handleClientException(ERROR_CODE_PREFERENCE_DOCUMENT_TOO_LARGE,
+                    String.valueOf(MAX_PREFERENCE_DOCUMENT_SIZE), tenantDomain);
         }
-        return preferencesJSON;
+    }
+
+    /**
+     * Get the JSON document of a branding preference after triggering the pre events. Event handlers can replace the
+     * preference or modify it in place. Hence, the preference is serialized again and compared with the document
+     * serialized before the events. The document serialized before the events is returned if nothing changed.
+     *
+     * @param brandingPreference Branding preference passed to the event handlers.
+     * @param preferencesJSON    JSON document of the preference object before triggering the events.
+     * @return UTF-8 encoded JSON document.
+     * @throws IOException if any error occurred while serializing the preference.
+     */
+    private byte[] getPreferenceAfterEvents(BrandingPreference brandingPreference, byte[] preferencesJSON)
+            throws IOException {
+
+        byte[] updatedPreferencesJSON = PreferenceCodec.writeAsBytes(brandingPreference.getPreference());
+        return Arrays.equals(updatedPreferencesJSON, preferencesJSON) ? preferencesJSON : updatedPreferencesJSON;
     }
 
     /**
@@ -514,15 +666,14 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
                                                                    String name, String locale)
             throws IOException, BrandingPreferenceMgtException {
 
-        String preferencesJSON = IOUtils.toString(inputStream, StandardCharsets.UTF_8.name());
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        ParsedPreference parsedPreference = PreferenceParser.parse(inputStream);
+        if (parsedPreference == null) {
             throw handleServerException(ERROR_CODE_ERROR_BUILDING_BRANDING_PREFERENCE, name);
         }
 
-        ObjectMapper mapper = new ObjectMapper();
-        Object preference = mapper.readValue(preferencesJSON, Object.class);
         BrandingPreference brandingPreference = new BrandingPreference();
-        brandingPreference.setPreference(preference);
+        brandingPreference.setPreference(parsedPreference.getPreference());
+        brandingPreference.setBrandingEnabled(parsedPreference.isBrandingEnabled());
         brandingPreference.setType(type);
         brandingPreference.setName(name);
         brandingPreference.setLocale(locale);
@@ -543,15 +694,13 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
                                                    String screen, String locale)
             throws IOException, BrandingPreferenceMgtException {
 
-        String preferencesJSON = IOUtils.toString(inputStream, StandardCharsets.UTF_8.name());
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        ParsedPreference parsedPreference = PreferenceParser.parse(inputStream);
+        if (parsedPreference == null) {
             throw handleServerException(ERROR_CODE_ERROR_BUILDING_CUSTOM_TEXT_PREFERENCE, name);
         }
 
-        ObjectMapper mapper = new ObjectMapper();
-        Object preference = mapper.readValue(preferencesJSON, Object.class);
         CustomText customText = new CustomText();
-        customText.setPreference(preference);
+        customText.setPreference(parsedPreference.getPreference());
         customText.setType(type);
         customText.setName(name);
         customText.setLocale(locale);
@@ -713,7 +862,8 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
     }
 
     /**
-     * Clear the branding resolver cache if the branding preference enabled config is updated.
+     * Clear the branding resolver cache if the branding preference enabled config is updated. Otherwise, only the
+     * resolved branding content caches are cleared.
      *
      * @param previousBrandingPreference Previous branding preference.
      * @param updatedBrandingPreference  Updated branding preference.
@@ -731,6 +881,9 @@ public class BrandingPreferenceManagerImpl implements BrandingPreferenceManager
                 BrandingPreferenceMgtUtils.isBrandingPublished(updatedBrandingPreference);
 
         if (isPreviousPreferencesPublished == isUpdatedPreferencesPublished) {
+            // Resolved tenants remain the same, but the cached resolved content is outdated.
+            getUIBrandingPreferenceResolver().clearResolvedBrandingCacheHierarchy(
+                    updatedBrandingPreference.getType(), updatedBrandingPreference.getName(), tenantDomain);
             return;
         }
 
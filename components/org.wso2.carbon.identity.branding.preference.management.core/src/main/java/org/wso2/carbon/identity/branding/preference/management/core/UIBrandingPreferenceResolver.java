@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2024, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2023-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -22,6 +22,13 @@ import org.wso2.carbon.identity.branding.preference.management.core.exception.Br
 import org.wso2.carbon.identity.branding.preference.management.core.exception.NotImplementedException;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PageBundle;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceResolutionResult;
+import org.wso2.carbon.identity.branding.preference.management.core.model.RawPreference;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * UI Branding Preference Resolver.
@@ -58,6 +65,54 @@ public interface UIBrandingPreferenceResolver {
                 "resolveBranding method is not implemented in " + this.getClass().getName());
     }
 
+    /**
+     * This method is used to retrieve a resolved branding preference, without failing when
+     * no branding preference is available.
+     *
+     * @param type                Type of the branding preference.
+     * @param name                Name of the tenant/application.
+     * @param locale              Language preference of the branding.
+     * @param restrictToPublished Whether to resolve using only published branding preferences.
+     * @return Resolution result holding the resolved branding preference or the reason for not resolving one.
+     * @throws BrandingPreferenceMgtException if any error occurred while resolving branding preferences.
+     */
+    default PreferenceResolutionResult<BrandingPreference> tryResolveBranding(String type, String name, String locale,
+                                                                              boolean restrictToPublished)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException(
+                "tryResolveBranding method is not implemented in " + this.getClass().getName());
+    }
+
+    /**
+     * This method is used to retrieve a resolved branding preference, only if it is modified since the version
+     * known to the client.
+     *
+     * @param type                Type of the branding preference.
+     * @param name                Name of the tenant/application.
+     * @param locale              Language preference of the branding.
+     * @param restrictToPublished Whether to resolve using only published branding preferences.
+     * @param ifNoneMatch         Entity tags of the versions known to the client.
+     * @return Resolution result holding the resolved branding preference, the reason for not resolving one or the
+     * entity tag of the branding preference if it is not modified.
+     * @throws BrandingPreferenceMgtException if any error occurred while resolving branding preferences.
+     */
+    default PreferenceResolutionResult<BrandingPreference> tryResolveBranding(String type, String name, String locale,
+                                                                              boolean restrictToPublished,
+                                                                              String ifNoneMatch)
+            throws BrandingPreferenceMgtException {
+
+        PreferenceResolutionResult<BrandingPreference> resolutionResult =
+                tryResolveBranding(type, name, locale, restrictToPublished);
+        if (resolutionResult.isResolved() && ifNoneMatch != null) {
+            RawPreference rawPreference = resolutionResult.getPreference().getRawPreference();
+            if (rawPreference != null && rawPreference.matchesETag(ifNoneMatch)) {
+                return PreferenceResolutionResult.notModified(rawPreference.getETag());
+            }
+        }
+        return resolutionResult;
+    }
+
     /**
      * This method is used to clear the branding preference resolver caches, down
      * the organization hierarchy.
@@ -74,6 +129,38 @@ public interface UIBrandingPreferenceResolver {
                 "clearBrandingResolverCacheHierarchy method is not implemented in " + this.getClass().getName());
     }
 
+    /**
+     * This method is used to clear the resolved branding content caches, down
+     * the organization hierarchy. The resolved tenant caches are kept as they are.
+     *
+     * @param type                Branding preference type.
+     * @param name                Branding preference name.
+     * @param currentTenantDomain Tenant domain where the cache needs to be cleared.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default void clearResolvedBrandingCacheHierarchy(String type, String name, String currentTenantDomain)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException(
+                "clearResolvedBrandingCacheHierarchy method is not implemented in " + this.getClass().getName());
+    }
+
+    /**
+     * This method is used to clear the resolved branding content caches of
+     * the organization only. The caches of the child organizations are kept as they are.
+     *
+     * @param type                Branding preference type.
+     * @param name                Branding preference name.
+     * @param currentTenantDomain Tenant domain where the cache needs to be cleared.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default void clearResolvedBrandingCache(String type, String name, String currentTenantDomain)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException(
+                "clearResolvedBrandingCache method is not implemented in " + this.getClass().getName());
+    }
+
     /**
      * This method is used to clear the branding preference resolver caches of
      * the organization and all its children down the tree.
@@ -101,6 +188,100 @@ public interface UIBrandingPreferenceResolver {
         throw new NotImplementedException("This functionality is not implemented.");
     }
 
+    /**
+     * This method is used to retrieve a resolved custom text preference, without failing when
+     * no custom text preference is available.
+     *
+     * @param type   Type of the custom text preference.
+     * @param name   Name of the tenant/application.
+     * @param screen Screen param of the custom text preference.
+     * @param locale Language preference of the custom text preference.
+     * @return Resolution result holding the resolved custom text preference or the reason for not resolving one.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default PreferenceResolutionResult<CustomText> tryResolveCustomText(String type, String name, String screen,
+                                                                        String locale)
+            throws BrandingPreferenceMgtException {
+
+        throw new NotImplementedException("This functionality is not implemented.");
+    }
+
+    /**
+     * This method is used to retrieve the resolved custom text preferences of multiple screens.
+     *
+     * @param type    Type of the custom text preference.
+     * @param name    Name of the tenant/application.
+     * @param screens Screens of the custom text preferences.
+     * @param locale  Language preference of the custom text preferences.
+     * @return Resolved custom text preferences by the screen. Screens without custom text preferences are not included.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default Map<String, CustomText> resolveCustomTexts(String type, String name, Set<String> screens, String locale)
+            throws BrandingPreferenceMgtException {
+
+        Map<String, CustomText> customTexts = new LinkedHashMap<>();
+        for (String screen : screens) {
+            PreferenceResolutionResult<CustomText> resolutionResult =
+                    tryResolveCustomText(type, name, screen, locale);
+            if (resolutionResult.isResolved()) {
+                customTexts.put(screen, resolutionResult.getPreference());
+            }
+        }
+        return customTexts;
+    }
+
+    /**
+     * This method is used to retrieve the resolved branding preference and the resolved custom text preferences
+     * of the screens of a page together.
+     *
+     * @param type                Type of the branding and custom text preferences.
+     * @param name                Name of the tenant/application.
+     * @param screens             Screens of the custom text preferences.
+     * @param locale              Language preference of the page.
+     * @param restrictToPublished Whether to only resolve published branding preferences.
+     * @return Page bundle holding the resolved branding and custom text preferences.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default PageBundle resolvePageBundle(String type, String name, Set<String> screens, String locale,
+                                         boolean restrictToPublished) throws BrandingPreferenceMgtException {
+
+        PreferenceResolutionResult<BrandingPreference> brandingResolutionResult =
+                tryResolveBranding(type, name, locale, restrictToPublished);
+        PageBundle pageBundle = new PageBundle(type, name, locale);
+        if (brandingResolutionResult.isResolved()) {
+            pageBundle.setBrandingPreference(brandingResolutionResult.getPreference());
+        }
+        pageBundle.setCustomTexts(resolveCustomTexts(type, name, screens, locale));
+        return pageBundle;
+    }
+
+    /**
+     * This method is used to retrieve a resolved custom text preference, only if it is modified since the version
+     * known to the client.
+     *
+     * @param type        Type of the custom text preference.
+     * @param name        Name of the tenant/application.
+     * @param screen      Screen param of the custom text preference.
+     * @param locale      Language preference of the custom text preference.
+     * @param ifNoneMatch Entity tags of the versions known to the client.
+     * @return Resolution result holding the resolved custom text preference, the reason for not resolving one or the
+     * entity tag of the custom text preference if it is not modified.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    default PreferenceResolutionResult<CustomText> tryResolveCustomText(String type, String name, String screen,
+                                                                        String locale, String ifNoneMatch)
+            throws BrandingPreferenceMgtException {
+
+        PreferenceResolutionResult<CustomText> resolutionResult = tryResolveCustomText(type, name, screen, locale);
+        if (resolutionResult.isResolved() && ifNoneMatch != null) {
+            RawPreference rawPreference = resolutionResult.getPreference().getRawPreference();
+            if (rawPreference != null && rawPreference.matchesETag(ifNoneMatch)) {
+                return PreferenceResolutionResult.notModified(rawPreference.getETag());
+            }
+        }
+        return resolutionResult;
+    }
+
     /**
      * This method is used to clear the custom text preference resolver caches of
      * the organization and all its children down the tree.
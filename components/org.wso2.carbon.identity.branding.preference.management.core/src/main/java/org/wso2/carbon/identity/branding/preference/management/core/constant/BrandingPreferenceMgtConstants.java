@@ -42,6 +42,13 @@ public class BrandingPreferenceMgtConstants {
     public static final String BRANDING_URLS = "urls";
     public static final String CONFIGS = "configs";
     public static final String IS_BRANDING_ENABLED = "isBrandingEnabled";
+    public static final String ORGANIZATION_DETAILS = "organizationDetails";
+    public static final String DISPLAY_NAME = "displayName";
+    public static final String COLORS = "colors";
+    public static final String IMAGES = "images";
+    public static final String THEME = "theme";
+    // Maximum size of a preference document in bytes, which is enforced when the document is stored.
+    public static final int MAX_PREFERENCE_DOCUMENT_SIZE = 5 * 1024 * 1024;
 
     public static final String RESOURCE_NOT_EXISTS_ERROR_CODE = "CONFIGM_00017";
     public static final String RESOURCES_NOT_EXISTS_ERROR_CODE = "CONFIGM_00020";
@@ -109,7 +116,9 @@ public class BrandingPreferenceMgtConstants {
                 "Invalid branding preference type: %s for tenant: %s."),
         ERROR_CODE_ERROR_GETTING_APP_BRANDING_PREFERENCE("BRANDINGM_00033",
                 "Error while getting app-level branding preference configurations for application id: %s " +
-                        "in tenant: %s.");
+                        "in tenant: %s."),
+        ERROR_CODE_PREFERENCE_DOCUMENT_TOO_LARGE("BRANDINGM_00034",
+                "Preference document exceeds the maximum size of %s bytes for tenant: %s.");
 
         private final String code;
         private final String message;
@@ -41,4 +41,9 @@ public class BrandingPreferenceMgtClientException extends BrandingPreferenceMgtE
 
         super(cause);
     }
+
+    protected BrandingPreferenceMgtClientException(String message, String errorCode, boolean writableStackTrace) {
+
+        super(message, errorCode, writableStackTrace);
+    }
 }
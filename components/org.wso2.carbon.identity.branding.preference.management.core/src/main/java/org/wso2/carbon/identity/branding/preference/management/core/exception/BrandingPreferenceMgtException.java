@@ -47,6 +47,12 @@ public class BrandingPreferenceMgtException extends Exception {
         super(cause);
     }
 
+    protected BrandingPreferenceMgtException(String message, String errorCode, boolean writableStackTrace) {
+
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+
     public String getErrorCode() {
 
         return errorCode;
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.exception;
+
+import org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants;
+
+/**
+ * Client exception used to report that a requested preference is not available. Since these are expected on the
+ * hot path of unbranded organizations, the exception does not capture a stack trace, and the message is only
+ * formatted when it is requested.
+ */
+public class BrandingPreferenceMgtNotFoundException extends BrandingPreferenceMgtClientException {
+
+    private static final long serialVersionUID = -2931287622150434771L;
+
+    private final BrandingPreferenceMgtConstants.ErrorMessages error;
+    private final String[] data;
+    private volatile String message;
+
+    public BrandingPreferenceMgtNotFoundException(BrandingPreferenceMgtConstants.ErrorMessages error,
+                                                  String... data) {
+
+        super(null, error.getCode(), false);
+        this.error = error;
+        this.data = data;
+    }
+
+    public BrandingPreferenceMgtConstants.ErrorMessages getError() {
+
+        return error;
+    }
+
+    @Override
+    public String getMessage() {
+
+        if (message == null) {
+            message = (data != null && data.length != 0) ? String.format(error.getMessage(), (Object[]) data) :
+                    error.getMessage();
+        }
+        return message;
+    }
+}
@@ -18,16 +18,25 @@
 
 package org.wso2.carbon.identity.branding.preference.management.core.model;
 
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+
 /**
  * A model class representing a custom text preference.
  */
-public class CustomText {
+public class CustomText implements Serializable {
+
+    private static final long serialVersionUID = 4417938605125893620L;
 
     private String type;
     private String name;
     private String screen;
     private String locale;
     private Object preference;
+    private RawPreference rawPreference;
     private ResolvedFrom resolvedFrom;
 
     public String getType() {
@@ -70,14 +79,73 @@ public class CustomText {
         this.locale = locale;
     }
 
+    /**
+     * Get the preference tree. If the preference is held as a raw document, a mutable tree of maps and lists is
+     * parsed from the document on the first request. The tree is owned by this object and can be modified.
+     *
+     * @return Preference tree.
+     */
     public Object getPreference() {
 
+        if (preference == null && rawPreference != null) {
+            preference = rawPreference.toPreferenceTree();
+        }
         return preference;
     }
 
+    /**
+     * Get the preference as an immutable {@link PreferenceDocument}, without building a mutable preference tree.
+     * Once the mutable tree is requested, the tree may diverge from the raw document. Hence, no document is returned.
+     *
+     * @return Preference document, or null if the preference is not held as an unmodified raw document.
+     */
+    public PreferenceDocument getPreferenceDocument() {
+
+        if (preference != null || rawPreference == null) {
+            return null;
+        }
+        return rawPreference.getDocument();
+    }
+
     public void setPreference(Object preference) {
 
         this.preference = preference;
+        this.rawPreference = null;
+    }
+
+    /**
+     * @return Raw preference document, or null if the preference is not held as a raw document.
+     */
+    public RawPreference getRawPreference() {
+
+        return rawPreference;
+    }
+
+    /**
+     * Hold the preference as a raw document, which is parsed only when the preference is requested.
+     *
+     * @param rawPreference Raw preference document.
+     */
+    public void setRawPreference(RawPreference rawPreference) {
+
+        this.rawPreference = rawPreference;
+        this.preference = null;
+    }
+
+    /**
+     * Write the preference as JSON to the output stream. A raw preference document is written as it is, without
+     * parsing it, unless the mutable preference tree is requested, since the tree can be modified.
+     *
+     * @param outputStream Output stream.
+     * @throws IOException if any error occurred while writing to the stream.
+     */
+    public void writePreferenceTo(OutputStream outputStream) throws IOException {
+
+        if (preference == null && rawPreference != null) {
+            rawPreference.writeTo(outputStream);
+            return;
+        }
+        PreferenceCodec.write(preference, outputStream);
     }
 
     public ResolvedFrom getResolvedFrom() {
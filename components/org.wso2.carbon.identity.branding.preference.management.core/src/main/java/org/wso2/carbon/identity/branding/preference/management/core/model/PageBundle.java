@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A model class representing the branding preference and the custom text preferences needed to render a page,
+ * resolved together for an organization or application.
+ */
+public class PageBundle {
+
+    private String type;
+    private String name;
+    private String locale;
+    private BrandingPreference brandingPreference;
+    private Map<String, CustomText> customTexts = Collections.emptyMap();
+
+    public PageBundle(String type, String name, String locale) {
+
+        this.type = type;
+        this.name = name;
+        this.locale = locale;
+    }
+
+    public String getType() {
+
+        return type;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public String getLocale() {
+
+        return locale;
+    }
+
+    /**
+     * @return Resolved branding preference, or null if branding is not configured for the page.
+     */
+    public BrandingPreference getBrandingPreference() {
+
+        return brandingPreference;
+    }
+
+    public void setBrandingPreference(BrandingPreference brandingPreference) {
+
+        this.brandingPreference = brandingPreference;
+    }
+
+    /**
+     * @return Resolved custom text preferences by the screen. Screens without custom text preferences are not
+     * included.
+     */
+    public Map<String, CustomText> getCustomTexts() {
+
+        return customTexts;
+    }
+
+    public void setCustomTexts(Map<String, CustomText> customTexts) {
+
+        this.customTexts = customTexts;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.model;
+
+import org.wso2.carbon.identity.branding.preference.management.core.util.BrandingPreferenceMgtUtils;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.BRANDING_URLS;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.COLORS;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.CONFIGS;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DISPLAY_NAME;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.IMAGES;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.IS_BRANDING_ENABLED;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_DETAILS;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.THEME;
+
+/**
+ * An immutable and compact model of a preference JSON object.
+ * Keys and values are kept in flat arrays in the order of the document, and the keys are interned since the same
+ * keys are repeated in the preferences of all the tenants. Known sections of the branding preference are exposed
+ * through typed accessors, while any other key is available through the map view.
+ */
+public class PreferenceDocument extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 6503729152376485174L;
+
+    private final String[] keys;
+    private final Object[] values;
+    private final boolean brandingEnabled;
+
+    /**
+     * @param keys   Keys of the object, in the order of the document.
+     * @param values Values of the keys. Nested objects are expected to be preference documents and nested arrays
+     *               are expected to be immutable.
+     */
+    public PreferenceDocument(List<String> keys, List<Object> values) {
+
+        this(internKeys(keys), values.toArray());
+    }
+
+    private PreferenceDocument(String[] keys, Object[] values) {
+
+        this.keys = keys;
+        this.values = values;
+        this.brandingEnabled = resolveBrandingEnabled();
+    }
+
+    /**
+     * Build a document which differs from this document only by the value of the given key. Keys and the other
+     * values are shared with this document.
+     *
+     * @param key   Key of the value.
+     * @param value New value of the key.
+     * @return Document with the replaced value, or this document if the key does not exist.
+     */
+    public PreferenceDocument withValue(String key, Object value) {
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return this;
+        }
+        Object[] newValues = Arrays.copyOf(values, values.length);
+        newValues[index] = value;
+        return new PreferenceDocument(keys, newValues);
+    }
+
+    /**
+     * Get a nested object of the document.
+     *
+     * @param key Key of the nested object.
+     * @return Nested object, or null if the key does not exist or the value is not an object.
+     */
+    public PreferenceDocument getSection(String key) {
+
+        Object value = get(key);
+        return value instanceof PreferenceDocument ? (PreferenceDocument) value : null;
+    }
+
+    /**
+     * Get a text value of the document.
+     *
+     * @param key Key of the value.
+     * @return Text value, or null if the key does not exist or the value is not a text.
+     */
+    public String getString(String key) {
+
+        Object value = get(key);
+        return value instanceof String ? (String) value : null;
+    }
+
+    public PreferenceDocument getOrganizationDetails() {
+
+        return getSection(ORGANIZATION_DETAILS);
+    }
+
+    public PreferenceDocument getColors() {
+
+        return getSection(COLORS);
+    }
+
+    public PreferenceDocument getImages() {
+
+        return getSection(IMAGES);
+    }
+
+    public PreferenceDocument getUrls() {
+
+        return getSection(BRANDING_URLS);
+    }
+
+    public PreferenceDocument getConfigs() {
+
+        return getSection(CONFIGS);
+    }
+
+    public PreferenceDocument getTheme() {
+
+        return getSection(THEME);
+    }
+
+    /**
+     * @return Display name in the organization details, or null if not available.
+     */
+    public String getDisplayName() {
+
+        PreferenceDocument organizationDetails = getOrganizationDetails();
+        return organizationDetails != null ? organizationDetails.getString(DISPLAY_NAME) : null;
+    }
+
+    /**
+     * Whether the branding is enabled by configs.isBrandingEnabled. The value is resolved when the document is
+     * built. Branding is enabled by default if the value is not available.
+     *
+     * @return True if branding is enabled.
+     */
+    public boolean isBrandingEnabled() {
+
+        return brandingEnabled;
+    }
+
+    @Override
+    public Object get(Object key) {
+
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+
+        return keys.length;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+
+        return new AbstractSet<Entry<String, Object>>() {
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+
+                return new Iterator<Entry<String, Object>>() {
+
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+
+                        return index < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+
+                        if (index >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+
+                return keys.length;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+
+        // Preference objects have a handful of keys. Hence, a scan is cheaper than hashing.
+        for (int i = 0; i < keys.length; i++) {
+            if (Objects.equals(keys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean resolveBrandingEnabled() {
+
+        int index = indexOf(CONFIGS);
+        if (index < 0 || !(values[index] instanceof PreferenceDocument)) {
+            return true;
+        }
+        PreferenceDocument configs = (PreferenceDocument) values[index];
+        return !configs.containsKey(IS_BRANDING_ENABLED) ||
+                BrandingPreferenceMgtUtils.isBrandingEnabledValue(configs.get(IS_BRANDING_ENABLED));
+    }
+
+    private static String[] internKeys(List<String> keys) {
+
+        String[] internedKeys = new String[keys.size()];
+        for (int i = 0; i < internedKeys.length; i++) {
+            internedKeys[i] = keys.get(i).intern();
+        }
+        return internedKeys;
+    }
+}
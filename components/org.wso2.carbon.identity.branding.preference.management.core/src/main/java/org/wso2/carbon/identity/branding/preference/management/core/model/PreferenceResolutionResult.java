@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.model;
+
+import org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants;
+import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtNotFoundException;
+
+/**
+ * A model class representing the outcome of a preference resolution. Holds either the resolved preference or the
+ * reason for not finding one. A conditional resolution holds only the entity tag of the resolved preference, if the
+ * preference is not modified since the version known to the client.
+ *
+ * @param <T> Type of the resolved preference.
+ */
+public class PreferenceResolutionResult<T> {
+
+    private final T preference;
+    private final BrandingPreferenceMgtConstants.ErrorMessages notFoundReason;
+    private final String[] notFoundReasonData;
+    private final String notModifiedETag;
+
+    private PreferenceResolutionResult(T preference, BrandingPreferenceMgtConstants.ErrorMessages notFoundReason,
+                                       String[] notFoundReasonData, String notModifiedETag) {
+
+        this.preference = preference;
+        this.notFoundReason = notFoundReason;
+        this.notFoundReasonData = notFoundReasonData;
+        this.notModifiedETag = notModifiedETag;
+    }
+
+    /**
+     * Create a result for a resolved preference.
+     *
+     * @param preference Resolved preference.
+     * @param <T>        Type of the resolved preference.
+     * @return Resolution result.
+     */
+    public static <T> PreferenceResolutionResult<T> resolved(T preference) {
+
+        return new PreferenceResolutionResult<>(preference, null, null, null);
+    }
+
+    /**
+     * Create a result for a resolved preference which matches the version known to the client.
+     *
+     * @param eTag Entity tag of the resolved preference.
+     * @param <T>  Type of the resolved preference.
+     * @return Resolution result.
+     */
+    public static <T> PreferenceResolutionResult<T> notModified(String eTag) {
+
+        return new PreferenceResolutionResult<>(null, null, null, eTag);
+    }
+
+    /**
+     * Create a result for a preference which could not be resolved.
+     *
+     * @param notFoundReason     Reason for not finding the preference.
+     * @param notFoundReasonData Data to populate the reason message.
+     * @param <T>                Type of the requested preference.
+     * @return Resolution result.
+     */
+    public static <T> PreferenceResolutionResult<T> notFound(
+            BrandingPreferenceMgtConstants.ErrorMessages notFoundReason, String... notFoundReasonData) {
+
+        return new PreferenceResolutionResult<>(null, notFoundReason, notFoundReasonData, null);
+    }
+
+    /**
+     * Whether the preference is resolved. A not modified result does not hold the preference. Hence, it is not
+     * treated as resolved, and needs to be checked with {@link #isNotModified()}.
+     *
+     * @return True if the result holds the resolved preference.
+     */
+    public boolean isResolved() {
+
+        return notFoundReason == null && notModifiedETag == null;
+    }
+
+    public boolean isNotModified() {
+
+        return notModifiedETag != null;
+    }
+
+    /**
+     * @return Entity tag of the resolved preference, if the result is not modified.
+     */
+    public String getNotModifiedETag() {
+
+        return notModifiedETag;
+    }
+
+    public T getPreference() {
+
+        return preference;
+    }
+
+    public BrandingPreferenceMgtConstants.ErrorMessages getNotFoundReason() {
+
+        return notFoundReason;
+    }
+
+    /**
+     * Return the resolved preference, or throw the not found exception if the preference is not resolved.
+     *
+     * @return Resolved preference.
+     * @throws BrandingPreferenceMgtNotFoundException if the preference is not resolved.
+     * @throws IllegalStateException                  if the result is not modified, and does not hold the preference.
+     */
+    public T getOrThrow() throws BrandingPreferenceMgtNotFoundException {
+
+        if (notFoundReason != null) {
+            throw new BrandingPreferenceMgtNotFoundException(notFoundReason, notFoundReasonData);
+        }
+        if (notModifiedETag != null) {
+            throw new IllegalStateException("Preference is not modified since the version known to the client. "
+                    + "Hence, the result does not hold the preference.");
+        }
+        return preference;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.model;
+
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceCodec;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser.ParsedPreference;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.function.UnaryOperator;
+
+/**
+ * A preference document held as serialized UTF-8 bytes. The document is parsed into a {@link PreferenceDocument}
+ * only when the document is requested, and the parsed document is shared by all the holders of the raw
+ * preference. Callers which need a mutable preference tree get their own copy. Callers which pass the document
+ * through as JSON can serve the bytes as they are, and use the entity tag of the document to answer conditional
+ * requests. A raw preference can also be derived from another one by a transformation of its document, in which
+ * case the document is transformed and serialized only when the derived preference is requested.
+ */
+public class RawPreference implements Serializable {
+
+    private static final long serialVersionUID = -2388064413640187932L;
+    private static final String ETAG_DIGEST_ALGORITHM = "SHA-256";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final String ANY_ETAG = "*";
+
+    private volatile byte[] bytes;
+    private final transient RawPreference source;
+    private final transient UnaryOperator<Object> transformation;
+    private transient volatile PreferenceDocument document;
+    private transient volatile String eTag;
+
+    /**
+     * @param bytes UTF-8 encoded preference document, which is already validated.
+     */
+    public RawPreference(byte[] bytes) {
+
+        this(bytes, null);
+    }
+
+    private RawPreference(byte[] bytes, PreferenceDocument document) {
+
+        this.bytes = bytes;
+        this.document = document;
+        this.source = null;
+        this.transformation = null;
+    }
+
+    private RawPreference(RawPreference source, UnaryOperator<Object> transformation) {
+
+        this.source = source;
+        this.transformation = transformation;
+    }
+
+    /**
+     * Serialize a preference document once, so that it can be served as raw bytes. The given document is kept as
+     * the parsed document of the raw preference.
+     *
+     * @param document Preference document.
+     * @return Raw preference of the document.
+     * @throws IOException if any error occurred while serializing the document.
+     */
+    public static RawPreference fromDocument(PreferenceDocument document) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PreferenceCodec.write(document, outputStream);
+        return new RawPreference(outputStream.toByteArray(), document);
+    }
+
+    /**
+     * Derive a raw preference whose document is a transformation of this document. Nothing is parsed or serialized
+     * until the derived preference is requested. The transformation is applied to the shared document, and to the
+     * mutable trees built for the callers. Hence, it must not modify the given tree.
+     *
+     * @param transformation Transformation of the preference tree, which returns the transformed tree.
+     * @return Derived raw preference.
+     */
+    public RawPreference transform(UnaryOperator<Object> transformation) {
+
+        return new RawPreference(this, transformation);
+    }
+
+    /**
+     * Get the preference tree of the document. The document is parsed on the first request.
+     *
+     * @return Preference tree.
+     */
+    public PreferenceDocument getDocument() {
+
+        PreferenceDocument parsedDocument = document;
+        if (parsedDocument == null && source != null) {
+            parsedDocument = (PreferenceDocument) transformation.apply(source.getDocument());
+            document = parsedDocument;
+        } else if (parsedDocument == null) {
+            try {
+                ParsedPreference parsedPreference = PreferenceParser.parseDocument(bytes);
+                if (parsedPreference == null) {
+                    throw new IllegalStateException("Raw preference is not a valid preference document.");
+                }
+                parsedDocument = (PreferenceDocument) parsedPreference.getPreference();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error while parsing the raw preference.", e);
+            }
+            // Concurrent first requests may parse the document more than once, which results in equal documents.
+            document = parsedDocument;
+        }
+        return parsedDocument;
+    }
+
+    /**
+     * Parse the document into a new mutable tree of maps and lists, which is owned by the caller.
+     *
+     * @return Preference tree.
+     */
+    public Object toPreferenceTree() {
+
+        if (source != null && bytes == null) {
+            return transformation.apply(source.toPreferenceTree());
+        }
+        try {
+            ParsedPreference parsedPreference = PreferenceParser.parse(getBytes());
+            if (parsedPreference == null) {
+                throw new IllegalStateException("Raw preference is not a valid preference document.");
+            }
+            return parsedPreference.getPreference();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while parsing the raw preference.", e);
+        }
+    }
+
+    /**
+     * Write the raw document to the output stream, without parsing it.
+     *
+     * @param outputStream Output stream.
+     * @throws IOException if any error occurred while writing to the stream.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+
+        outputStream.write(getBytes());
+    }
+
+    /**
+     * Get the serialized document. The returned array is shared and must not be modified.
+     *
+     * @return UTF-8 encoded preference document.
+     */
+    public byte[] getBytes() {
+
+        byte[] serializedBytes = bytes;
+        if (serializedBytes == null) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try {
+                PreferenceCodec.write(getDocument(), outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error while serializing the raw preference.", e);
+            }
+            serializedBytes = outputStream.toByteArray();
+            bytes = serializedBytes;
+        }
+        return serializedBytes;
+    }
+
+    /**
+     * @return Size of the raw document in bytes.
+     */
+    public int getLength() {
+
+        return getBytes().length;
+    }
+
+    /**
+     * Get the strong entity tag of the document, which is derived from the hash of the serialized document.
+     *
+     * @return Quoted entity tag.
+     */
+    public String getETag() {
+
+        String computedETag = eTag;
+        if (computedETag == null) {
+            try {
+                byte[] digest = MessageDigest.getInstance(ETAG_DIGEST_ALGORITHM).digest(getBytes());
+                computedETag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Digest algorithm: " + ETAG_DIGEST_ALGORITHM + " is not available.",
+                        e);
+            }
+            eTag = computedETag;
+        }
+        return computedETag;
+    }
+
+    /**
+     * Check whether an If-None-Match header value matches the document, in which case the document does not need
+     * to be sent again.
+     *
+     * @param ifNoneMatch If-None-Match header value.
+     * @return True if the header value matches the entity tag of the document.
+     */
+    public boolean matchesETag(String ifNoneMatch) {
+
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String currentETag = getETag();
+        for (String requestedETag : ifNoneMatch.split(",")) {
+            String trimmedETag = requestedETag.trim();
+            if (ANY_ETAG.equals(trimmedETag)) {
+                return true;
+            }
+            // If-None-Match uses the weak comparison.
+            if (trimmedETag.startsWith(WEAK_ETAG_PREFIX)) {
+                trimmedETag = trimmedETag.substring(WEAK_ETAG_PREFIX.length());
+            }
+            if (currentETag.equals(trimmedETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+
+        // A derived preference is serialized as its bytes, since the transformation is not serializable.
+        return source == null ? this : new RawPreference(getBytes());
+    }
+}
@@ -18,10 +18,14 @@
 
 package org.wso2.carbon.identity.branding.preference.management.core.model;
 
+import java.io.Serializable;
+
 /**
  * A model class representing a resolved from.
  */
-public class ResolvedFrom {
+public class ResolvedFrom implements Serializable {
+
+    private static final long serialVersionUID = -7765012287314482963L;
 
     private String type;
     private String name;
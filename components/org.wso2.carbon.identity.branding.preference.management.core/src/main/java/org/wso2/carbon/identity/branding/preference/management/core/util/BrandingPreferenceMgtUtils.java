@@ -21,14 +21,15 @@ package org.wso2.carbon.identity.branding.preference.management.core.util;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants;
 import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtClientException;
 import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtServerException;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceDocument;
 
-import java.util.LinkedHashMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.CONFIGS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.IS_BRANDING_ENABLED;
@@ -54,18 +55,14 @@ public class BrandingPreferenceMgtUtils {
             return false;
         }
         try {
-            JSONObject objectJSON = new JSONObject(stringJSON);
-            if (objectJSON.length() == 0) {
-                return false;
-            }
-        } catch (JSONException exception) {
-            // If the preference string is not in the valid json format JSONException will be thrown.
+            // Invalid json strings and empty json objects are not valid preferences.
+            return PreferenceParser.scan(stringJSON.getBytes(StandardCharsets.UTF_8)) != null;
+        } catch (IOException exception) {
             if (log.isDebugEnabled()) {
                 log.debug("Invalid json string. Error occurred while validating preference string", exception);
             }
             return false;
         }
-        return true;
     }
 
     /**
@@ -142,11 +139,37 @@ public class BrandingPreferenceMgtUtils {
      */
     public static boolean isBrandingPublished(BrandingPreference brandingPreference) {
 
-        JSONObject preferences = new JSONObject((LinkedHashMap) brandingPreference.getPreference());
+        PreferenceDocument document = brandingPreference.getPreferenceDocument();
+        if (document != null) {
+            /* Flag is captured while parsing the stored preference, and an immutable preference cannot diverge from it.
+              Hence, no need to look it up again. */
+            return brandingPreference.getBrandingEnabled() != null ? brandingPreference.getBrandingEnabled() :
+                    document.isBrandingEnabled();
+        }
+        Object preference = brandingPreference.getPreference();
+        if (preference instanceof PreferenceDocument) {
+            return ((PreferenceDocument) preference).isBrandingEnabled();
+        }
+        // A mutable preference tree can be changed after building it. Hence, the flag is read from the tree.
+        Object configs = ((Map) preference).get(CONFIGS);
 
         // If configs.isBrandingEnabled is not found in preferences, it is assumed that branding is enabled by default.
-        return !preferences.has(CONFIGS) ||
-                preferences.getJSONObject(CONFIGS).optBoolean(IS_BRANDING_ENABLED, true);
+        return !(configs instanceof Map) || isBrandingEnabledValue(((Map) configs).get(IS_BRANDING_ENABLED));
+    }
+
+    /**
+     * Check whether a value of configs.isBrandingEnabled enables the branding. Similar to the JSON object lookup,
+     * text values are accepted and any other value is treated as enabled.
+     *
+     * @param value Value of configs.isBrandingEnabled.
+     * @return True if the value enables the branding.
+     */
+    public static boolean isBrandingEnabledValue(Object value) {
+
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return !(value instanceof String) || !"false".equalsIgnoreCase((String) value);
     }
 
     private static String populateMessageWithData(BrandingPreferenceMgtConstants.ErrorMessages error, String... data) {
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.MAX_PREFERENCE_DOCUMENT_SIZE;
+
+/**
+ * Codec of the preference JSON documents, shared by the branding preference management and resolver bundles.
+ * The object mapper, writer and parser factory are thread-safe, and are configured once, so that the serializer
+ * caches and the parser and generator buffers, which are recycled per thread by the factory, are reused across
+ * the calls. Documents are limited to {@code MAX_PREFERENCE_DOCUMENT_SIZE} bytes when they are stored. Documents
+ * which were stored before the limit are still read, and a warning is logged for them.
+ */
+public class PreferenceCodec {
+
+    private static final Log log = LogFactory.getLog(PreferenceCodec.class);
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+    // Streams are owned by the callers. Hence, they are not closed after writing.
+    private static final ObjectWriter PREFERENCE_WRITER =
+            OBJECT_MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ThreadLocal<byte[]> READ_BUFFER = ThreadLocal.withInitial(() -> new byte[READ_BUFFER_SIZE]);
+
+    private PreferenceCodec() {
+
+    }
+
+    /**
+     * Read a stored preference document from the stream.
+     *
+     * @param inputStream Preference file stream.
+     * @return UTF-8 encoded preference document.
+     * @throws IOException if any error occurred while reading the stream.
+     */
+    public static byte[] readBytes(InputStream inputStream) throws IOException {
+
+        byte[] buffer = READ_BUFFER.get();
+        ByteArrayBuilder builder = new ByteArrayBuilder();
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            builder.write(buffer, 0, length);
+        }
+        byte[] rawPreference = builder.toByteArray();
+        checkStoredDocumentSize(rawPreference.length);
+        return rawPreference;
+    }
+
+    /**
+     * Write a preference tree as JSON to the output stream.
+     *
+     * @param preference   Preference tree.
+     * @param outputStream Output stream.
+     * @throws IOException if any error occurred while writing to the stream.
+     */
+    public static void write(Object preference, OutputStream outputStream) throws IOException {
+
+        PREFERENCE_WRITER.writeValue(outputStream, preference);
+    }
+
+    /**
+     * Serialize a preference tree as JSON.
+     *
+     * @param preference Preference tree.
+     * @return UTF-8 encoded preference document.
+     * @throws JsonProcessingException if any error occurred while serializing the preference.
+     */
+    public static byte[] writeAsBytes(Object preference) throws JsonProcessingException {
+
+        return PREFERENCE_WRITER.writeValueAsBytes(preference);
+    }
+
+    /**
+     * Serialize a preference tree as a JSON string.
+     *
+     * @param preference Preference tree.
+     * @return Preference JSON string.
+     * @throws JsonProcessingException if any error occurred while serializing the preference.
+     */
+    public static String writeAsString(Object preference) throws JsonProcessingException {
+
+        return PREFERENCE_WRITER.writeValueAsString(preference);
+    }
+
+    static JsonParser createParser(byte[] rawPreference) throws IOException {
+
+        return JSON_FACTORY.createParser(rawPreference);
+    }
+
+    static JsonParser createParser(InputStream inputStream) throws IOException {
+
+        // The parser reads the stream through its recycled buffers. Streams are owned by the callers.
+        return JSON_FACTORY.createParser(new SizeCheckingInputStream(inputStream))
+                .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    }
+
+    /**
+     * Log a warning if a stored document exceeds the maximum document size. Such documents were stored before the
+     * limit was enforced, and are still served.
+     *
+     * @param length Length of the stored document in bytes.
+     * @return True if the document exceeds the maximum document size.
+     */
+    private static boolean checkStoredDocumentSize(long length) {
+
+        if (length <= MAX_PREFERENCE_DOCUMENT_SIZE) {
+            return false;
+        }
+        log.warn("Stored preference document exceeds the maximum size of " + MAX_PREFERENCE_DOCUMENT_SIZE
+                + " bytes. The document needs to be reduced before it is updated.");
+        return true;
+    }
+
+    /**
+     * Input stream which logs a warning once more than {@code MAX_PREFERENCE_DOCUMENT_SIZE} bytes are read from the
+     * stream.
+     */
+    private static class SizeCheckingInputStream extends FilterInputStream {
+
+        private long readCount;
+        private boolean oversized;
+
+        private SizeCheckingInputStream(InputStream inputStream) {
+
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+
+            int value = super.read();
+            if (value != -1) {
+                countRead(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+
+            int readLength = super.read(buffer, offset, length);
+            if (readLength > 0) {
+                countRead(readLength);
+            }
+            return readLength;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+
+            long skippedLength = super.skip(length);
+            countRead(skippedLength);
+            return skippedLength;
+        }
+
+        private void countRead(long length) {
+
+            readCount += length;
+            if (!oversized) {
+                oversized = checkStoredDocumentSize(readCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON merge patch (RFC 7396) of preference trees. Patches are applied copy-on-write, so that the target tree is
+ * never modified, unchanged subtrees are shared with the patched tree, and a patch which does not change the
+ * target returns the target itself.
+ */
+public class PreferenceMergePatch {
+
+    private PreferenceMergePatch() {
+
+    }
+
+    /**
+     * Apply a merge patch to a preference tree.
+     *
+     * @param target Preference tree to be patched.
+     * @param patch  Merge patch.
+     * @return Patched preference tree, or the target itself if the patch does not change it.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object apply(Object target, Object patch) {
+
+        if (!(patch instanceof Map)) {
+            return Objects.equals(target, patch) ? target : patch;
+        }
+
+        Map<String, Object> targetObject = target instanceof Map ? (Map<String, Object>) target : null;
+        // A target which is not an object is replaced by an empty object before patching.
+        Map<String, Object> patchedObject = targetObject == null ? new LinkedHashMap<>() : null;
+        for (Map.Entry<String, Object> patchEntry : ((Map<String, Object>) patch).entrySet()) {
+            String key = patchEntry.getKey();
+            Map<String, Object> currentObject = patchedObject != null ? patchedObject : targetObject;
+            boolean exists = currentObject.containsKey(key);
+            if (patchEntry.getValue() == null) {
+                if (exists) {
+                    patchedObject = patchedObject != null ? patchedObject : new LinkedHashMap<>(targetObject);
+                    patchedObject.remove(key);
+                }
+                continue;
+            }
+            Object currentValue = currentObject.get(key);
+            Object patchedValue = apply(currentValue, patchEntry.getValue());
+            if (!exists || patchedValue != currentValue) {
+                patchedObject = patchedObject != null ? patchedObject : new LinkedHashMap<>(targetObject);
+                patchedObject.put(key, patchedValue);
+            }
+        }
+        return patchedObject != null ? patchedObject : target;
+    }
+
+    /**
+     * Check whether a merge patch changes only the given field of the given section. Such a patch changes only a
+     * value that is not inherited by the child organizations.
+     *
+     * @param patch   Merge patch.
+     * @param section Name of the section.
+     * @param field   Name of the field in the section.
+     * @return True if the patch changes nothing other than the field.
+     */
+    public static boolean isLimitedToField(Object patch, String section, String field) {
+
+        if (!(patch instanceof Map) || ((Map<?, ?>) patch).size() != 1) {
+            return false;
+        }
+        Object sectionPatch = ((Map<?, ?>) patch).get(section);
+        return sectionPatch instanceof Map && ((Map<?, ?>) sectionPatch).size() == 1 &&
+                ((Map<?, ?>) sectionPatch).containsKey(field);
+    }
+}
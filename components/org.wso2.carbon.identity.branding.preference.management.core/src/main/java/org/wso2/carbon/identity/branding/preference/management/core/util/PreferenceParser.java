@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.management.core.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.CONFIGS;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.IS_BRANDING_ENABLED;
+
+/**
+ * Parser of the stored preference JSON documents. Validates and builds the preference tree in a single streaming
+ * pass over the stored document. Streams are parsed as they are read, without reading the document into a string
+ * or a byte array. A document is valid only if nothing follows its root object.
+ */
+public class PreferenceParser {
+
+    private static final Log log = LogFactory.getLog(PreferenceParser.class);
+
+    private PreferenceParser() {
+
+    }
+
+    /**
+     * Parse a stored preference document into a mutable tree of maps and lists. The document is valid if it is a
+     * non-empty JSON object.
+     *
+     * @param inputStream Preference file stream.
+     * @return Parsed preference, or null if the document is not a valid preference.
+     * @throws IOException if any error occurred while reading the stream.
+     */
+    public static ParsedPreference parse(InputStream inputStream) throws IOException {
+
+        return parse(PreferenceCodec.createParser(inputStream), false);
+    }
+
+    /**
+     * Parse a stored preference document into a mutable tree of maps and lists. The document is valid if it is a
+     * non-empty JSON object.
+     *
+     * @param rawPreference UTF-8 encoded preference document.
+     * @return Parsed preference, or null if the document is not a valid preference.
+     * @throws IOException if any error occurred while reading the document.
+     */
+    public static ParsedPreference parse(byte[] rawPreference) throws IOException {
+
+        return parse(PreferenceCodec.createParser(rawPreference), false);
+    }
+
+    /**
+     * Parse a stored preference document into an immutable {@link PreferenceDocument}, which can be shared by
+     * multiple readers. The document is valid if it is a non-empty JSON object.
+     *
+     * @param rawPreference UTF-8 encoded preference document.
+     * @return Parsed preference, or null if the document is not a valid preference.
+     * @throws IOException if any error occurred while reading the document.
+     */
+    public static ParsedPreference parseDocument(byte[] rawPreference) throws IOException {
+
+        return parse(PreferenceCodec.createParser(rawPreference), true);
+    }
+
+    /**
+     * Validate a stored preference document without building the preference tree. Only the values which are
+     * needed without the tree, such as configs.isBrandingEnabled, are captured.
+     *
+     * @param rawPreference UTF-8 encoded preference document.
+     * @return Scanned preference without the preference tree, or null if the document is not a valid preference.
+     * @throws IOException if any error occurred while reading the document.
+     */
+    public static ParsedPreference scan(byte[] rawPreference) throws IOException {
+
+        try (JsonParser parser = PreferenceCodec.createParser(rawPreference)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            ParsedPreference parsedPreference = new ParsedPreference(false);
+            int fieldCount = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                fieldCount++;
+                String fieldName = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && CONFIGS.equals(fieldName)) {
+                    scanConfigs(parser, parsedPreference);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (fieldCount == 0 || parser.nextToken() != null) {
+                return null;
+            }
+            return parsedPreference;
+        } catch (JsonParseException e) {
+            // If the preference is not in the valid json format JsonParseException will be thrown.
+            if (log.isDebugEnabled()) {
+                log.debug("Invalid json document. Error occurred while scanning the preference", e);
+            }
+            return null;
+        }
+    }
+
+    private static void scanConfigs(JsonParser parser, ParsedPreference parsedPreference) throws IOException {
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (IS_BRANDING_ENABLED.equals(fieldName)) {
+                if (token == JsonToken.VALUE_FALSE || token == JsonToken.VALUE_TRUE) {
+                    parsedPreference.brandingEnabled = parser.getBooleanValue();
+                } else if (token == JsonToken.VALUE_STRING) {
+                    parsedPreference.brandingEnabled =
+                            BrandingPreferenceMgtUtils.isBrandingEnabledValue(parser.getText());
+                } else {
+                    parsedPreference.brandingEnabled = true;
+                }
+            }
+            parser.skipChildren();
+        }
+    }
+
+    private static ParsedPreference parse(JsonParser jsonParser, boolean compact) throws IOException {
+
+        try (JsonParser parser = jsonParser) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            ParsedPreference parsedPreference = new ParsedPreference(compact);
+            Map<String, Object> preference = readObject(parser, parsedPreference, true, false);
+            if (preference.isEmpty() || parser.nextToken() != null) {
+                return null;
+            }
+            parsedPreference.preference = preference;
+            return parsedPreference;
+        } catch (JsonParseException e) {
+            // If the preference is not in the valid json format JsonParseException will be thrown.
+            if (log.isDebugEnabled()) {
+                log.debug("Invalid json document. Error occurred while parsing the preference", e);
+            }
+            return null;
+        }
+    }
+
+    private static Map<String, Object> readObject(JsonParser parser, ParsedPreference parsedPreference, boolean root,
+                                                  boolean configs) throws IOException {
+
+        Map<String, Object> object = parsedPreference.compact ? null : new LinkedHashMap<>();
+        List<String> keys = parsedPreference.compact ? new ArrayList<>() : null;
+        List<Object> values = parsedPreference.compact ? new ArrayList<>() : null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            Object value = readValue(parser, parsedPreference, root && CONFIGS.equals(fieldName));
+            if (parsedPreference.compact) {
+                // Similar to the map, the last value of a duplicated key is kept at the position of the first one.
+                int index = keys.indexOf(fieldName);
+                if (index < 0) {
+                    keys.add(fieldName);
+                    values.add(value);
+                } else {
+                    values.set(index, value);
+                }
+            } else {
+                object.put(fieldName, value);
+            }
+            // Branding enabled flag is captured while parsing, to avoid looking it up in the tree again.
+            if (configs && IS_BRANDING_ENABLED.equals(fieldName)) {
+                parsedPreference.brandingEnabled = BrandingPreferenceMgtUtils.isBrandingEnabledValue(value);
+            }
+        }
+        return parsedPreference.compact ? new PreferenceDocument(keys, values) : object;
+    }
+
+    private static Object readValue(JsonParser parser, ParsedPreference parsedPreference, boolean configs)
+            throws IOException {
+
+        switch (parser.getCurrentToken()) {
+            case START_OBJECT:
+                return readObject(parser, parsedPreference, false, configs);
+            case START_ARRAY:
+                List<Object> array = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(readValue(parser, parsedPreference, false));
+                }
+                return parsedPreference.compact ? Collections.unmodifiableList(array) : array;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new JsonParseException(parser, "Unexpected token: " + parser.getCurrentToken());
+        }
+    }
+
+    /**
+     * Preference tree built from a stored preference document, along with the values captured while parsing.
+     */
+    public static class ParsedPreference {
+
+        private final boolean compact;
+        private Object preference;
+        private boolean brandingEnabled = true;
+
+        private ParsedPreference(boolean compact) {
+
+            this.compact = compact;
+        }
+
+        public Object getPreference() {
+
+            return preference;
+        }
+
+        /**
+         * Whether the branding is enabled by configs.isBrandingEnabled of the preference. Branding is enabled by
+         * default if the value is not available.
+         *
+         * @return True if branding is enabled.
+         */
+        public boolean isBrandingEnabled() {
+
+            return brandingEnabled;
+        }
+    }
+}
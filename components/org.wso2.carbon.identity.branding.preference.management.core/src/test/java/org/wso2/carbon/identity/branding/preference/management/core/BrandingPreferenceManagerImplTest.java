@@ -18,6 +18,8 @@
 
 package org.wso2.carbon.identity.branding.preference.management.core;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang.StringUtils;
 import org.json.JSONObject;
 import org.mockito.Mock;
 import org.testng.Assert;
@@ -30,6 +32,7 @@ import org.wso2.carbon.identity.branding.preference.management.core.exception.Br
 import org.wso2.carbon.identity.branding.preference.management.core.internal.BrandingPreferenceManagerComponentDataHolder;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceResolutionResult;
 import org.wso2.carbon.identity.branding.preference.management.core.util.ConfigurationManagementUtils;
 import org.wso2.carbon.identity.common.testng.WithH2Database;
 import org.wso2.carbon.identity.common.testng.realm.InMemoryRealmService;
@@ -41,8 +44,11 @@ import org.wso2.carbon.user.core.UserStoreException;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -50,11 +56,18 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.expectThrows;
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_ID;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DEFAULT_LOCALE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_PREFERENCE_DOCUMENT_TOO_LARGE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.MAX_PREFERENCE_DOCUMENT_SIZE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.NEW_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.PRE_ADD_BRANDING_PREFERENCE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.PRE_UPDATE_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.util.TestUtils.getPreferenceFromFile;
 
 /**
@@ -69,6 +82,7 @@ public class BrandingPreferenceManagerImplTest {
     public static final String SAMPLE_APPLICATION_NAME_2 = "SampleApp2";
     public static final String LOGIN_SCREEN = "login";
     public static final String FRENCH_LOCALE = "fr-FR";
+    public static final String NOT_MODIFIED_ETAG = "\"5d41402abc4b2a76b9719d911017c592\"";
 
     @Mock
     IdentityEventService identityEventService;
@@ -276,6 +290,22 @@ public class BrandingPreferenceManagerImplTest {
         Assert.assertEquals(retrievedBP.getLocale(), inputBP.getLocale());
     }
 
+    @Test(dataProvider = "brandingPreferenceDataProvider")
+    public void testResolveBrandingPreferenceIfModified(Object brandingPreference, String tenantDomain, int tenantId)
+            throws Exception {
+
+        setCarbonContextForTenant(tenantDomain, tenantId);
+        BrandingPreference inputBP = (BrandingPreference) brandingPreference;
+        when(resolver.tryResolveBranding(inputBP.getType(), inputBP.getName(), inputBP.getLocale(), false,
+                NOT_MODIFIED_ETAG)).thenReturn(PreferenceResolutionResult.notModified(NOT_MODIFIED_ETAG));
+
+        PreferenceResolutionResult<BrandingPreference> resolutionResult =
+                brandingPreferenceManagerImpl.resolveBrandingPreferenceIfModified(inputBP.getType(),
+                        inputBP.getName(), inputBP.getLocale(), false, NOT_MODIFIED_ETAG);
+        Assert.assertTrue(resolutionResult.isNotModified());
+        Assert.assertEquals(resolutionResult.getNotModifiedETag(), NOT_MODIFIED_ETAG);
+    }
+
     @Test(dataProvider = "applicationBrandingPreferenceDataProvider")
     public void testResolveApplicationBrandingPreference(Object brandingPreference, String tenantDomain, int tenantId)
             throws Exception {
@@ -447,6 +477,99 @@ public class BrandingPreferenceManagerImplTest {
                 (newBP.getType(), newBP.getName(), newBP.getLocale());
     }
 
+    @Test
+    public void testPatchBrandingPreference() throws Exception {
+
+        setCarbonContextForTenant(SUPER_TENANT_DOMAIN_NAME, SUPER_TENANT_ID);
+        BrandingPreference inputBP = new BrandingPreference();
+        inputBP.setType(ORGANIZATION_TYPE);
+        inputBP.setName(SUPER_TENANT_DOMAIN_NAME);
+        inputBP.setLocale(DEFAULT_LOCALE);
+        inputBP.setPreference(getPreferenceFromFile("sample-preference-1.json"));
+        brandingPreferenceManagerImpl.addBrandingPreference(inputBP);
+
+        // Patch which does not change the preference neither updates the resource nor clears the caches.
+        Object noOpPatch = new ObjectMapper().readValue("{\"colors\": {\"primary\": \"#FF0000\"}}", Object.class);
+        BrandingPreference patchedBP = brandingPreferenceManagerImpl.patchBrandingPreference(ORGANIZATION_TYPE,
+                SUPER_TENANT_DOMAIN_NAME, DEFAULT_LOCALE, noOpPatch);
+        Assert.assertEquals(patchedBP.getPreference(), inputBP.getPreference());
+        verify(resolver, never()).clearResolvedBrandingCacheHierarchy(any(), any(), any());
+
+        // Display name is not inherited. Hence, only the caches of the organization are cleared.
+        Object displayNamePatch =
+                new ObjectMapper().readValue("{\"organizationDetails\": {\"displayName\": \"Coala\"}}", Object.class);
+        brandingPreferenceManagerImpl.patchBrandingPreference(ORGANIZATION_TYPE, SUPER_TENANT_DOMAIN_NAME,
+                DEFAULT_LOCALE, displayNamePatch);
+        verify(resolver, times(1)).clearResolvedBrandingCache(any(), any(), any());
+        verify(resolver, never()).clearResolvedBrandingCacheHierarchy(any(), any(), any());
+
+        Object colorPatch =
+                new ObjectMapper().readValue("{\"colors\": {\"primary\": \"#00FF00\"}, \"urls\": null}", Object.class);
+        patchedBP = brandingPreferenceManagerImpl.patchBrandingPreference(ORGANIZATION_TYPE,
+                SUPER_TENANT_DOMAIN_NAME, DEFAULT_LOCALE, colorPatch);
+        verify(resolver, times(1)).clearResolvedBrandingCacheHierarchy(any(), any(), any());
+        verify(resolver, times(1)).clearBrandingResolverCacheHierarchy(any(), any(), any());
+
+        BrandingPreference retrievedBP = brandingPreferenceManagerImpl.getBrandingPreference(ORGANIZATION_TYPE,
+                SUPER_TENANT_DOMAIN_NAME, DEFAULT_LOCALE);
+        Assert.assertEquals(retrievedBP.getPreference(), patchedBP.getPreference());
+        JSONObject retrievedPreference = new JSONObject((Map) retrievedBP.getPreference());
+        Assert.assertEquals(retrievedPreference.getJSONObject("colors").getString("primary"), "#00FF00");
+        Assert.assertEquals(retrievedPreference.getJSONObject("organizationDetails").getString("displayName"),
+                "Coala");
+        Assert.assertFalse(retrievedPreference.has("urls"));
+
+        brandingPreferenceManagerImpl.deleteBrandingPreference(ORGANIZATION_TYPE, SUPER_TENANT_DOMAIN_NAME,
+                DEFAULT_LOCALE);
+    }
+
+    @Test
+    public void testAddAndPatchOversizedBrandingPreference() throws Exception {
+
+        setCarbonContextForTenant(SUPER_TENANT_DOMAIN_NAME, SUPER_TENANT_ID);
+        Map<String, Object> oversizedPreference = new LinkedHashMap<>();
+        oversizedPreference.put("description", StringUtils.repeat('a', MAX_PREFERENCE_DOCUMENT_SIZE));
+        BrandingPreference inputBP = new BrandingPreference();
+        inputBP.setType(ORGANIZATION_TYPE);
+        inputBP.setName(SUPER_TENANT_DOMAIN_NAME);
+        inputBP.setLocale(DEFAULT_LOCALE);
+        inputBP.setPreference(oversizedPreference);
+
+        BrandingPreferenceMgtClientException exception = expectThrows(BrandingPreferenceMgtClientException.class,
+                () -> brandingPreferenceManagerImpl.addBrandingPreference(inputBP));
+        Assert.assertEquals(exception.getErrorCode(), ERROR_CODE_PREFERENCE_DOCUMENT_TOO_LARGE.getCode());
+
+        inputBP.setPreference(getPreferenceFromFile("sample-preference-1.json"));
+        brandingPreferenceManagerImpl.addBrandingPreference(inputBP);
+        exception = expectThrows(BrandingPreferenceMgtClientException.class,
+                () -> brandingPreferenceManagerImpl.patchBrandingPreference(ORGANIZATION_TYPE,
+                        SUPER_TENANT_DOMAIN_NAME, DEFAULT_LOCALE, oversizedPreference));
+        Assert.assertEquals(exception.getErrorCode(), ERROR_CODE_PREFERENCE_DOCUMENT_TOO_LARGE.getCode());
+        verify(resolver, times(1)).clearBrandingResolverCacheHierarchy(any(), any(), any());
+
+        brandingPreferenceManagerImpl.deleteBrandingPreference(ORGANIZATION_TYPE, SUPER_TENANT_DOMAIN_NAME,
+                DEFAULT_LOCALE);
+    }
+
+    @Test
+    public void testAddOversizedCustomText() throws Exception {
+
+        setCarbonContextForTenant(SUPER_TENANT_DOMAIN_NAME, SUPER_TENANT_ID);
+        Map<String, Object> oversizedPreference = new LinkedHashMap<>();
+        oversizedPreference.put("login.heading", StringUtils.repeat('a', MAX_PREFERENCE_DOCUMENT_SIZE));
+        CustomText inputCT = new CustomText();
+        inputCT.setType(ORGANIZATION_TYPE);
+        inputCT.setName(SUPER_TENANT_DOMAIN_NAME);
+        inputCT.setScreen(LOGIN_SCREEN);
+        inputCT.setLocale(DEFAULT_LOCALE);
+        inputCT.setPreference(oversizedPreference);
+
+        BrandingPreferenceMgtClientException exception = expectThrows(BrandingPreferenceMgtClientException.class,
+                () -> brandingPreferenceManagerImpl.addCustomText(inputCT));
+        Assert.assertEquals(exception.getErrorCode(), ERROR_CODE_PREFERENCE_DOCUMENT_TOO_LARGE.getCode());
+        verify(resolver, never()).clearCustomTextResolverCacheHierarchy(any(), any(), any());
+    }
+
     @Test(dataProvider = "brandingPreferenceDataProvider")
     public void testReplaceNotExistingBrandingPreference(Object brandingPreference, String tenantDomain, int tenantId)
             throws Exception {
@@ -458,6 +581,115 @@ public class BrandingPreferenceManagerImplTest {
                 .replaceBrandingPreference(newBP));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddBrandingPreferenceModifiedByPreEvent() throws Exception {
+
+        setCarbonContextForTenant(SUPER_TENANT_DOMAIN_NAME, SUPER_TENANT_ID);
+        BrandingPreference inputBP = new BrandingPreference();
+        inputBP.setType(ORGANIZATION_TYPE);
+        inputBP.setName(SUPER_TENANT_DOMAIN_NAME);
+        inputBP.setLocale(DEFAULT_LOCALE);
+        inputBP.setPreference(getPreferenceFromFile("sample-preference-1.json"));
+
+        // Pre add event handler modifies the preference in place.
+        doAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            if (PRE_ADD_BRANDING_PREFERENCE.equals(event.getEventName())) {
+                BrandingPreference eventBP =
+                        (BrandingPreference) event.getEventProperties().get(BRANDING_PREFERENCE);
+                ((Map<String, Object>) ((Map<String, Object>) eventBP.getPreference()).get("colors"))
+                        .put("primary", "#00FF00");
+            }
+            return null;
+        }).when(identityEventService).handleEvent(any(Event.class));
+        brandingPreferenceManagerImpl.addBrandingPreference(inputBP);
+
+        // Stored preference contains the modification done by the event handler.
+        BrandingPreference retrievedBP = brandingPreferenceManagerImpl.getBrandingPreference(ORGANIZATION_TYPE,
+                SUPER_TENANT_DOMAIN_NAME, DEFAULT_LOCALE);
+        JSONObject retrievedPreference = new JSONObject((Map) retrievedBP.getPreference());
+        Assert.assertEquals(retrievedPreference.getJSONObject("colors").getString("primary"), "#00FF00");
+
+        brandingPreferenceManagerImpl.deleteBrandingPreference(ORGANIZATION_TYPE, SUPER_TENANT_DOMAIN_NAME,
+                DEFAULT_LOCALE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddBrandingPreferenceModifiedByPreEventWithSameHash() throws Exception {
+
+        setCarbonContextForTenant(SUPER_TENANT_DOMAIN_NAME, SUPER_TENANT_ID);
+        BrandingPreference inputBP = new BrandingPreference();
+        inputBP.setType(ORGANIZATION_TYPE);
+        inputBP.setName(SUPER_TENANT_DOMAIN_NAME);
+        inputBP.setLocale(DEFAULT_LOCALE);
+        inputBP.setPreference(getPreferenceFromFile("sample-preference-1.json"));
+        Map<String, Object> colors =
+                (Map<String, Object>) ((Map<String, Object>) inputBP.getPreference()).get("colors");
+        colors.put("primary", "Aa");
+
+        // Pre add event handler changes the value to another one with the same hash code.
+        doAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            if (PRE_ADD_BRANDING_PREFERENCE.equals(event.getEventName())) {
+                colors.put("primary", "BB");
+            }
+            return null;
+        }).when(identityEventService).handleEvent(any(Event.class));
+        int preferenceHash = inputBP.getPreference().hashCode();
+        brandingPreferenceManagerImpl.addBrandingPreference(inputBP);
+        Assert.assertEquals(inputBP.getPreference().hashCode(), preferenceHash);
+
+        // Stored preference contains the modification done by the event handler.
+        BrandingPreference retrievedBP = brandingPreferenceManagerImpl.getBrandingPreference(ORGANIZATION_TYPE,
+                SUPER_TENANT_DOMAIN_NAME, DEFAULT_LOCALE);
+        JSONObject retrievedPreference = new JSONObject((Map) retrievedBP.getPreference());
+        Assert.assertEquals(retrievedPreference.getJSONObject("colors").getString("primary"), "BB");
+
+        brandingPreferenceManagerImpl.deleteBrandingPreference(ORGANIZATION_TYPE, SUPER_TENANT_DOMAIN_NAME,
+                DEFAULT_LOCALE);
+    }
+
+    @Test
+    public void testReplaceBrandingPreferenceReplacedByPreEvent() throws Exception {
+
+        setCarbonContextForTenant(SUPER_TENANT_DOMAIN_NAME, SUPER_TENANT_ID);
+        BrandingPreference inputBP = new BrandingPreference();
+        inputBP.setType(ORGANIZATION_TYPE);
+        inputBP.setName(SUPER_TENANT_DOMAIN_NAME);
+        inputBP.setLocale(DEFAULT_LOCALE);
+        inputBP.setPreference(getPreferenceFromFile("sample-preference-1.json"));
+        brandingPreferenceManagerImpl.addBrandingPreference(inputBP);
+
+        // Pre update event handler replaces the preference object.
+        Object replacedPreference = getPreferenceFromFile("sample-preference-2.json");
+        doAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            if (PRE_UPDATE_BRANDING_PREFERENCE.equals(event.getEventName())) {
+                ((BrandingPreference) event.getEventProperties().get(NEW_BRANDING_PREFERENCE))
+                        .setPreference(replacedPreference);
+            }
+            return null;
+        }).when(identityEventService).handleEvent(any(Event.class));
+
+        BrandingPreference newBP = new BrandingPreference();
+        newBP.setType(ORGANIZATION_TYPE);
+        newBP.setName(SUPER_TENANT_DOMAIN_NAME);
+        newBP.setLocale(DEFAULT_LOCALE);
+        newBP.setPreference(getPreferenceFromFile("sample-preference-1.json"));
+        BrandingPreference updatedBP = brandingPreferenceManagerImpl.replaceBrandingPreference(newBP);
+        Assert.assertEquals(updatedBP.getPreference(), replacedPreference);
+
+        // Stored preference is the one set by the event handler.
+        BrandingPreference retrievedBP = brandingPreferenceManagerImpl.getBrandingPreference(ORGANIZATION_TYPE,
+                SUPER_TENANT_DOMAIN_NAME, DEFAULT_LOCALE);
+        Assert.assertEquals(retrievedBP.getPreference(), replacedPreference);
+
+        brandingPreferenceManagerImpl.deleteBrandingPreference(ORGANIZATION_TYPE, SUPER_TENANT_DOMAIN_NAME,
+                DEFAULT_LOCALE);
+    }
+
     @Test(dataProvider = "brandingPreferenceDataProvider")
     public void testDeleteBrandingPreference(Object brandingPreference, String tenantDomain, int tenantId)
             throws Exception {
@@ -612,6 +844,23 @@ public class BrandingPreferenceManagerImplTest {
         Assert.assertEquals(retrievedCT.getLocale(), inputCT.getLocale());
     }
 
+    @Test(dataProvider = "customTextPreferenceDataProvider")
+    public void testResolveCustomTextIfModified(Object customText, String tenantDomain, int tenantId)
+            throws Exception {
+
+        setCarbonContextForTenant(tenantDomain, tenantId);
+        CustomText inputCT = (CustomText) customText;
+        when(resolver.tryResolveCustomText(inputCT.getType(), inputCT.getName(), inputCT.getScreen(),
+                inputCT.getLocale(), NOT_MODIFIED_ETAG)).thenReturn(
+                PreferenceResolutionResult.notModified(NOT_MODIFIED_ETAG));
+
+        PreferenceResolutionResult<CustomText> resolutionResult =
+                brandingPreferenceManagerImpl.resolveCustomTextIfModified(inputCT.getType(), inputCT.getName(),
+                        inputCT.getScreen(), inputCT.getLocale(), NOT_MODIFIED_ETAG);
+        Assert.assertTrue(resolutionResult.isNotModified());
+        Assert.assertEquals(resolutionResult.getNotModifiedETag(), NOT_MODIFIED_ETAG);
+    }
+
     @DataProvider(name = "notExistingCustomTextDataProvider")
     public Object[][] notExistingCustomTextDataProvider() {
 
@@ -18,12 +18,34 @@
 
 package org.wso2.carbon.identity.branding.preference.management.core.util;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceDocument;
+import org.wso2.carbon.identity.branding.preference.management.core.model.RawPreference;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser.ParsedPreference;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.CONFIGS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DEFAULT_LOCALE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DISPLAY_NAME;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.IS_BRANDING_ENABLED;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.MAX_PREFERENCE_DOCUMENT_SIZE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_DETAILS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.util.TestUtils.getPreferenceFromFile;
 
@@ -69,4 +91,229 @@ public class BrandingPreferenceMgtUtilsTest {
         boolean isBrandingPublished = BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference);
         Assert.assertFalse(isBrandingPublished);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIsPublishedBrandingAfterPreferenceChange() throws Exception {
+
+        BrandingPreference brandingPreference = new BrandingPreference();
+        brandingPreference.setPreference(getPreferenceFromFile("sample-preference-1.json"));
+        brandingPreference.setBrandingEnabled(true);
+
+        // The captured flag is not trusted for a mutable preference tree, which can be changed after capturing it.
+        Map<String, Object> configs =
+                (Map<String, Object>) ((Map<String, Object>) brandingPreference.getPreference()).get(CONFIGS);
+        configs.put(IS_BRANDING_ENABLED, false);
+        Assert.assertFalse(BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference));
+
+        // The captured flag belongs to the replaced preference.
+        brandingPreference.setBrandingEnabled(true);
+        brandingPreference.setPreference(getPreferenceFromFile("sample-unpublished-preference.json"));
+        Assert.assertNull(brandingPreference.getBrandingEnabled());
+        Assert.assertFalse(BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRawPreferenceIsMaterializedAsMutableTree() throws Exception {
+
+        BrandingPreference brandingPreference = new BrandingPreference();
+        brandingPreference.setRawPreference(new RawPreference(Files.readAllBytes(Paths.get(
+                System.getProperty("user.dir"), "src", "test", "resources", "samples", "sample-preference-1.json"))));
+        brandingPreference.setBrandingEnabled(true);
+        Assert.assertNotNull(brandingPreference.getPreferenceDocument());
+        Assert.assertTrue(BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference));
+
+        // Preference tree of a raw preference is a mutable tree, which can diverge from the raw document.
+        Assert.assertTrue(brandingPreference.getPreference() instanceof LinkedHashMap);
+        Assert.assertEquals(brandingPreference.getPreference(), getPreferenceFromFile("sample-preference-1.json"));
+        Map<String, Object> configs =
+                (Map<String, Object>) ((Map<String, Object>) brandingPreference.getPreference()).get(CONFIGS);
+        configs.put(IS_BRANDING_ENABLED, false);
+        Assert.assertNull(brandingPreference.getPreferenceDocument());
+        Assert.assertFalse(BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference));
+        Assert.assertTrue(brandingPreference.getRawPreference().getDocument().isBrandingEnabled());
+    }
+
+    @Test
+    public void testTransformedRawPreferenceIsDerivedOnRequest() throws Exception {
+
+        RawPreference rawPreference = new RawPreference(Files.readAllBytes(Paths.get(System.getProperty("user.dir"),
+                "src", "test", "resources", "samples", "sample-preference-1.json")));
+        PreferenceDocument unpublishedDocument = (PreferenceDocument) PreferenceParser.parseDocument(
+                Files.readAllBytes(Paths.get(System.getProperty("user.dir"), "src", "test", "resources", "samples",
+                        "sample-unpublished-preference.json"))).getPreference();
+        AtomicInteger transformationCount = new AtomicInteger();
+
+        RawPreference transformedPreference = rawPreference.transform(preference -> {
+            transformationCount.incrementAndGet();
+            return unpublishedDocument;
+        });
+        Assert.assertEquals(transformationCount.get(), 0);
+
+        byte[] transformedBytes = transformedPreference.getBytes();
+        Assert.assertSame(transformedPreference.getBytes(), transformedBytes);
+        Assert.assertFalse(transformedPreference.getDocument().isBrandingEnabled());
+        Assert.assertEquals(transformationCount.get(), 1);
+        Assert.assertEquals(PreferenceParser.parse(transformedBytes).getPreference(),
+                getPreferenceFromFile("sample-unpublished-preference.json"));
+        Assert.assertTrue(rawPreference.getDocument().isBrandingEnabled());
+
+        // A transformed preference is serialized as its bytes.
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(transformedPreference);
+        }
+        try (ObjectInputStream objectInputStream =
+                     new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Assert.assertEquals(((RawPreference) objectInputStream.readObject()).getBytes(), transformedBytes);
+        }
+    }
+
+    @DataProvider(name = "parsedPreferenceDataProvider")
+    public Object[][] parsedPreferenceDataProvider() {
+
+        return new Object[][]{
+                {"sample-preference-1.json", true},
+                {"sample-preference-without-isBrandingEnabled-config.json", true},
+                {"sample-preference-without-configs.json", true},
+                {"sample-unpublished-preference.json", false},
+        };
+    }
+
+    @Test(dataProvider = "parsedPreferenceDataProvider")
+    public void testParsePreference(String preferenceFile, boolean isBrandingEnabled) throws Exception {
+
+        ParsedPreference parsedPreference;
+        try (InputStream inputStream = Files.newInputStream(Paths.get(System.getProperty("user.dir"), "src", "test",
+                "resources", "samples", preferenceFile))) {
+            parsedPreference = PreferenceParser.parse(inputStream);
+        }
+
+        Assert.assertNotNull(parsedPreference);
+        Assert.assertEquals(parsedPreference.getPreference(), getPreferenceFromFile(preferenceFile));
+        Assert.assertEquals(parsedPreference.isBrandingEnabled(), isBrandingEnabled);
+
+        BrandingPreference brandingPreference = new BrandingPreference();
+        brandingPreference.setPreference(parsedPreference.getPreference());
+        Assert.assertEquals(BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference), isBrandingEnabled);
+    }
+
+    @Test
+    public void testParsePreferenceDocument() throws Exception {
+
+        ParsedPreference parsedPreference = PreferenceParser.parseDocument(Files.readAllBytes(Paths.get(
+                System.getProperty("user.dir"), "src", "test", "resources", "samples",
+                "sample-unpublished-preference.json")));
+
+        Assert.assertNotNull(parsedPreference);
+        Assert.assertTrue(parsedPreference.getPreference() instanceof PreferenceDocument);
+        PreferenceDocument document = (PreferenceDocument) parsedPreference.getPreference();
+        Assert.assertEquals(document, getPreferenceFromFile("sample-unpublished-preference.json"));
+        Assert.assertFalse(document.isBrandingEnabled());
+        Assert.assertNotNull(document.getDisplayName());
+        Assert.assertNotNull(document.getUrls());
+        Assert.assertNull(document.getTheme());
+
+        PreferenceDocument updatedDocument = document.withValue(DISPLAY_NAME, "Updated");
+        Assert.assertSame(updatedDocument, document);
+        updatedDocument = document.withValue(ORGANIZATION_DETAILS,
+                document.getOrganizationDetails().withValue(DISPLAY_NAME, ""));
+        Assert.assertEquals(updatedDocument.getDisplayName(), "");
+        Assert.assertNotEquals(document.getDisplayName(), "");
+        Assert.assertSame(updatedDocument.getUrls(), document.getUrls());
+        Assert.assertFalse(updatedDocument.isBrandingEnabled());
+
+        BrandingPreference brandingPreference = new BrandingPreference();
+        brandingPreference.setPreference(updatedDocument);
+        Assert.assertFalse(BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference));
+    }
+
+    @DataProvider(name = "invalidPreferenceDataProvider")
+    public Object[][] invalidPreferenceDataProvider() {
+
+        return new Object[][]{
+                {""},
+                {"{}"},
+                {"[{\"configs\": {}}]"},
+                {"{\"configs\": {\"isBrandingEnabled\": true}"},
+                {"{\"a\":1} garbage"},
+                {"{\"a\":1} {\"b\":2}"},
+        };
+    }
+
+    @Test(dataProvider = "invalidPreferenceDataProvider")
+    public void testParseInvalidPreference(String preferenceJSON) throws Exception {
+
+        Assert.assertNull(PreferenceParser.parse(
+                new ByteArrayInputStream(preferenceJSON.getBytes(StandardCharsets.UTF_8))));
+        Assert.assertNull(PreferenceParser.parseDocument(preferenceJSON.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertFalse(BrandingPreferenceMgtUtils.isValidJSONString(preferenceJSON));
+    }
+
+    @Test
+    public void testParseOversizedPreferenceStream() throws Exception {
+
+        // Documents stored before the size limit was enforced are still read.
+        byte[] preference = "{\"a\":1".getBytes(StandardCharsets.UTF_8);
+        byte[] oversizedPreference = new byte[MAX_PREFERENCE_DOCUMENT_SIZE + 1];
+        Arrays.fill(oversizedPreference, (byte) ' ');
+        System.arraycopy(preference, 0, oversizedPreference, 0, preference.length);
+        oversizedPreference[oversizedPreference.length - 1] = '}';
+
+        ParsedPreference parsedPreference = PreferenceParser.parse(new ByteArrayInputStream(oversizedPreference));
+        Assert.assertNotNull(parsedPreference);
+        Assert.assertEquals(((Map<?, ?>) parsedPreference.getPreference()).get("a"), 1);
+    }
+
+    @DataProvider(name = "mergePatchDataProvider")
+    public Object[][] mergePatchDataProvider() {
+
+        // Examples from the RFC 7396 appendix.
+        return new Object[][]{
+                {"{\"a\":\"b\"}", "{\"a\":\"c\"}", "{\"a\":\"c\"}"},
+                {"{\"a\":\"b\"}", "{\"b\":\"c\"}", "{\"a\":\"b\",\"b\":\"c\"}"},
+                {"{\"a\":\"b\"}", "{\"a\":null}", "{}"},
+                {"{\"a\":\"b\",\"b\":\"c\"}", "{\"a\":null}", "{\"b\":\"c\"}"},
+                {"{\"a\":[\"b\"]}", "{\"a\":\"c\"}", "{\"a\":\"c\"}"},
+                {"{\"a\":\"c\"}", "{\"a\":[\"b\"]}", "{\"a\":[\"b\"]}"},
+                {"{\"a\":{\"b\":\"c\"}}", "{\"a\":{\"b\":\"d\",\"c\":null}}", "{\"a\":{\"b\":\"d\"}}"},
+                {"{\"a\":[{\"b\":\"c\"}]}", "{\"a\":[1]}", "{\"a\":[1]}"},
+                {"[\"a\",\"b\"]", "[\"c\",\"d\"]", "[\"c\",\"d\"]"},
+                {"{\"a\":\"b\"}", "[\"c\"]", "[\"c\"]"},
+                {"{\"a\":\"foo\"}", "null", "null"},
+                {"{\"e\":null}", "{\"a\":1}", "{\"e\":null,\"a\":1}"},
+                {"[1,2]", "{\"a\":\"b\",\"c\":null}", "{\"a\":\"b\"}"},
+                {"{}", "{\"a\":{\"bb\":{\"ccc\":null}}}", "{\"a\":{\"bb\":{}}}"},
+        };
+    }
+
+    @Test(dataProvider = "mergePatchDataProvider")
+    public void testApplyMergePatch(String target, String patch, String result) throws Exception {
+
+        ObjectMapper mapper = new ObjectMapper();
+        Object targetTree = mapper.readValue(target, Object.class);
+        Object patchedTree = PreferenceMergePatch.apply(targetTree, mapper.readValue(patch, Object.class));
+        Assert.assertEquals(patchedTree, mapper.readValue(result, Object.class));
+        // Target tree is not modified by the patch.
+        Assert.assertEquals(targetTree, mapper.readValue(target, Object.class));
+    }
+
+    @Test
+    public void testApplyNoOpMergePatch() throws Exception {
+
+        Object preference = getPreferenceFromFile("sample-preference-1.json");
+        Object patch = new ObjectMapper().readValue(
+                "{\"colors\":{\"primary\":\"#FF0000\"},\"theme\":null,\"configs\":{}}", Object.class);
+        Assert.assertSame(PreferenceMergePatch.apply(preference, patch), preference);
+    }
+
+    @Test
+    public void testReadOversizedPreference() throws Exception {
+
+        // Documents stored before the size limit was enforced are still read.
+        Assert.assertEquals(PreferenceCodec.readBytes(
+                new ByteArrayInputStream(new byte[MAX_PREFERENCE_DOCUMENT_SIZE + 1])).length,
+                MAX_PREFERENCE_DOCUMENT_SIZE + 1);
+    }
 }
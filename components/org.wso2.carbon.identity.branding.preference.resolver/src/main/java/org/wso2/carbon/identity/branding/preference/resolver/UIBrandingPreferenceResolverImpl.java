@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2024, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2023-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,68 +18,109 @@
 
 package org.wso2.carbon.identity.branding.preference.resolver;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.branding.preference.management.core.UIBrandingPreferenceResolver;
 import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtException;
-import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtServerException;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PageBundle;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceDocument;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceResolutionResult;
+import org.wso2.carbon.identity.branding.preference.management.core.model.RawPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.util.BrandingPreferenceMgtUtils;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceCodec;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceMergePatch;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser.ParsedPreference;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedAppCache;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedAppCacheEntry;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedAppCacheKey;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedOrgCache;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedOrgCacheEntry;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedOrgCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingGenerationStamp;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingNotConfiguredCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingNotConfiguredCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingNotConfiguredCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingResolverCaches;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.LocaleFallbackCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.LocaleFallbackCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.LocaleFallbackCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.MergedCustomTextCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.MergedCustomTextCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.PageBundleCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.PageBundleCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.PageBundleCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.ResolvedBrandingCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.ResolvedBrandingCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.ResolvedBrandingCacheKey;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.TextCustomizedOrgCache;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.TextCustomizedOrgCacheEntry;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.TextCustomizedOrgCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.AncestorLookupMode;
 import org.wso2.carbon.identity.branding.preference.resolver.internal.BrandingResolverComponentDataHolder;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingDependencyIndex;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingDependencyIndex.Dependent;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingGenerationTracker;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingResolverExecutors;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingResourceSearch;
+import org.wso2.carbon.identity.branding.preference.resolver.util.CallerCarbonContext;
+import org.wso2.carbon.identity.branding.preference.resolver.util.InvalidationScheduler;
+import org.wso2.carbon.identity.branding.preference.resolver.util.InvalidationScheduler.Category;
+import org.wso2.carbon.identity.branding.preference.resolver.util.InvalidationScheduler.Invalidation;
+import org.wso2.carbon.identity.branding.preference.resolver.util.OrganizationHierarchyIndex;
+import org.wso2.carbon.identity.branding.preference.resolver.util.OrganizationSubtreeTraverser;
+import org.wso2.carbon.identity.branding.preference.resolver.util.PreferenceTrees;
+import org.wso2.carbon.identity.branding.preference.resolver.util.ResolutionRequestCoalescer;
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
 import org.wso2.carbon.identity.configuration.mgt.core.exception.ConfigurationManagementException;
 import org.wso2.carbon.identity.configuration.mgt.core.model.ResourceFile;
-import org.wso2.carbon.identity.core.ThreadLocalAwareExecutors;
 import org.wso2.carbon.identity.organization.management.application.OrgApplicationManager;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.identity.organization.management.service.model.BasicOrganization;
-import org.wso2.carbon.identity.organization.management.service.model.Organization;
 import org.wso2.carbon.identity.organization.management.service.util.Utils;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_BRANDING_RESOURCE_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.BRANDING_RESOURCE_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.CUSTOM_TEXT_RESOURCE_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DEFAULT_LOCALE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DISPLAY_NAME;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_ERROR_BUILDING_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_ERROR_BUILDING_CUSTOM_TEXT_PREFERENCE;
-import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_ERROR_CLEARING_BRANDING_PREFERENCE_RESOLVER_CACHE_HIERARCHY;
-import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_ERROR_CLEARING_CUSTOM_TEXT_PREFERENCE_RESOLVER_CACHE_HIERARCHY;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_ERROR_GETTING_APP_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_INVALID_BRANDING_PREFERENCE_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.LOCAL_CODE_SEPARATOR;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_DETAILS;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.RESOURCE_NAME_SEPARATOR;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.RESOURCE_NOT_EXISTS_ERROR_CODE;
@@ -93,18 +134,34 @@ import static org.wso2.carbon.identity.branding.preference.management.core.util.
 public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceResolver {
 
     private static final Log LOG = LogFactory.getLog(UIBrandingPreferenceResolverImpl.class);
-    private final ExecutorService executorService = ThreadLocalAwareExecutors.newFixedThreadPool(1);
-    private static final String ORGANIZATION_DETAILS = "organizationDetails";
-    private static final String DISPLAY_NAME = "displayName";
     private static final String PUBLISHED_BRANDING_CACHE_KEY_SUFFIX = "_published";
+    private static final String REQUEST_KEY_SEPARATOR = "/";
+    private static final String LOCALES_KEY_SEPARATOR = ",";
+    private static final String BRANDING_TRAVERSAL = "branding";
+    private static final String RESOLVED_BRANDING_TRAVERSAL = "resolvedBranding";
+    private static final String CUSTOM_TEXT_TRAVERSAL = "customText";
 
     private final BrandedOrgCache brandedOrgCache;
     private final BrandedAppCache brandedAppCache;
     private final TextCustomizedOrgCache textCustomizedOrgCache;
+    private final ResolvedBrandingCache resolvedBrandingCache;
+    private final PageBundleCache pageBundleCache;
+    private final MergedCustomTextCache mergedCustomTextCache;
+    private final LocaleFallbackCache localeFallbackCache;
+    private final BrandingNotConfiguredCache brandingNotConfiguredCache;
+    private final BrandingDependencyIndex brandingDependencyIndex;
+    private final OrganizationHierarchyIndex organizationHierarchyIndex;
+    private final BrandingGenerationTracker brandingGenerationTracker;
+    private final InvalidationScheduler invalidationScheduler;
+    private final OrganizationSubtreeTraverser organizationSubtreeTraverser;
+    private final ExecutorService ancestorProbeExecutorService;
+    private final ResolutionRequestCoalescer<PreferenceResolutionResult<BrandingPreference>>
+            brandingRequestCoalescer = new ResolutionRequestCoalescer<>(UIBrandingPreferenceResolverImpl::copyResult);
 
     /**
      * UI branding preference resolver implementation constructor
-     * without application branding resolver cache param.
+     * without application branding resolver cache param. The other resolver caches are taken from their shared
+     * instances.
      *
      * @param brandedOrgCache        Cache instance for branded org.
      * @param textCustomizedOrgCache Cache instance for custom text.
@@ -116,7 +173,8 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
     }
 
     /**
-     * UI branding preference resolver implementation constructor.
+     * UI branding preference resolver implementation constructor. The other resolver caches are taken from their
+     * shared instances.
      *
      * @param brandedOrgCache        Cache instance for branded org.
      * @param brandedAppCache        Cache instance for branded app.
@@ -125,9 +183,51 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
     public UIBrandingPreferenceResolverImpl(BrandedOrgCache brandedOrgCache, BrandedAppCache brandedAppCache,
                                             TextCustomizedOrgCache textCustomizedOrgCache) {
 
-        this.brandedOrgCache = brandedOrgCache;
-        this.brandedAppCache = brandedAppCache;
-        this.textCustomizedOrgCache = textCustomizedOrgCache;
+        this(getCaches(brandedOrgCache, brandedAppCache, textCustomizedOrgCache),
+                BrandingResolverComponentDataHolder.getInstance().getResolverExecutors());
+    }
+
+    /**
+     * UI branding preference resolver implementation constructor with all the resolver caches. New resolver caches
+     * are added to the cache holder, instead of to another constructor.
+     *
+     * @param caches    Cache instances of the resolver.
+     * @param executors Thread pools of the resolver, owned by the caller.
+     */
+    public UIBrandingPreferenceResolverImpl(BrandingResolverCaches caches, BrandingResolverExecutors executors) {
+
+        this.brandedOrgCache = caches.getBrandedOrgCache();
+        this.brandedAppCache = caches.getBrandedAppCache();
+        this.textCustomizedOrgCache = caches.getTextCustomizedOrgCache();
+        this.resolvedBrandingCache = caches.getResolvedBrandingCache();
+        this.pageBundleCache = caches.getPageBundleCache();
+        this.mergedCustomTextCache = caches.getMergedCustomTextCache();
+        this.localeFallbackCache = caches.getLocaleFallbackCache();
+        this.brandingNotConfiguredCache = caches.getBrandingNotConfiguredCache();
+        this.brandingDependencyIndex = caches.getBrandingDependencyIndex();
+        this.organizationHierarchyIndex = new OrganizationHierarchyIndex(caches.getOrganizationHierarchyCache());
+        this.brandingGenerationTracker = new BrandingGenerationTracker(caches.getBrandingGenerationCache());
+        this.ancestorProbeExecutorService = executors.getAncestorProbeExecutorService();
+        this.organizationSubtreeTraverser = new OrganizationSubtreeTraverser(
+                executors.getHierarchyTraversalExecutorService(),
+                executors.getHierarchyTraversalWorkerExecutorService(),
+                BrandingResolverComponentDataHolder.getInstance().getHierarchyTraversalWorkerPoolSize(),
+                BrandingResolverComponentDataHolder.getInstance().getHierarchyTraversalPageSize(),
+                BrandingResolverComponentDataHolder.getInstance().getHierarchyTraversalMaxRetries());
+        this.invalidationScheduler = new InvalidationScheduler(executors.getInvalidationExecutorService(),
+                BrandingResolverComponentDataHolder.getInstance().getInvalidationDebounceTime(),
+                BrandingResolverComponentDataHolder.getInstance().getInvalidationMaxDelay(),
+                organizationHierarchyIndex::getAncestorOrganizationIds);
+    }
+
+    private static BrandingResolverCaches getCaches(BrandedOrgCache brandedOrgCache, BrandedAppCache brandedAppCache,
+                                                    TextCustomizedOrgCache textCustomizedOrgCache) {
+
+        BrandingResolverCaches caches = new BrandingResolverCaches();
+        caches.setBrandedOrgCache(brandedOrgCache);
+        caches.setBrandedAppCache(brandedAppCache);
+        caches.setTextCustomizedOrgCache(textCustomizedOrgCache);
+        return caches;
     }
 
     /**
@@ -145,9 +245,111 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
     public BrandingPreference resolveBranding(String type, String name, String locale, boolean restrictToPublished)
             throws BrandingPreferenceMgtException {
 
+        return tryResolveBranding(type, name, locale, restrictToPublished).getOrThrow();
+    }
+
+    @Override
+    public PreferenceResolutionResult<BrandingPreference> tryResolveBranding(String type, String name, String locale,
+                                                                             boolean restrictToPublished)
+            throws BrandingPreferenceMgtException {
+
+        if (!isLocaleFallbackEnabled()) {
+            return tryResolveBrandingOfLocales(type, name, Collections.singletonList(locale), restrictToPublished);
+        }
+
+        String localeFallbackCacheTenantDomain = getResolvedContentCacheTenantDomain(type, name);
+        LocaleFallbackCacheKey localeFallbackCacheKey =
+                new LocaleFallbackCacheKey(type, name, null, locale, restrictToPublished);
+        String fallbackLocale = getFallbackLocaleFromCache(localeFallbackCacheKey, localeFallbackCacheTenantDomain);
+        if (fallbackLocale != null) {
+            PreferenceResolutionResult<BrandingPreference> resolutionResult = tryResolveBrandingOfLocales(type, name,
+                    Collections.singletonList(fallbackLocale), restrictToPublished);
+            if (resolutionResult.isResolved()) {
+                return resolutionResult;
+            }
+            // The branding of the fallback locale has been removed. Hence, the fallback needs to be chosen again.
+            localeFallbackCache.clearCacheEntry(localeFallbackCacheKey, localeFallbackCacheTenantDomain);
+        }
+
+        /* All the fallback locales are looked up in a single walk of the hierarchy. The nearest organization with a
+          branding preference in any of the locales wins, and its best locale is chosen. */
+        BrandingGenerationStamp generationStamp = getBrandingGenerationStamp(type, name, getTenantDomain());
+        PreferenceResolutionResult<BrandingPreference> resolutionResult =
+                tryResolveBrandingOfLocales(type, name, getFallbackLocales(locale), restrictToPublished);
+        if (resolutionResult.isResolved() &&
+                !StringUtils.equals(locale, resolutionResult.getPreference().getLocale())) {
+            addFallbackLocaleToCache(localeFallbackCacheKey, resolutionResult.getPreference().getLocale(),
+                    localeFallbackCacheTenantDomain, generationStamp);
+        }
+        return resolutionResult;
+    }
+
+    /**
+     * Resolve the branding preference of the nearest organization which has a branding preference in any of the
+     * given locales. The first available locale of that organization is chosen.
+     *
+     * @param type                Branding resource type.
+     * @param name                Tenant domain or application id.
+     * @param locales             Language preferences, in the order of preference.
+     * @param restrictToPublished Whether to only resolve published branding preferences.
+     * @return Resolution result holding the resolved branding preference or the reason for not resolving one.
+     * @throws BrandingPreferenceMgtException if any error occurred while resolving the branding preference.
+     */
+    private PreferenceResolutionResult<BrandingPreference> tryResolveBrandingOfLocales(
+            String type, String name, List<String> locales, boolean restrictToPublished)
+            throws BrandingPreferenceMgtException {
+
         String organizationId = getOrganizationId();
         String currentTenantDomain = getTenantDomain();
 
+        /* Organization branding requested from the super tenant (SaaS apps) belongs to the tenant given in the name
+          parameter. Hence, the resolved content is cached under that tenant, so that it is cleared with it. */
+        String resolvedBrandingCacheTenantDomain = getResolvedContentCacheTenantDomain(type, name);
+        String localesKey = getLocalesKey(locales);
+        ResolvedBrandingCacheKey resolvedBrandingCacheKey = isResolvedContentCacheEnabled() ?
+                new ResolvedBrandingCacheKey(type, name, localesKey, restrictToPublished) : null;
+        if (resolvedBrandingCacheKey != null) {
+            Optional<BrandingPreference> resolvedBrandingPreference =
+                    getResolvedBrandingFromCache(resolvedBrandingCacheKey, resolvedBrandingCacheTenantDomain);
+            if (resolvedBrandingPreference.isPresent()) {
+                return PreferenceResolutionResult.resolved(resolvedBrandingPreference.get());
+            }
+        }
+
+        if (!BrandingResolverComponentDataHolder.getInstance().isRequestCoalescingEnabled()) {
+            return loadBranding(type, name, locales, restrictToPublished, organizationId, currentTenantDomain,
+                    resolvedBrandingCacheKey, resolvedBrandingCacheTenantDomain);
+        }
+        /* Concurrent requests for the same branding are coalesced, so that only one of them walks the hierarchy
+          while the others wait for its result. Only the name can contain the separator, hence the key is unique. */
+        String requestKey = String.join(REQUEST_KEY_SEPARATOR, currentTenantDomain, String.valueOf(organizationId),
+                type, name, localesKey, String.valueOf(restrictToPublished));
+        return brandingRequestCoalescer.execute(requestKey,
+                BrandingResolverComponentDataHolder.getInstance().getRequestCoalescingMaxWaitTime(),
+                () -> loadBranding(type, name, locales, restrictToPublished, organizationId, currentTenantDomain,
+                        resolvedBrandingCacheKey, resolvedBrandingCacheTenantDomain));
+    }
+
+    /**
+     * Resolve the branding preference by walking the hierarchy, and add the resolved content to the resolved
+     * branding content cache.
+     *
+     * @param type                              Branding resource type.
+     * @param name                              Tenant domain or application id.
+     * @param locales                           Language preferences, in the order of preference.
+     * @param restrictToPublished               Whether to only resolve published branding preferences.
+     * @param organizationId                    Organization id of the current context.
+     * @param currentTenantDomain               Tenant domain of the current context.
+     * @param resolvedBrandingCacheKey          Resolved branding cache key, or null if the cache is disabled.
+     * @param resolvedBrandingCacheTenantDomain Tenant domain of the resolved branding cache entry.
+     * @return Result of the branding resolution.
+     * @throws BrandingPreferenceMgtException if any error occurred while resolving the branding preference.
+     */
+    private PreferenceResolutionResult<BrandingPreference> loadBranding(
+            String type, String name, List<String> locales, boolean restrictToPublished, String organizationId,
+            String currentTenantDomain, ResolvedBrandingCacheKey resolvedBrandingCacheKey,
+            String resolvedBrandingCacheTenantDomain) throws BrandingPreferenceMgtException {
+
         OrganizationManager organizationManager =
                 BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
 
@@ -159,281 +361,507 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
             }
         }
 
+        PreferenceResolutionResult<BrandingPreference> resolutionResult;
+        BrandingGenerationStamp generationStamp;
         if (APPLICATION_TYPE.equals(type)) {
-            return resolveApplicationBranding(name, locale, organizationId, currentTenantDomain, restrictToPublished);
+            generationStamp = getGenerationStamp(APPLICATION_TYPE, organizationId);
+            resolutionResult = resolveApplicationBranding(name, locales, organizationId, currentTenantDomain,
+                    restrictToPublished, generationStamp);
         } else if (ORGANIZATION_TYPE.equals(type)) {
-            return resolveOrganizationBranding(name, locale, organizationId, currentTenantDomain, restrictToPublished);
+            String brandedOrgId = organizationId;
+            String brandedTenantDomain = currentTenantDomain;
+            /* Tenant domain will always be carbon.super for SaaS apps (ex. myaccount). Hence, the branding belongs
+              to the organization of the tenant given in the name. It is resolved once, and passed down. */
+            if (MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
+                brandedTenantDomain = name;
+                try {
+                    brandedOrgId = organizationManager.resolveOrganizationId(name);
+                } catch (OrganizationManagementException e) {
+                    throw handleServerException(ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE, name);
+                }
+            }
+            generationStamp = getGenerationStamp(ORGANIZATION_TYPE, brandedOrgId);
+            resolutionResult = resolveOrganizationBranding(name, locales, brandedOrgId, brandedTenantDomain,
+                    restrictToPublished, generationStamp);
+        } else {
+            throw handleClientException(ERROR_CODE_INVALID_BRANDING_PREFERENCE_TYPE, type, currentTenantDomain);
+        }
+
+        if (resolvedBrandingCacheKey != null && resolutionResult.isResolved()) {
+            addResolvedBrandingToCache(resolvedBrandingCacheKey, resolutionResult.getPreference(),
+                    resolvedBrandingCacheTenantDomain, generationStamp);
         }
-        throw handleClientException(ERROR_CODE_INVALID_BRANDING_PREFERENCE_TYPE, type, currentTenantDomain);
+        return resolutionResult;
     }
 
-    private BrandingPreference resolveOrganizationBranding(String name, String locale, String organizationId,
-                                                           String currentTenantDomain, boolean restrictToPublished)
+    private PreferenceResolutionResult<BrandingPreference> resolveOrganizationBranding(
+            String name, List<String> locales, String organizationId, String currentTenantDomain,
+            boolean restrictToPublished, BrandingGenerationStamp generationStamp)
             throws BrandingPreferenceMgtException {
 
-        OrganizationManager organizationManager =
-                BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
-         /* Tenant domain will always be carbon.super for SaaS apps (ex. myaccount). Hence, need to resolve
-          tenant domain from the name parameter. */
-        if (MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
-            currentTenantDomain = name;
-            try {
-                organizationId = organizationManager.resolveOrganizationId(currentTenantDomain);
-            } catch (OrganizationManagementException e) {
-                throw handleServerException(ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE, currentTenantDomain);
-            }
-        }
-
         if (organizationId != null) {
-            Optional<BrandingPreference> resolvedBrandingPreference;
+            PreferenceResolutionResult<BrandingPreference> cachedResolutionResult;
             if (restrictToPublished) {
-                resolvedBrandingPreference = getOrganizationBrandingFromCache(name, locale,
+                cachedResolutionResult = getOrganizationBrandingFromCache(name, locales,
                         organizationId + PUBLISHED_BRANDING_CACHE_KEY_SUFFIX, currentTenantDomain);
-                if (resolvedBrandingPreference.isPresent()) {
-                    return resolvedBrandingPreference.get();
+                if (cachedResolutionResult != null) {
+                    return cachedResolutionResult;
                 }
             }
-            resolvedBrandingPreference =
-                    getOrganizationBrandingFromCache(name, locale, organizationId, currentTenantDomain);
-            if (isBrandingAvailable(restrictToPublished, resolvedBrandingPreference)) {
-                return resolvedBrandingPreference.get();
+            cachedResolutionResult =
+                    getOrganizationBrandingFromCache(name, locales, organizationId, currentTenantDomain);
+            if (cachedResolutionResult != null && (!cachedResolutionResult.isResolved() ||
+                    isBrandingAvailable(restrictToPublished, cachedResolutionResult.getPreference()))) {
+                return cachedResolutionResult;
             }
 
             // No cache found. Start with current organization.
-            Optional<BrandingPreference> brandingPreference =
-                    getBrandingPreference(ORGANIZATION_TYPE, name, locale, currentTenantDomain);
-            if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
-                return brandingPreference.get();
+            Optional<BrandingPreference> brandingPreference = getAvailableBrandingPreference(ORGANIZATION_TYPE, name,
+                    locales, currentTenantDomain, restrictToPublished);
+            if (brandingPreference.isPresent()) {
+                return PreferenceResolutionResult.resolved(brandingPreference.get());
             }
 
+            List<AncestorBrandingCandidate> candidates = new ArrayList<>();
             try {
                 // There's no need to resolve branding preferences for super tenant since it is the root organization.
                 if (!MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
                     List<String> ancestorOrganizationIds =
-                            organizationManager.getAncestorOrganizationIds(organizationId);
+                            organizationHierarchyIndex.getAncestorOrganizationIds(organizationId);
                     if (CollectionUtils.isEmpty(ancestorOrganizationIds) || ancestorOrganizationIds.size() < 2) {
-                        /*  No branding found. Adding the same tenant domain to cache
-                          to avoid the resolving in the next run. */
-                        addOrgBrandingToCache(organizationId, currentTenantDomain, currentTenantDomain,
-                                restrictToPublished);
-                        throw handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED,
-                                ORGANIZATION_TYPE, name, currentTenantDomain);
+                        // No branding found. Adding a tombstone to cache to avoid the resolving in the next run.
+                        addBrandingNotConfiguredToCache(ORGANIZATION_TYPE, organizationId, currentTenantDomain,
+                                locales, restrictToPublished, generationStamp, Collections.emptyList());
+                        return brandingNotConfigured(ORGANIZATION_TYPE, name, currentTenantDomain);
                     }
 
-                    // Get the minimum hierarchy depth that needs to be reached to resolve branding preference
-                    int minHierarchyDepth = Utils.getSubOrgStartLevel() - 1;
-                    for (String ancestorOrgId : ancestorOrganizationIds.subList(1, ancestorOrganizationIds.size())) {
-                        String ancestorTenantDomain = organizationManager.resolveTenantDomain(ancestorOrgId);
-                        int ancestorDepthInHierarchy =
-                                organizationManager.getOrganizationDepthInHierarchy(ancestorOrgId);
-
-                        if (ancestorDepthInHierarchy >= minHierarchyDepth) {
-                            brandingPreference =
-                                    getBrandingPreference(ORGANIZATION_TYPE, name, locale, ancestorTenantDomain);
-                            if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
-                                /*Since Branding is inherited from an ancestor org,
-                                  removing the ancestor org displayName.*/
-                                removeOrgDisplayNameFromBrandingPreference(brandingPreference.get());
-                                addOrgBrandingToCache(organizationId, currentTenantDomain, ancestorTenantDomain,
-                                        restrictToPublished);
-                                return brandingPreference.get();
-                            }
-                        } else {
-                            break;
-                        }
+                    for (String ancestorOrgId : getBrandingCandidateAncestorOrgIds(ancestorOrganizationIds)) {
+                        candidates.add(new AncestorBrandingCandidate(ORGANIZATION_TYPE, name,
+                                organizationHierarchyIndex.getTenantDomain(ancestorOrgId)));
+                    }
+                    Optional<AncestorBrandingCandidate> nearestCandidate =
+                            findNearestAncestorBranding(candidates, locales, restrictToPublished);
+                    if (nearestCandidate.isPresent()) {
+                        BrandingPreference inheritedBrandingPreference = nearestCandidate.get().getBrandingPreference();
+                        // Since Branding is inherited from an ancestor org, removing the ancestor org displayName.
+                        removeOrgDisplayNameFromBrandingPreference(inheritedBrandingPreference);
+                        addOrgBrandingToCache(organizationId, currentTenantDomain,
+                                nearestCandidate.get().getTenantDomain(), restrictToPublished, generationStamp,
+                                getTraversedTenantDomains(candidates, nearestCandidate.get()));
+                        return PreferenceResolutionResult.resolved(inheritedBrandingPreference);
                     }
                 }
             } catch (OrganizationManagementException e) {
                 throw handleServerException(ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE, currentTenantDomain);
             }
 
-            // No branding found. Adding the same tenant domain to cache to avoid the resolving in the next run.
-            addOrgBrandingToCache(organizationId, currentTenantDomain, currentTenantDomain, restrictToPublished);
-            throw handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED,
-                    ORGANIZATION_TYPE, name, currentTenantDomain);
+            // No branding found. Adding a tombstone to cache to avoid the resolving in the next run.
+            addBrandingNotConfiguredToCache(ORGANIZATION_TYPE, organizationId, currentTenantDomain, locales,
+                    restrictToPublished, generationStamp, getTraversedTenantDomains(candidates, null));
+            return brandingNotConfigured(ORGANIZATION_TYPE, name, currentTenantDomain);
         } else {
             // No need to resolve the branding preference. Try to fetch the config from the same org.
-            Optional<BrandingPreference> brandingPreference =
-                    getBrandingPreference(ORGANIZATION_TYPE, name, locale, currentTenantDomain);
-            if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
-                return brandingPreference.get();
+            Optional<BrandingPreference> brandingPreference = getAvailableBrandingPreference(ORGANIZATION_TYPE, name,
+                    locales, currentTenantDomain, restrictToPublished);
+            if (brandingPreference.isPresent()) {
+                return PreferenceResolutionResult.resolved(brandingPreference.get());
             }
-            throw handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED,
-                    ORGANIZATION_TYPE, name, currentTenantDomain);
+            return brandingNotConfigured(ORGANIZATION_TYPE, name, currentTenantDomain);
         }
     }
 
-    private BrandingPreference resolveApplicationBranding(String appId, String locale, String orgId,
-                                                          String currentTenantDomain, boolean restrictToPublished)
+    private PreferenceResolutionResult<BrandingPreference> resolveApplicationBranding(
+            String appId, List<String> locales, String orgId, String currentTenantDomain,
+            boolean restrictToPublished, BrandingGenerationStamp generationStamp)
             throws BrandingPreferenceMgtException {
 
-        Optional<BrandingPreference> resolvedBrandingPreference;
+        PreferenceResolutionResult<BrandingPreference> cachedResolutionResult;
         if (restrictToPublished) {
-            resolvedBrandingPreference = getApplicationBrandingFromCache(appId + PUBLISHED_BRANDING_CACHE_KEY_SUFFIX,
-                    locale, currentTenantDomain);
-            if (resolvedBrandingPreference.isPresent()) {
-                return resolvedBrandingPreference.get();
+            cachedResolutionResult = getApplicationBrandingFromCache(appId,
+                    appId + PUBLISHED_BRANDING_CACHE_KEY_SUFFIX, locales, currentTenantDomain);
+            if (cachedResolutionResult != null) {
+                return cachedResolutionResult;
             }
         }
 
-        resolvedBrandingPreference = getApplicationBrandingFromCache(appId, locale, currentTenantDomain);
-        if (isBrandingAvailable(restrictToPublished, resolvedBrandingPreference)) {
-            return resolvedBrandingPreference.get();
+        cachedResolutionResult = getApplicationBrandingFromCache(appId, appId, locales, currentTenantDomain);
+        if (cachedResolutionResult != null && (!cachedResolutionResult.isResolved() ||
+                isBrandingAvailable(restrictToPublished, cachedResolutionResult.getPreference()))) {
+            return cachedResolutionResult;
         }
 
-        // No cache found. Start with current organization application branding.
-        Optional<BrandingPreference> brandingPreference =
-                getBrandingPreference(APPLICATION_TYPE, appId, locale, currentTenantDomain);
-        if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
-            return brandingPreference.get();
-        }
+        /* No cache found. Start with current organization application branding, followed by the current
+          organization branding. The better locale wins within the organization. */
+        for (String locale : locales) {
+            Optional<BrandingPreference> brandingPreference =
+                    getBrandingPreference(APPLICATION_TYPE, appId, locale, currentTenantDomain);
+            if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
+                return PreferenceResolutionResult.resolved(brandingPreference.get());
+            }
 
-        // No application branding found. Check current organization branding.
-        brandingPreference = getBrandingPreference(ORGANIZATION_TYPE, currentTenantDomain, locale,
-                currentTenantDomain);
-        if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
-            addAppBrandingToCache(appId, currentTenantDomain, null, currentTenantDomain, ORGANIZATION_TYPE,
-                    restrictToPublished);
-            return brandingPreference.get();
+            // No application branding found. Check current organization branding.
+            brandingPreference = getBrandingPreference(ORGANIZATION_TYPE, currentTenantDomain, locale,
+                    currentTenantDomain);
+            if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
+                addAppBrandingToCache(appId, currentTenantDomain, null, currentTenantDomain, ORGANIZATION_TYPE,
+                        restrictToPublished, generationStamp, Collections.emptyList());
+                return PreferenceResolutionResult.resolved(brandingPreference.get());
+            }
         }
 
         /* It is not possible to resolve application branding further if the organization ID is null or
           if the current tenant domain is super tenant since it is the root organization. */
         if (orgId == null || MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
-            // No branding found. Adding the same app id to cache to avoid the resolving in the next run.
-            addAppBrandingToCache(appId, currentTenantDomain, appId, currentTenantDomain, APPLICATION_TYPE,
-                    restrictToPublished);
-            throw handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED,
-                    APPLICATION_TYPE, appId, currentTenantDomain);
+            // No branding found. Adding a tombstone to cache to avoid the resolving in the next run.
+            addBrandingNotConfiguredToCache(APPLICATION_TYPE, appId, currentTenantDomain, locales,
+                    restrictToPublished, generationStamp, Collections.emptyList());
+            return brandingNotConfigured(APPLICATION_TYPE, appId, currentTenantDomain);
         }
 
         try {
-            OrganizationManager organizationManager =
-                    BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
-            List<String> ancestorOrganizationIds = organizationManager.getAncestorOrganizationIds(orgId);
+            List<String> ancestorOrganizationIds = organizationHierarchyIndex.getAncestorOrganizationIds(orgId);
             if (CollectionUtils.isEmpty(ancestorOrganizationIds) || ancestorOrganizationIds.size() < 2) {
-                // No branding found. Adding the same app id to cache to avoid the resolving in the next run.
-                addAppBrandingToCache(appId, currentTenantDomain, appId, currentTenantDomain, APPLICATION_TYPE,
-                        restrictToPublished);
-                throw handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED,
-                        APPLICATION_TYPE, appId, currentTenantDomain);
+                // No branding found. Adding a tombstone to cache to avoid the resolving in the next run.
+                addBrandingNotConfiguredToCache(APPLICATION_TYPE, appId, currentTenantDomain, locales,
+                        restrictToPublished, generationStamp, Collections.emptyList());
+                return brandingNotConfigured(APPLICATION_TYPE, appId, currentTenantDomain);
             }
 
             OrgApplicationManager orgApplicationManager =
                     BrandingResolverComponentDataHolder.getInstance().getOrgApplicationManager();
             Map<String, String> ancestorAppIds = orgApplicationManager.getAncestorAppIds(appId, orgId);
-            int minHierarchyDepth = Utils.getSubOrgStartLevel() - 1;
-            for (String ancestorOrgId : ancestorOrganizationIds.subList(1, ancestorOrganizationIds.size())) {
+            List<AncestorBrandingCandidate> candidates = new ArrayList<>();
+            for (String ancestorOrgId : getBrandingCandidateAncestorOrgIds(ancestorOrganizationIds)) {
                 String ancestorAppId = ancestorAppIds.get(ancestorOrgId);
-                String ancestorTenantDomain = organizationManager.resolveTenantDomain(ancestorOrgId);
-                int ancestorDepthInHierarchy = organizationManager.getOrganizationDepthInHierarchy(ancestorOrgId);
-
-                if (ancestorDepthInHierarchy >= minHierarchyDepth) {
-                    brandingPreference =
-                            getAppBrandingPreferenceFromAncestor(appId, locale, currentTenantDomain, ancestorAppId,
-                                    ancestorTenantDomain, restrictToPublished);
-                    if (brandingPreference.isPresent()) {
-                        return brandingPreference.get();
-                    }
-                } else {
-                    break;
+                String ancestorTenantDomain = organizationHierarchyIndex.getTenantDomain(ancestorOrgId);
+                // If the app is selectively not shared with the ancestor org, ancestor app id can be empty.
+                if (StringUtils.isNotBlank(ancestorAppId)) {
+                    // Ancestor organization app-level branding takes precedence over its org-level branding.
+                    candidates.add(new AncestorBrandingCandidate(APPLICATION_TYPE, ancestorAppId,
+                            ancestorTenantDomain));
                 }
+                candidates.add(new AncestorBrandingCandidate(ORGANIZATION_TYPE, ancestorTenantDomain,
+                        ancestorTenantDomain));
+            }
+            Optional<AncestorBrandingCandidate> nearestCandidate =
+                    findNearestAncestorBranding(candidates, locales, restrictToPublished);
+            if (nearestCandidate.isPresent()) {
+                AncestorBrandingCandidate candidate = nearestCandidate.get();
+                // Since Branding is inherited from the ancestor org, removing the ancestor org displayName.
+                removeOrgDisplayNameFromBrandingPreference(candidate.getBrandingPreference());
+                String brandingInheritedAppId = APPLICATION_TYPE.equals(candidate.getType()) ?
+                        candidate.getName() : null;
+                addAppBrandingToCache(appId, currentTenantDomain, brandingInheritedAppId,
+                        candidate.getTenantDomain(), candidate.getType(), restrictToPublished, generationStamp,
+                        getTraversedTenantDomains(candidates, candidate));
+                return PreferenceResolutionResult.resolved(candidate.getBrandingPreference());
             }
 
-            // No branding found. Adding the same app id to cache to avoid the resolving in the next run.
-            addAppBrandingToCache(appId, currentTenantDomain, appId, currentTenantDomain, APPLICATION_TYPE,
-                    restrictToPublished);
-            throw handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED,
-                    APPLICATION_TYPE, appId, currentTenantDomain);
+            // No branding found. Adding a tombstone to cache to avoid the resolving in the next run.
+            addBrandingNotConfiguredToCache(APPLICATION_TYPE, appId, currentTenantDomain, locales,
+                    restrictToPublished, generationStamp, getTraversedTenantDomains(candidates, null));
+            return brandingNotConfigured(APPLICATION_TYPE, appId, currentTenantDomain);
         } catch (OrganizationManagementException e) {
             throw handleServerException(ERROR_CODE_ERROR_GETTING_APP_BRANDING_PREFERENCE,
                     appId, currentTenantDomain);
         }
     }
 
-    private Optional<BrandingPreference> getOrganizationBrandingFromCache(String name, String locale, String cacheKeyId,
-                                                                          String currentTenantDomain)
+    /**
+     * Resolve the organization branding using the branding resolved tenant cache.
+     *
+     * @param name                Name of the tenant.
+     * @param locales             Language preferences of the branding, in the order of preference.
+     * @param cacheKeyId          Identifier of the cache key.
+     * @param currentTenantDomain Tenant domain of the organization.
+     * @return Resolution result if the branding can be decided using the cache, null otherwise.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the branding preference.
+     */
+    private PreferenceResolutionResult<BrandingPreference> getOrganizationBrandingFromCache(
+            String name, List<String> locales, String cacheKeyId, String currentTenantDomain)
             throws BrandingPreferenceMgtException {
 
-        BrandedOrgCacheEntry valueFromCache;
-        valueFromCache =
-                brandedOrgCache.getValueFromCache(new BrandedOrgCacheKey(cacheKeyId),
-                        currentTenantDomain);
-        if (valueFromCache != null) {
-            String brandingResolvedTenantDomain = valueFromCache.getBrandingResolvedTenant();
-            BrandingPreference resolvedBrandingPreference = getPreference(ORGANIZATION_TYPE, name, locale,
-                    brandingResolvedTenantDomain);
+        if (isBrandingNotConfiguredInCache(ORGANIZATION_TYPE, cacheKeyId, locales, currentTenantDomain)) {
+            // Branding is known to be not configured in the locales. Hence, no need to query the store again.
+            return brandingNotConfigured(ORGANIZATION_TYPE, name, currentTenantDomain);
+        }
+
+        BrandedOrgCacheKey cacheKey = new BrandedOrgCacheKey(cacheKeyId);
+        BrandedOrgCacheEntry valueFromCache = brandedOrgCache.getValueFromCache(cacheKey, currentTenantDomain);
+        if (valueFromCache == null) {
+            return null;
+        }
+        if (!isGenerationCurrent(valueFromCache.getGenerationStamp())) {
+            brandedOrgCache.clearCacheEntry(cacheKey, currentTenantDomain);
+            return null;
+        }
+
+        String brandingResolvedTenantDomain = valueFromCache.getBrandingResolvedTenant();
+        Optional<BrandingPreference> resolvedBrandingPreference = getAvailableBrandingPreference(ORGANIZATION_TYPE,
+                name, locales, brandingResolvedTenantDomain, false);
+        if (!resolvedBrandingPreference.isPresent()) {
+            // The branding has been removed from the resolved tenant. Hence, the branding needs to be resolved again.
+            return null;
+        }
+        if (!currentTenantDomain.equals(brandingResolvedTenantDomain)) {
+            // Since Branding is inherited from an ancestor org, removing the ancestor org displayName.
+            removeOrgDisplayNameFromBrandingPreference(resolvedBrandingPreference.get());
+        }
+        return PreferenceResolutionResult.resolved(resolvedBrandingPreference.get());
+    }
+
+    /**
+     * Resolve the application branding using the branding resolved app cache.
+     *
+     * @param appId               Application id.
+     * @param cacheKeyId          Identifier of the cache key.
+     * @param locales             Language preferences of the branding, in the order of preference.
+     * @param currentTenantDomain Tenant domain of the application.
+     * @return Resolution result if the branding can be decided using the cache, null otherwise.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the branding preference.
+     */
+    private PreferenceResolutionResult<BrandingPreference> getApplicationBrandingFromCache(
+            String appId, String cacheKeyId, List<String> locales, String currentTenantDomain)
+            throws BrandingPreferenceMgtException {
+
+        if (isBrandingNotConfiguredInCache(APPLICATION_TYPE, cacheKeyId, locales, currentTenantDomain)) {
+            // Branding is known to be not configured in the locales. Hence, no need to query the store again.
+            return brandingNotConfigured(APPLICATION_TYPE, appId, currentTenantDomain);
+        }
 
-            if (!currentTenantDomain.equals(brandingResolvedTenantDomain)) {
-                // Since Branding is inherited from an ancestor org, removing the ancestor org displayName.
-                removeOrgDisplayNameFromBrandingPreference(resolvedBrandingPreference);
+        BrandedAppCacheKey cacheKey = new BrandedAppCacheKey(cacheKeyId);
+        BrandedAppCacheEntry valueFromCache = brandedAppCache.getValueFromCache(cacheKey, currentTenantDomain);
+        if (valueFromCache == null) {
+            return null;
+        }
+        if (!isGenerationCurrent(valueFromCache.getGenerationStamp())) {
+            brandedAppCache.clearCacheEntry(cacheKey, currentTenantDomain);
+            return null;
+        }
+
+        String brandingResolvedAppId = valueFromCache.getBrandingResolvedAppId();
+        String brandingResolvedTenantDomain = valueFromCache.getBrandingResolvedTenant();
+        String resolvedBrandingType = valueFromCache.getResolvedBrandingType();
+
+        Optional<BrandingPreference> resolvedBrandingPreference;
+        if (APPLICATION_TYPE.equals(resolvedBrandingType)) {
+            resolvedBrandingPreference = getAvailableBrandingPreference(APPLICATION_TYPE, brandingResolvedAppId,
+                    locales, brandingResolvedTenantDomain, false);
+        } else {
+            resolvedBrandingPreference = getAvailableBrandingPreference(ORGANIZATION_TYPE,
+                    brandingResolvedTenantDomain, locales, brandingResolvedTenantDomain, false);
+        }
+        if (!resolvedBrandingPreference.isPresent()) {
+            // The branding has been removed from the resolved source. Hence, the branding needs to be resolved again.
+            return null;
+        }
+        if (!currentTenantDomain.equals(brandingResolvedTenantDomain)) {
+            // Since Branding is inherited from an ancestor org, removing the ancestor org displayName.
+            removeOrgDisplayNameFromBrandingPreference(resolvedBrandingPreference.get());
+        }
+        return PreferenceResolutionResult.resolved(resolvedBrandingPreference.get());
+    }
+
+    /**
+     * Get the ancestor organizations which are deep enough in the hierarchy to inherit branding from, ordered from
+     * the nearest ancestor.
+     *
+     * @param ancestorOrganizationIds Ids of the organization and its ancestors, starting from the organization.
+     * @return Ids of the candidate ancestor organizations.
+     * @throws OrganizationManagementException if any error occurred while retrieving the depths of the ancestors.
+     */
+    private List<String> getBrandingCandidateAncestorOrgIds(List<String> ancestorOrganizationIds)
+            throws OrganizationManagementException {
+
+        // Get the minimum hierarchy depth that needs to be reached to resolve branding preference
+        int minHierarchyDepth = Utils.getSubOrgStartLevel() - 1;
+        List<String> candidateAncestorOrgIds = new ArrayList<>();
+        for (String ancestorOrgId : ancestorOrganizationIds.subList(1, ancestorOrganizationIds.size())) {
+            if (organizationHierarchyIndex.getDepthInHierarchy(ancestorOrgId) < minHierarchyDepth) {
+                break;
             }
-            return Optional.of(resolvedBrandingPreference);
+            candidateAncestorOrgIds.add(ancestorOrgId);
         }
-        return Optional.empty();
+        return candidateAncestorOrgIds;
     }
 
-    private Optional<BrandingPreference> getApplicationBrandingFromCache(String cacheKeyId, String locale,
-                                                                         String currentTenantDomain)
+    /**
+     * Find the nearest ancestor branding candidate which has an available branding preference, using the configured
+     * ancestor lookup mode. The candidates of the nearest ancestor win, and the best locale wins within an ancestor.
+     *
+     * @param candidates          Ancestor branding candidates, ordered from the nearest candidate.
+     * @param locales             Language preferences, in the order of preference.
+     * @param restrictToPublished Whether to only resolve published branding preferences.
+     * @return Nearest candidate with its branding preference, if any.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the branding preferences.
+     */
+    private Optional<AncestorBrandingCandidate> findNearestAncestorBranding(List<AncestorBrandingCandidate> candidates,
+                                                                            List<String> locales,
+                                                                            boolean restrictToPublished)
             throws BrandingPreferenceMgtException {
 
-        BrandedAppCacheEntry valueFromCache =
-                brandedAppCache.getValueFromCache(new BrandedAppCacheKey(cacheKeyId), currentTenantDomain);
-        if (valueFromCache != null) {
-            String brandingResolvedAppId = valueFromCache.getBrandingResolvedAppId();
-            String brandingResolvedTenantDomain = valueFromCache.getBrandingResolvedTenant();
-            String resolvedBrandingType = valueFromCache.getResolvedBrandingType();
-
-            BrandingPreference resolvedBrandingPreference;
-            if (APPLICATION_TYPE.equals(resolvedBrandingType)) {
-                resolvedBrandingPreference =
-                        getPreference(APPLICATION_TYPE, brandingResolvedAppId, locale, brandingResolvedTenantDomain);
-            } else {
-                resolvedBrandingPreference =
-                        getPreference(ORGANIZATION_TYPE, brandingResolvedTenantDomain, locale,
-                                brandingResolvedTenantDomain);
+        AncestorLookupMode ancestorLookupMode =
+                BrandingResolverComponentDataHolder.getInstance().getAncestorLookupMode();
+        List<List<AncestorBrandingCandidate>> candidatesOfAncestors = groupCandidatesByAncestor(candidates);
+        if (AncestorLookupMode.PARALLEL == ancestorLookupMode && candidatesOfAncestors.size() > 1) {
+            return probeAncestorBrandingInParallel(candidatesOfAncestors, locales, restrictToPublished);
+        }
+
+        BrandingResourceSearch brandingResourceSearch = null;
+        if (AncestorLookupMode.BATCH == ancestorLookupMode) {
+            brandingResourceSearch = searchAncestorBrandingResources(candidates, locales);
+        }
+        for (List<AncestorBrandingCandidate> candidatesOfAncestor : candidatesOfAncestors) {
+            Optional<AncestorBrandingCandidate> candidate = findAncestorBranding(candidatesOfAncestor, locales,
+                    restrictToPublished, brandingResourceSearch);
+            if (candidate.isPresent()) {
+                return candidate;
             }
-            if (!currentTenantDomain.equals(brandingResolvedTenantDomain)) {
-                // Since Branding is inherited from an ancestor org, removing the ancestor org displayName.
-                removeOrgDisplayNameFromBrandingPreference(resolvedBrandingPreference);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find the branding candidate of a single ancestor which has an available branding preference in the best
+     * locale. Application branding of the ancestor takes precedence over its organization branding in a locale.
+     *
+     * @param candidatesOfAncestor   Branding candidates of the ancestor.
+     * @param locales                Language preferences, in the order of preference.
+     * @param restrictToPublished    Whether to only resolve published branding preferences.
+     * @param brandingResourceSearch Search result of the ancestor branding resources, or null if not searched.
+     * @return Candidate with its branding preference, if any.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the branding preferences.
+     */
+    private Optional<AncestorBrandingCandidate> findAncestorBranding(
+            List<AncestorBrandingCandidate> candidatesOfAncestor, List<String> locales, boolean restrictToPublished,
+            BrandingResourceSearch brandingResourceSearch) throws BrandingPreferenceMgtException {
+
+        for (String locale : locales) {
+            for (AncestorBrandingCandidate candidate : candidatesOfAncestor) {
+                String fileId = null;
+                if (brandingResourceSearch != null && brandingResourceSearch.isExecuted()) {
+                    String resourceType = getResourceType(candidate.getType());
+                    String resourceName = getResourceName(candidate.getType(), candidate.getName(), locale,
+                            candidate.getTenantDomain());
+                    if (!brandingResourceSearch.mayExist(resourceType, resourceName)) {
+                        continue;
+                    }
+                    fileId = brandingResourceSearch.getFileId(resourceType, resourceName);
+                }
+                Optional<BrandingPreference> brandingPreference = getBrandingPreference(candidate.getType(),
+                        candidate.getName(), locale, candidate.getTenantDomain(), fileId);
+                if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
+                    candidate.setBrandingPreference(brandingPreference.get());
+                    return Optional.of(candidate);
+                }
             }
-            return Optional.of(resolvedBrandingPreference);
         }
         return Optional.empty();
     }
 
-    private Optional<BrandingPreference> getAppBrandingPreferenceFromAncestor(
-            String appId, String locale, String currentTenantDomain, String ancestorAppId,
-            String ancestorTenantDomain, Boolean restrictToPublished) throws BrandingPreferenceMgtException {
+    /**
+     * Group the ancestor branding candidates by the ancestor they belong to.
+     *
+     * @param candidates Ancestor branding candidates, ordered from the nearest candidate.
+     * @return Candidates of each ancestor, ordered from the nearest ancestor.
+     */
+    private static List<List<AncestorBrandingCandidate>> groupCandidatesByAncestor(
+            List<AncestorBrandingCandidate> candidates) {
+
+        List<List<AncestorBrandingCandidate>> candidatesOfAncestors = new ArrayList<>();
+        List<AncestorBrandingCandidate> candidatesOfAncestor = null;
+        for (AncestorBrandingCandidate candidate : candidates) {
+            if (candidatesOfAncestor == null ||
+                    !StringUtils.equals(candidatesOfAncestor.get(0).getTenantDomain(), candidate.getTenantDomain())) {
+                candidatesOfAncestor = new ArrayList<>();
+                candidatesOfAncestors.add(candidatesOfAncestor);
+            }
+            candidatesOfAncestor.add(candidate);
+        }
+        return candidatesOfAncestors;
+    }
 
-        Optional<BrandingPreference> brandingPreference;
-        // If the app is selectively not shared with the ancestor org, ancestor app id can be empty.
-        if (StringUtils.isNotBlank(ancestorAppId)) {
-            // Check ancestor organization app-level branding.
-            brandingPreference = getBrandingPreference(APPLICATION_TYPE, ancestorAppId, locale,
-                    ancestorTenantDomain);
-            if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
-                /* Since Branding is inherited from app-level branding of the ancestor org,
-                  removing the ancestor org displayName. */
-                removeOrgDisplayNameFromBrandingPreference(brandingPreference.get());
-                addAppBrandingToCache(appId, currentTenantDomain, ancestorAppId, ancestorTenantDomain,
-                        APPLICATION_TYPE, restrictToPublished);
-                return brandingPreference;
+    /**
+     * Search the branding resources of the ancestor branding candidates in all the locales in a single store query.
+     *
+     * @param candidates Ancestor branding candidates.
+     * @param locales    Language preferences.
+     * @return Search result of the ancestor branding resources.
+     */
+    private BrandingResourceSearch searchAncestorBrandingResources(List<AncestorBrandingCandidate> candidates,
+                                                                   List<String> locales) {
+
+        BrandingResourceSearch brandingResourceSearch = new BrandingResourceSearch();
+        for (AncestorBrandingCandidate candidate : candidates) {
+            for (String locale : locales) {
+                brandingResourceSearch.addCandidate(getResourceType(candidate.getType()), getResourceName(
+                        candidate.getType(), candidate.getName(), locale, candidate.getTenantDomain()));
             }
         }
-        // Since no ancestor organization app-level branding found, check ancestor organization org-level branding.
-        brandingPreference =
-                getBrandingPreference(ORGANIZATION_TYPE, ancestorTenantDomain, locale,
-                        ancestorTenantDomain);
-        if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
-            /* Since Branding is inherited from org-level branding of the parent org,
-              removing the ancestor org displayName. */
-            removeOrgDisplayNameFromBrandingPreference(brandingPreference.get());
-            addAppBrandingToCache(appId, currentTenantDomain, null, ancestorTenantDomain,
-                    ORGANIZATION_TYPE, restrictToPublished);
-            return brandingPreference;
+        brandingResourceSearch.execute(getConfigurationManager());
+        return brandingResourceSearch;
+    }
+
+    /**
+     * Probe the ancestors concurrently, while keeping the nearest ancestor wins ordering. The probes of the nearest
+     * ancestors are kept in flight, up to the configured maximum number of concurrent probes per request. Once a
+     * candidate is found, no further probes are submitted. The probes which are still queued are discarded, and the
+     * running probes are interrupted.
+     *
+     * @param candidatesOfAncestors Branding candidates of each ancestor, ordered from the nearest ancestor.
+     * @param locales               Language preferences, in the order of preference.
+     * @param restrictToPublished   Whether to only resolve published branding preferences.
+     * @return Nearest candidate with its branding preference, if any.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the branding preferences.
+     */
+    private Optional<AncestorBrandingCandidate> probeAncestorBrandingInParallel(
+            List<List<AncestorBrandingCandidate>> candidatesOfAncestors, List<String> locales,
+            boolean restrictToPublished) throws BrandingPreferenceMgtException {
+
+        int maxConcurrentProbes =
+                Math.max(1, BrandingResolverComponentDataHolder.getInstance().getMaxConcurrentAncestorProbes());
+        List<Future<Optional<AncestorBrandingCandidate>>> probes = new ArrayList<>(candidatesOfAncestors.size());
+        CallerCarbonContext callerCarbonContext = CallerCarbonContext.capture();
+        try {
+            for (int i = 0; i < candidatesOfAncestors.size(); i++) {
+                while (probes.size() < candidatesOfAncestors.size() && probes.size() < i + maxConcurrentProbes) {
+                    List<AncestorBrandingCandidate> candidatesOfAncestor = candidatesOfAncestors.get(probes.size());
+                    /* The probe runs with the carbon context of the caller, and starts its own tenant flows for
+                      the ancestor tenant on top of it in the worker thread. */
+                    probes.add(ancestorProbeExecutorService.submit(callerCarbonContext.wrap(() ->
+                            findAncestorBranding(candidatesOfAncestor, locales, restrictToPublished, null))));
+                }
+                Optional<AncestorBrandingCandidate> candidate =
+                        awaitAncestorBrandingProbe(probes.get(i), candidatesOfAncestors.get(i).get(0));
+                if (candidate.isPresent()) {
+                    return candidate;
+                }
+            }
+            return Optional.empty();
+        } finally {
+            for (Future<Optional<AncestorBrandingCandidate>> probe : probes) {
+                probe.cancel(true);
+            }
+        }
+    }
+
+    private Optional<AncestorBrandingCandidate> awaitAncestorBrandingProbe(
+            Future<Optional<AncestorBrandingCandidate>> probe, AncestorBrandingCandidate candidate)
+            throws BrandingPreferenceMgtException {
+
+        try {
+            return probe.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BrandingPreferenceMgtException) {
+                throw (BrandingPreferenceMgtException) e.getCause();
+            }
+            throw handleServerException(ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE, candidate.getTenantDomain(),
+                    e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw handleServerException(ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE, candidate.getTenantDomain(),
+                    e);
         }
-        return Optional.empty();
     }
 
     @Override
@@ -459,24 +887,108 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
         if (APPLICATION_TYPE.equals(type)) {
             clearAppBrandingResolverCache(currentTenantDomain, name);
         }
+        // Resolved content of both organization and application branding may depend on the changed branding.
+        clearResolvedContentCaches(currentTenantDomain);
+        // Tombstones are kept per locale. Hence, the tombstones of all the locales of the tenant are cleared.
+        brandingNotConfiguredCache.clear(currentTenantDomain);
 
         if (organizationId != null) {
             if (ORGANIZATION_TYPE.equals(type)) {
                 clearOrgBrandingResolverCache(currentTenantDomain, organizationId);
                 brandedAppCache.clear(currentTenantDomain);
             }
+            if (isGenerationInvalidationEnabled()) {
+                // Cache entries of the child organizations are detected as stale once the generation moves.
+                brandingGenerationTracker.advanceGeneration(organizationId, type);
+                return;
+            }
+            if (isDependencyIndexEnabled()) {
+                if (clearBrandingDependents(currentTenantDomain, type, false)) {
+                    return;
+                }
+                // Dependents resolved before the tenant was tracked are cleared by the hierarchy sweep.
+                brandingDependencyIndex.startTracking(currentTenantDomain, type);
+            }
             String usernameInContext = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
             String currentOrgId = organizationId;
-            // Clear branding resolver caches by looping through child organization hierarchy.
-            CompletableFuture.runAsync(() -> {
-                try {
-                    clearBrandingResolverCacheHierarchy(type, name, organizationManager, currentOrgId,
-                            currentTenantDomain, usernameInContext);
-                } catch (BrandingPreferenceMgtServerException e) {
-                    LOG.error("An error occurred while clearing branding preference cache hierarchy", e);
+            // Clear branding resolver caches by traversing the child organization hierarchy.
+            invalidationScheduler.schedule(new Invalidation(Category.BRANDING, type, name, currentOrgId,
+                    () -> organizationSubtreeTraverser.traverse(
+                            String.join(REQUEST_KEY_SEPARATOR, BRANDING_TRAVERSAL, currentTenantDomain, type, name),
+                            currentTenantDomain, usernameInContext, childOrganizations ->
+                                    clearChildBrandingResolverCaches(type, name, organizationManager, currentOrgId,
+                                            childOrganizations, false))
+                            .whenComplete((report, e) -> {
+                                if (e != null) {
+                                    brandingDependencyIndex.stopTracking(currentTenantDomain);
+                                    LOG.error("An error occurred while clearing branding preference cache hierarchy",
+                                            e);
+                                }
+                            })));
+        }
+    }
+
+    @Override
+    public void clearResolvedBrandingCacheHierarchy(String type, String name, String currentTenantDomain)
+            throws BrandingPreferenceMgtException {
+
+        if (!isResolvedContentCacheEnabled()) {
+            return;
+        }
+
+        OrganizationManager organizationManager =
+                BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
+        String organizationId = getOrganizationId();
+        if (organizationId == null) {
+            // If organization id is not available in the context, try to resolve it from tenant domain.
+            try {
+                organizationId = organizationManager.resolveOrganizationId(currentTenantDomain);
+            } catch (OrganizationManagementException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error occurred while resolving organization Id for tenant domain: "
+                            + currentTenantDomain, e);
                 }
-            }, executorService);
+                return;
+            }
+        }
+
+        clearResolvedContentCaches(currentTenantDomain);
+        if (organizationId != null) {
+            if (isGenerationInvalidationEnabled()) {
+                // Resolved content of the child organizations is detected as stale once the generation moves.
+                brandingGenerationTracker.advanceGeneration(organizationId, type);
+                return;
+            }
+            if (isDependencyIndexEnabled() && clearBrandingDependents(currentTenantDomain, type, true)) {
+                return;
+            }
+            String usernameInContext = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
+            String currentOrgId = organizationId;
+            // Clear resolved branding content caches by traversing the child organization hierarchy.
+            invalidationScheduler.schedule(new Invalidation(Category.RESOLVED_BRANDING, type, name, currentOrgId,
+                    () -> organizationSubtreeTraverser.traverse(String.join(REQUEST_KEY_SEPARATOR,
+                                    RESOLVED_BRANDING_TRAVERSAL, currentTenantDomain, type, name),
+                            currentTenantDomain, usernameInContext, childOrganizations ->
+                                    clearChildBrandingResolverCaches(type, name, organizationManager, currentOrgId,
+                                            childOrganizations, true))
+                            .whenComplete((report, e) -> {
+                                if (e != null) {
+                                    LOG.error("An error occurred while clearing resolved branding preference cache "
+                                            + "hierarchy", e);
+                                }
+                            })));
+        }
+    }
+
+    @Override
+    public void clearResolvedBrandingCache(String type, String name, String currentTenantDomain)
+            throws BrandingPreferenceMgtException {
+
+        if (!isResolvedContentCacheEnabled()) {
+            return;
         }
+        // Resolved content of both organization and application branding may depend on the changed branding.
+        clearResolvedContentCaches(currentTenantDomain);
     }
 
     /**
@@ -489,64 +1001,95 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
         clearBrandingResolverCacheHierarchy(ORGANIZATION_TYPE, currentTenantDomain, currentTenantDomain);
     }
 
-    private void clearBrandingResolverCacheHierarchy(String type, String name, OrganizationManager organizationManager,
-                                                     String currentOrgId, String currentTenantDomain,
-                                                     String usernameInContext)
-            throws BrandingPreferenceMgtServerException {
+    /**
+     * Clear the branding resolver caches of a batch of child organizations.
+     *
+     * @param type                Branding resource type of the changed branding.
+     * @param name                Name of the changed branding.
+     * @param organizationManager Organization manager.
+     * @param currentOrgId        Id of the organization of the changed branding.
+     * @param childOrganizations  Batch of child organizations.
+     * @param resolvedContentOnly Whether to clear only the resolved branding content of the child organizations.
+     * @throws OrganizationManagementException if any error occurred while resolving the child organizations.
+     */
+    private void clearChildBrandingResolverCaches(String type, String name, OrganizationManager organizationManager,
+                                                  String currentOrgId, List<BasicOrganization> childOrganizations,
+                                                  boolean resolvedContentOnly)
+            throws OrganizationManagementException {
 
-        String cursor = null;
-        int pageSize = 10000;
-        int iteratorLimit = 100;
-        try {
-            PrivilegedCarbonContext.startTenantFlow();
-            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(currentTenantDomain, true);
-            PrivilegedCarbonContext.getThreadLocalCarbonContext().setUsername(usernameInContext);
-            int counter = 0;
-            do {
-                try {
-                    List<BasicOrganization> organizations =
-                            organizationManager.getOrganizations(pageSize, cursor, null, "DESC", "", true);
-                    Map<String, String> childAppIds = new HashMap<>();
-                    if (APPLICATION_TYPE.equals(type)) {
-                        OrgApplicationManager orgApplicationManager =
-                                BrandingResolverComponentDataHolder.getInstance().getOrgApplicationManager();
-                        List<String> childOrgIds = organizations.stream()
-                                .map(BasicOrganization::getId)
-                                .collect(Collectors.toList());
-                        childAppIds = orgApplicationManager.getChildAppIds(name, currentOrgId, childOrgIds);
-                    }
-                    for (BasicOrganization childOrganization : organizations) {
-                        String childTenantDomain = organizationManager.resolveTenantDomain(childOrganization.getId());
-                        if (StringUtils.isNotBlank(childTenantDomain)) {
-                            if (APPLICATION_TYPE.equals(type)) {
-                                String childAppId = childAppIds.get(childOrganization.getId());
-                                if (StringUtils.isNotBlank(childAppId)) {
-                                    clearAppBrandingResolverCache(childTenantDomain, childAppId);
-                                }
-                            } else if (ORGANIZATION_TYPE.equals(type)) {
-                                clearOrgBrandingResolverCache(childTenantDomain, childOrganization.getId());
-                                brandedAppCache.clear(childTenantDomain);
-                            }
-                        }
-                    }
-                    cursor = organizations.isEmpty() ? null : Base64.getEncoder().encodeToString(
-                            organizations.get(organizations.size() - 1).getCreated().getBytes(StandardCharsets.UTF_8));
-                    if (counter > iteratorLimit || counter == 0) {
-                        LOG.info("Cursor: " + cursor + ", Organization Size : " + organizations.size()
-                                + " and Counter : " + counter);
-                    }
-                    if (counter > iteratorLimit + 5) {
-                        break;
+        Map<String, String> childAppIds = new HashMap<>();
+        if (APPLICATION_TYPE.equals(type) && !resolvedContentOnly) {
+            OrgApplicationManager orgApplicationManager =
+                    BrandingResolverComponentDataHolder.getInstance().getOrgApplicationManager();
+            List<String> childOrgIds = childOrganizations.stream()
+                    .map(BasicOrganization::getId)
+                    .collect(Collectors.toList());
+            childAppIds = orgApplicationManager.getChildAppIds(name, currentOrgId, childOrgIds);
+        }
+        for (BasicOrganization childOrganization : childOrganizations) {
+            String childTenantDomain = organizationManager.resolveTenantDomain(childOrganization.getId());
+            if (StringUtils.isNotBlank(childTenantDomain)) {
+                clearResolvedContentCaches(childTenantDomain);
+                if (resolvedContentOnly) {
+                    continue;
+                }
+                brandingNotConfiguredCache.clear(childTenantDomain);
+                if (APPLICATION_TYPE.equals(type)) {
+                    String childAppId = childAppIds.get(childOrganization.getId());
+                    if (StringUtils.isNotBlank(childAppId)) {
+                        clearAppBrandingResolverCache(childTenantDomain, childAppId);
                     }
-                } catch (OrganizationManagementException e) {
-                    throw handleServerException(ERROR_CODE_ERROR_CLEARING_BRANDING_PREFERENCE_RESOLVER_CACHE_HIERARCHY,
-                            currentTenantDomain);
+                } else if (ORGANIZATION_TYPE.equals(type)) {
+                    clearOrgBrandingResolverCache(childTenantDomain, childOrganization.getId());
+                    brandedAppCache.clear(childTenantDomain);
                 }
-                counter++;
-            } while (cursor != null);
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
+            }
+        }
+    }
+
+    /**
+     * Clear the resolver cache entries which were resolved through the changed branding of the tenant, using the
+     * reverse dependency index, instead of sweeping the child organization hierarchy.
+     *
+     * @param tenantDomain        Tenant domain of the changed branding.
+     * @param type                Branding resource type of the changed branding.
+     * @param resolvedContentOnly Whether to clear only the resolved branding content of the dependents.
+     * @return True if the dependents were cleared, false if the index does not track the dependents of the tenant and
+     * the hierarchy has to be swept.
+     */
+    private boolean clearBrandingDependents(String tenantDomain, String type, boolean resolvedContentOnly) {
+
+        // Resolved tenants of the dependents remain the same when only the resolved content is outdated.
+        Set<Dependent> dependents = resolvedContentOnly ? brandingDependencyIndex.getDependents(tenantDomain, type) :
+                brandingDependencyIndex.removeDependents(tenantDomain, type);
+        if (dependents == null) {
+            return false;
         }
+        Set<String> dependentTenantDomains = new HashSet<>();
+        for (Dependent dependent : dependents) {
+            dependentTenantDomains.add(dependent.getTenantDomain());
+            if (resolvedContentOnly) {
+                continue;
+            }
+            if (APPLICATION_TYPE.equals(dependent.getType())) {
+                brandedAppCache.clearCacheEntry(new BrandedAppCacheKey(dependent.getCacheKeyId()),
+                        dependent.getTenantDomain());
+            } else {
+                brandedOrgCache.clearCacheEntry(new BrandedOrgCacheKey(dependent.getCacheKeyId()),
+                        dependent.getTenantDomain());
+            }
+        }
+        for (String dependentTenantDomain : dependentTenantDomains) {
+            clearResolvedContentCaches(dependentTenantDomain);
+            if (!resolvedContentOnly) {
+                brandingNotConfiguredCache.clear(dependentTenantDomain);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cleared " + dependents.size() + " branding resolver cache entries which depend on the "
+                    + type + " branding of the tenant: " + tenantDomain);
+        }
+        return true;
     }
 
     private void clearOrgBrandingResolverCache(String tenantDomain, String organizationId) {
@@ -587,248 +1130,1070 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
     public CustomText resolveCustomText(String type, String name, String screen, String locale)
             throws BrandingPreferenceMgtException {
 
-        String organizationId = getOrganizationId();
-        String currentTenantDomain = getTenantDomain();
+        return tryResolveCustomText(type, name, screen, locale).getOrThrow();
+    }
 
-        OrganizationManager organizationManager =
-                BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
+    @Override
+    public PreferenceResolutionResult<CustomText> tryResolveCustomText(String type, String name, String screen,
+                                                                       String locale)
+            throws BrandingPreferenceMgtException {
 
-        /* Tenant domain will always be carbon.super for SaaS apps (ex. myaccount). Hence need to resolve
-          tenant domain from the name parameter. */
-        if (ORGANIZATION_TYPE.equals(type) &&
-                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
-            currentTenantDomain = name;
-            try {
-                organizationId = organizationManager.resolveOrganizationId(currentTenantDomain);
-            } catch (OrganizationManagementException e) {
-                throw handleServerException(ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE, currentTenantDomain);
-            }
+        if (!isLocaleFallbackEnabled()) {
+            return tryResolveCustomTextOfLocale(type, name, screen, locale);
+        }
+
+        /* Custom text changes clear the fallback decisions of the organization hierarchy directly. Hence, they are
+          not stamped with the branding generations. */
+        String localeFallbackCacheTenantDomain = getResolvedContentCacheTenantDomain(type, name);
+        LocaleFallbackCacheKey localeFallbackCacheKey = new LocaleFallbackCacheKey(type, name, screen, locale, false);
+        String fallbackLocale = getFallbackLocaleFromCache(localeFallbackCacheKey, localeFallbackCacheTenantDomain);
+        if (fallbackLocale != null) {
+            PreferenceResolutionResult<CustomText> resolutionResult =
+                    tryResolveCustomTextOfLocale(type, name, screen, fallbackLocale);
+            if (resolutionResult.isResolved()) {
+                return resolutionResult;
+            }
+            // The custom text of the fallback locale has been removed. Hence, the fallback needs to be chosen again.
+            localeFallbackCache.clearCacheEntry(localeFallbackCacheKey, localeFallbackCacheTenantDomain);
+        }
+
+        PreferenceResolutionResult<CustomText> resolutionResult = null;
+        for (String candidateLocale : getFallbackLocales(locale)) {
+            resolutionResult = tryResolveCustomTextOfLocale(type, name, screen, candidateLocale);
+            if (resolutionResult.isResolved()) {
+                if (!StringUtils.equals(candidateLocale, locale)) {
+                    addFallbackLocaleToCache(localeFallbackCacheKey, candidateLocale,
+                            localeFallbackCacheTenantDomain, null);
+                }
+                break;
+            }
+        }
+        return resolutionResult;
+    }
+
+    /**
+     * Resolve the custom text preference of the exact given locale.
+     *
+     * @param type   Type of the custom text preference.
+     * @param name   Name of the tenant/application.
+     * @param screen Screen of the custom text preference.
+     * @param locale Language preference of the custom text preference.
+     * @return Resolution result holding the resolved custom text preference or the reason for not resolving one.
+     * @throws BrandingPreferenceMgtException if any error occurred while resolving the custom text preference.
+     */
+    private PreferenceResolutionResult<CustomText> tryResolveCustomTextOfLocale(String type, String name,
+                                                                                String screen, String locale)
+            throws BrandingPreferenceMgtException {
+
+        String organizationId = getOrganizationId();
+        String currentTenantDomain = getTenantDomain();
+
+        OrganizationManager organizationManager =
+                BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
+
+        /* Tenant domain will always be carbon.super for SaaS apps (ex. myaccount). Hence need to resolve
+          tenant domain from the name parameter. */
+        if (ORGANIZATION_TYPE.equals(type) &&
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
+            currentTenantDomain = name;
+            try {
+                organizationId = organizationManager.resolveOrganizationId(currentTenantDomain);
+            } catch (OrganizationManagementException e) {
+                throw handleServerException(ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE, currentTenantDomain);
+            }
+        }
+
+        if (organizationId != null && isCustomTextMergeEnabled()) {
+            return resolveMergedCustomText(type, name, screen, locale, organizationId, currentTenantDomain);
+        }
+        if (organizationId != null) {
+            String resourceName = getResourceNameForCustomText(screen, locale);
+            TextCustomizedOrgCacheEntry valueFromCache = textCustomizedOrgCache.getValueFromCache
+                    (new TextCustomizedOrgCacheKey(organizationId, resourceName), currentTenantDomain);
+            if (valueFromCache != null) {
+                Optional<CustomText> customText =
+                        getCustomText(type, name, screen, locale, valueFromCache.getCustomTextResolvedTenant());
+                return customText.map(PreferenceResolutionResult::resolved)
+                        .orElseGet(() -> customTextNotConfigured(getTenantDomain()));
+            }
+
+            // No cache found. Start with current organization.
+            Optional<CustomText> customText = getCustomText(type, name, screen, locale, currentTenantDomain);
+            if (customText.isPresent()) {
+                return PreferenceResolutionResult.resolved(customText.get());
+            }
+
+            try {
+                // There's no need to resolve custom text preferences for super tenant since it is the root org.
+                if (!MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
+                    /* The ancestor chain is fetched once, and walked from the parent organization, instead of
+                      looking up the ancestors, tenant domain and depth of every organization on the way. */
+                    List<String> ancestorOrganizationIds =
+                            organizationHierarchyIndex.getAncestorOrganizationIds(organizationId);
+                    if (CollectionUtils.isNotEmpty(ancestorOrganizationIds) && ancestorOrganizationIds.size() > 1) {
+                        for (String ancestorOrgId : getBrandingCandidateAncestorOrgIds(ancestorOrganizationIds)) {
+                            String ancestorTenantDomain = organizationHierarchyIndex.getTenantDomain(ancestorOrgId);
+                            customText = getCustomText(type, name, screen, locale, ancestorTenantDomain);
+                            if (customText.isPresent()) {
+                                addCustomTextResolvedOrgToCache
+                                        (organizationId, resourceName, currentTenantDomain, ancestorTenantDomain);
+                                return PreferenceResolutionResult.resolved(customText.get());
+                            }
+                        }
+                    }
+                }
+            } catch (OrganizationManagementException e) {
+                throw handleServerException(ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE, getTenantDomain());
+            }
+
+            // No custom text found. Adding the same tenant domain to cache to avoid the resolving in the next run.
+            addCustomTextResolvedOrgToCache(organizationId, resourceName, currentTenantDomain, currentTenantDomain);
+            return customTextNotConfigured(getTenantDomain());
+        } else {
+            // No need to resolve the custom text preference. Try to fetch the config from the same org.
+            Optional<CustomText> customText = getCustomText(type, name, screen, locale, currentTenantDomain);
+            return customText.map(PreferenceResolutionResult::resolved)
+                    .orElseGet(() -> customTextNotConfigured(getTenantDomain()));
+        }
+    }
+
+    /**
+     * Resolve the effective custom text preference of an organization, by overlaying the custom text preferences of
+     * the ancestor organizations and the organization key by key, starting from the farthest ancestor. Effective
+     * custom text preferences are cached for every organization on the way, so that organizations sharing an
+     * ancestor only merge their own overrides on top of the cached effective custom text of the ancestor.
+     *
+     * @param type                Type of the custom text preference.
+     * @param name                Name of the tenant/application.
+     * @param screen              Screen of the custom text preference.
+     * @param locale              Language preference of the custom text preference.
+     * @param organizationId      Id of the organization.
+     * @param currentTenantDomain Tenant domain of the organization.
+     * @return Resolution result holding the effective custom text preference or the reason for not resolving one.
+     * @throws BrandingPreferenceMgtException if any error occurred while resolving the custom text preference.
+     */
+    private PreferenceResolutionResult<CustomText> resolveMergedCustomText(String type, String name, String screen,
+                                                                           String locale, String organizationId,
+                                                                           String currentTenantDomain)
+            throws BrandingPreferenceMgtException {
+
+        String resourceName = getResourceNameForCustomText(screen, locale);
+        // Organizations of the walk, starting with the organization itself.
+        List<String> organizationIds = new ArrayList<>();
+        List<String> tenantDomains = new ArrayList<>();
+        organizationIds.add(organizationId);
+        tenantDomains.add(currentTenantDomain);
+        try {
+            // There's no need to resolve custom text preferences for super tenant since it is the root org.
+            if (!MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
+                List<String> ancestorOrganizationIds =
+                        organizationHierarchyIndex.getAncestorOrganizationIds(organizationId);
+                if (CollectionUtils.isNotEmpty(ancestorOrganizationIds) && ancestorOrganizationIds.size() > 1) {
+                    for (String ancestorOrgId : getBrandingCandidateAncestorOrgIds(ancestorOrganizationIds)) {
+                        organizationIds.add(ancestorOrgId);
+                        tenantDomains.add(organizationHierarchyIndex.getTenantDomain(ancestorOrgId));
+                    }
+                }
+            }
+        } catch (OrganizationManagementException e) {
+            throw handleServerException(ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE, getTenantDomain());
+        }
+
+        // Walk up the hierarchy until an organization with a precomputed effective custom text is found.
+        List<Optional<CustomText>> overrides = new ArrayList<>();
+        MergedCustomTextCacheEntry valueFromCache = null;
+        for (int i = 0; i < organizationIds.size(); i++) {
+            valueFromCache = mergedCustomTextCache.getValueFromCache(
+                    new TextCustomizedOrgCacheKey(organizationIds.get(i), resourceName), tenantDomains.get(i));
+            if (valueFromCache != null) {
+                break;
+            }
+            overrides.add(getCustomText(type, name, screen, locale, tenantDomains.get(i)));
+        }
+
+        RawPreference effectivePreference = valueFromCache == null ? null : valueFromCache.getMergedPreference();
+        String resolvedTenantDomain = valueFromCache == null ? null : valueFromCache.getCustomTextResolvedTenant();
+        // Overlay the overrides from the farthest one, and cache the effective custom text of each organization.
+        for (int i = overrides.size() - 1; i >= 0; i--) {
+            Optional<CustomText> override = overrides.get(i);
+            if (override.isPresent()) {
+                effectivePreference = effectivePreference == null ? override.get().getRawPreference() :
+                        mergeCustomText(effectivePreference, override.get(), tenantDomains.get(i));
+                resolvedTenantDomain = tenantDomains.get(i);
+            }
+            mergedCustomTextCache.addToCache(new TextCustomizedOrgCacheKey(organizationIds.get(i), resourceName),
+                    new MergedCustomTextCacheEntry(effectivePreference, resolvedTenantDomain), tenantDomains.get(i));
+        }
+        if (effectivePreference == null) {
+            return customTextNotConfigured(getTenantDomain());
+        }
+
+        CustomText customText = new CustomText();
+        customText.setRawPreference(effectivePreference);
+        customText.setType(type);
+        customText.setName(name);
+        customText.setLocale(locale);
+        customText.setScreen(screen);
+        customText.setResolvedFrom(type, ORGANIZATION_TYPE.equals(type) ? resolvedTenantDomain : name);
+        return PreferenceResolutionResult.resolved(customText);
+    }
+
+    /**
+     * Overlay a custom text preference on an effective custom text preference, as a JSON merge patch. Keys of the
+     * override replace the same keys of the effective custom text, and null values remove them.
+     *
+     * @param effectivePreference Effective custom text preference of the parent organization.
+     * @param override            Custom text preference of the organization.
+     * @param tenantDomain        Tenant domain of the organization.
+     * @return Effective custom text preference of the organization.
+     * @throws BrandingPreferenceMgtException if any error occurred while writing the merged custom text preference.
+     */
+    private static RawPreference mergeCustomText(RawPreference effectivePreference, CustomText override,
+                                                 String tenantDomain) throws BrandingPreferenceMgtException {
+
+        PreferenceDocument effectiveDocument = effectivePreference.getDocument();
+        Object overridePreference = override.getPreferenceDocument() != null ? override.getPreferenceDocument() :
+                override.getPreference();
+        Object mergedPreference = PreferenceMergePatch.apply(effectiveDocument, overridePreference);
+        if (mergedPreference == effectiveDocument) {
+            return effectivePreference;
+        }
+        try {
+            return new RawPreference(PreferenceCodec.writeAsBytes(mergedPreference));
+        } catch (IOException e) {
+            throw handleServerException(ERROR_CODE_ERROR_BUILDING_CUSTOM_TEXT_PREFERENCE, tenantDomain);
+        }
+    }
+
+    @Override
+    public Map<String, CustomText> resolveCustomTexts(String type, String name, Set<String> screens, String locale)
+            throws BrandingPreferenceMgtException {
+
+        if (isCustomTextMergeEnabled() || isLocaleFallbackEnabled()) {
+            /* Merged custom texts are served from the precomputed effective custom texts, and the fallback locales
+              are chosen for each screen separately. */
+            return UIBrandingPreferenceResolver.super.resolveCustomTexts(type, name, screens, locale);
+        }
+
+        String organizationId = getOrganizationId();
+        String currentTenantDomain = getTenantDomain();
+
+        /* Tenant domain will always be carbon.super for SaaS apps (ex. myaccount). Hence need to resolve
+          tenant domain from the name parameter. */
+        if (ORGANIZATION_TYPE.equals(type) &&
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
+            currentTenantDomain = name;
+            try {
+                organizationId = BrandingResolverComponentDataHolder.getInstance().getOrganizationManager()
+                        .resolveOrganizationId(currentTenantDomain);
+            } catch (OrganizationManagementException e) {
+                throw handleServerException(ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE, currentTenantDomain);
+            }
+        }
+
+        Map<String, CustomText> customTexts = new LinkedHashMap<>();
+        if (organizationId == null) {
+            // No need to resolve the custom text preferences. Try to fetch the configs from the same org.
+            for (String screen : screens) {
+                getCustomText(type, name, screen, locale, currentTenantDomain)
+                        .ifPresent(customText -> customTexts.put(screen, customText));
+            }
+            return customTexts;
+        }
+
+        Set<String> unresolvedScreens = new LinkedHashSet<>();
+        for (String screen : screens) {
+            TextCustomizedOrgCacheEntry valueFromCache = textCustomizedOrgCache.getValueFromCache(
+                    new TextCustomizedOrgCacheKey(organizationId, getResourceNameForCustomText(screen, locale)),
+                    currentTenantDomain);
+            if (valueFromCache != null) {
+                getCustomText(type, name, screen, locale, valueFromCache.getCustomTextResolvedTenant())
+                        .ifPresent(customText -> customTexts.put(screen, customText));
+            } else {
+                unresolvedScreens.add(screen);
+            }
+        }
+        if (unresolvedScreens.isEmpty()) {
+            return customTexts;
+        }
+
+        // The organization and its ancestors are walked once for all the screens, starting with the organization.
+        List<String> candidateTenantDomains = new ArrayList<>();
+        candidateTenantDomains.add(currentTenantDomain);
+        try {
+            // There's no need to resolve custom text preferences for super tenant since it is the root org.
+            if (!MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
+                List<String> ancestorOrganizationIds =
+                        organizationHierarchyIndex.getAncestorOrganizationIds(organizationId);
+                if (CollectionUtils.isNotEmpty(ancestorOrganizationIds) && ancestorOrganizationIds.size() > 1) {
+                    for (String ancestorOrgId : getBrandingCandidateAncestorOrgIds(ancestorOrganizationIds)) {
+                        candidateTenantDomains.add(organizationHierarchyIndex.getTenantDomain(ancestorOrgId));
+                    }
+                }
+            }
+        } catch (OrganizationManagementException e) {
+            throw handleServerException(ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE, getTenantDomain());
+        }
+
+        // Existence of the custom text resources of all the screens in the walk is checked in a single store query.
+        BrandingResourceSearch customTextResourceSearch = new BrandingResourceSearch();
+        for (String tenantDomain : candidateTenantDomains) {
+            for (String screen : unresolvedScreens) {
+                customTextResourceSearch.addCandidate(tenantDomain, CUSTOM_TEXT_RESOURCE_TYPE,
+                        getResourceNameForCustomText(screen, locale));
+            }
+        }
+        customTextResourceSearch.execute(getConfigurationManager());
+
+        for (String tenantDomain : candidateTenantDomains) {
+            Iterator<String> unresolvedScreenIterator = unresolvedScreens.iterator();
+            while (unresolvedScreenIterator.hasNext()) {
+                String screen = unresolvedScreenIterator.next();
+                String resourceName = getResourceNameForCustomText(screen, locale);
+                if (!customTextResourceSearch.mayExist(tenantDomain, CUSTOM_TEXT_RESOURCE_TYPE, resourceName)) {
+                    continue;
+                }
+                Optional<CustomText> customText = getCustomText(type, name, screen, locale, tenantDomain,
+                        customTextResourceSearch.getFileId(tenantDomain, CUSTOM_TEXT_RESOURCE_TYPE, resourceName));
+                if (customText.isPresent()) {
+                    if (!currentTenantDomain.equals(tenantDomain)) {
+                        addCustomTextResolvedOrgToCache(organizationId, resourceName, currentTenantDomain,
+                                tenantDomain);
+                    }
+                    customTexts.put(screen, customText.get());
+                    unresolvedScreenIterator.remove();
+                }
+            }
+            if (unresolvedScreens.isEmpty()) {
+                break;
+            }
+        }
+
+        // No custom text found. Adding the same tenant domain to cache to avoid the resolving in the next run.
+        for (String screen : unresolvedScreens) {
+            addCustomTextResolvedOrgToCache(organizationId, getResourceNameForCustomText(screen, locale),
+                    currentTenantDomain, currentTenantDomain);
+        }
+        return customTexts;
+    }
+
+    @Override
+    public PageBundle resolvePageBundle(String type, String name, Set<String> screens, String locale,
+                                        boolean restrictToPublished) throws BrandingPreferenceMgtException {
+
+        if (!isResolvedContentCacheEnabled()) {
+            return UIBrandingPreferenceResolver.super.resolvePageBundle(type, name, screens, locale,
+                    restrictToPublished);
+        }
+
+        // Page bundles are cleared together with the resolved branding content of the tenant.
+        String pageBundleCacheTenantDomain = getResolvedContentCacheTenantDomain(type, name);
+        PageBundleCacheKey pageBundleCacheKey =
+                new PageBundleCacheKey(type, name, screens, locale, restrictToPublished);
+        Optional<PageBundle> pageBundleFromCache = getPageBundleFromCache(pageBundleCacheKey,
+                pageBundleCacheTenantDomain);
+        if (pageBundleFromCache.isPresent()) {
+            return pageBundleFromCache.get();
+        }
+
+        BrandingGenerationStamp generationStamp = getBrandingGenerationStamp(type, name, getTenantDomain());
+        PageBundle pageBundle = UIBrandingPreferenceResolver.super.resolvePageBundle(type, name, screens, locale,
+                restrictToPublished);
+        addPageBundleToCache(pageBundleCacheKey, pageBundle, pageBundleCacheTenantDomain, generationStamp);
+        return pageBundle;
+    }
+
+    /**
+     * Capture the branding generations of the resolution path of a branding preference before resolving it, for the
+     * resolver cache entries derived from the resolved branding. Custom text changes clear the resolver caches of the
+     * organization hierarchy directly, hence they are not tracked here.
+     *
+     * @param type                Branding resource type.
+     * @param name                Tenant domain or application id.
+     * @param currentTenantDomain Tenant domain of the current context.
+     * @return Branding generations of the resolution path, or null if the generation based invalidation is disabled.
+     * @throws BrandingPreferenceMgtException if any error occurred while resolving the organization.
+     */
+    private BrandingGenerationStamp getBrandingGenerationStamp(String type, String name, String currentTenantDomain)
+            throws BrandingPreferenceMgtException {
+
+        if (!isGenerationInvalidationEnabled()) {
+            return null;
+        }
+        OrganizationManager organizationManager =
+                BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
+        String brandedOrgId = getOrganizationId();
+        try {
+            if (ORGANIZATION_TYPE.equals(type) &&
+                    MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
+                // Branding requested by SaaS apps belongs to the organization of the tenant given in the name.
+                brandedOrgId = organizationManager.resolveOrganizationId(name);
+            } else if (brandedOrgId == null) {
+                brandedOrgId = organizationManager.resolveOrganizationId(currentTenantDomain);
+            }
+        } catch (OrganizationManagementException e) {
+            throw handleServerException(ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE, currentTenantDomain);
+        }
+        return getGenerationStamp(APPLICATION_TYPE.equals(type) ? APPLICATION_TYPE : ORGANIZATION_TYPE,
+                brandedOrgId);
+    }
+
+    @Override
+    public void clearCustomTextResolverCacheHierarchy(String currentTenantDomain, String screen, String locale)
+            throws BrandingPreferenceMgtException {
+
+        OrganizationManager organizationManager =
+                BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
+        String organizationId = getOrganizationId();
+        if (organizationId == null) {
+            // If organization id is not available in the context, try to resolve it from tenant domain.
+            try {
+                organizationId = organizationManager.resolveOrganizationId(currentTenantDomain);
+            } catch (OrganizationManagementException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Error occurred while resolving organization Id for tenant domain: "
+                            + currentTenantDomain, e);
+                }
+                return;
+            }
+        }
+        String resourceName = (StringUtils.isNotBlank(screen) && StringUtils.isNotBlank(locale)) ?
+                getResourceNameForCustomText(screen, locale) : StringUtils.EMPTY;
+        if (organizationId != null) {
+            if (StringUtils.isBlank(resourceName)) {
+                // If resourceName is empty, clear all the custom text cache entries for the current tenant domain.
+                clearCustomTextResolverCache(currentTenantDomain);
+            } else {
+                clearCustomTextResolverCache(currentTenantDomain, organizationId, resourceName);
+            }
+            String usernameInContext = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
+            String currentOrgId = organizationId;
+            // Clear custom text resolver caches by traversing the child organization hierarchy.
+            invalidationScheduler.schedule(new Invalidation(Category.CUSTOM_TEXT, null, resourceName, currentOrgId,
+                    () -> organizationSubtreeTraverser.traverse(String.join(REQUEST_KEY_SEPARATOR,
+                                    CUSTOM_TEXT_TRAVERSAL, currentTenantDomain, resourceName),
+                            currentTenantDomain, usernameInContext, childOrganizations ->
+                                    clearChildCustomTextResolverCaches(organizationManager, resourceName,
+                                            childOrganizations))
+                            .whenComplete((report, e) -> {
+                                if (e != null) {
+                                    LOG.error("An error occurred while clearing custom text preference cache "
+                                            + "hierarchy", e);
+                                }
+                            })));
+        }
+    }
+
+    /**
+     * Clear the custom text resolver caches of a batch of child organizations.
+     *
+     * @param organizationManager Organization manager.
+     * @param resourceName        Resource name of the changed custom text, or empty if all the resources changed.
+     * @param childOrganizations  Batch of child organizations.
+     * @throws OrganizationManagementException if any error occurred while resolving the child organizations.
+     */
+    private void clearChildCustomTextResolverCaches(OrganizationManager organizationManager, String resourceName,
+                                                    List<BasicOrganization> childOrganizations)
+            throws OrganizationManagementException {
+
+        for (BasicOrganization childOrganization : childOrganizations) {
+            String childTenantDomain = organizationManager.resolveTenantDomain(childOrganization.getId());
+            if (StringUtils.isNotBlank(childTenantDomain)) {
+                if (StringUtils.isBlank(resourceName)) {
+                    // If resourceName is empty, clear all the custom text cache entries for the child org.
+                    clearCustomTextResolverCache(childTenantDomain);
+                } else {
+                    clearCustomTextResolverCache(childTenantDomain, childOrganization.getId(), resourceName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Clear custom text resolver cache for all resources for the given tenant domain.
+     *
+     * @param tenantDomain Tenant domain where the cache needs to be cleared.
+     */
+    private void clearCustomTextResolverCache(String tenantDomain) {
+
+        textCustomizedOrgCache.clear(tenantDomain);
+        mergedCustomTextCache.clear(tenantDomain);
+        pageBundleCache.clear(tenantDomain);
+        localeFallbackCache.clear(tenantDomain);
+    }
+
+    /**
+     * Clear custom text resolver cache for the given resource in the tenant domain.
+     *
+     * @param tenantDomain   Tenant domain where the cache needs to be cleared.
+     * @param organizationId Organization id of the tenant domain.
+     * @param resourceName   Resource name of the custom text resource.
+     */
+    private void clearCustomTextResolverCache(String tenantDomain, String organizationId, String resourceName) {
+
+        TextCustomizedOrgCacheKey cacheKey = new TextCustomizedOrgCacheKey(organizationId, resourceName);
+        TextCustomizedOrgCacheEntry valueFromCache =
+                textCustomizedOrgCache.getValueFromCache(cacheKey, tenantDomain);
+        if (valueFromCache != null) {
+            // If cache exists, clear the cache.
+            textCustomizedOrgCache.clearCacheEntry(cacheKey, tenantDomain);
+        }
+        if (mergedCustomTextCache.getValueFromCache(cacheKey, tenantDomain) != null) {
+            mergedCustomTextCache.clearCacheEntry(cacheKey, tenantDomain);
+        }
+        // Page bundles and fallback locales of the tenant are not indexed by the resource. Hence, all are cleared.
+        pageBundleCache.clear(tenantDomain);
+        localeFallbackCache.clear(tenantDomain);
+    }
+
+    /**
+     * Clear the caches holding resolved branding content for the given tenant domain.
+     *
+     * @param tenantDomain Tenant domain where the caches need to be cleared.
+     */
+    private void clearResolvedContentCaches(String tenantDomain) {
+
+        resolvedBrandingCache.clear(tenantDomain);
+        pageBundleCache.clear(tenantDomain);
+        localeFallbackCache.clear(tenantDomain);
+    }
+
+    private void addOrgBrandingToCache(String brandedOrgId, String brandedTenantDomain,
+                                       String brandingInheritedTenantDomain, boolean restrictToPublished,
+                                       BrandingGenerationStamp generationStamp,
+                                       List<String> dependencyTenantDomains) {
+
+        String cacheKeyId = brandedOrgId;
+        if (restrictToPublished) {
+            cacheKeyId += PUBLISHED_BRANDING_CACHE_KEY_SUFFIX;
+        }
+        BrandedOrgCacheKey cacheKey = new BrandedOrgCacheKey(cacheKeyId);
+        BrandedOrgCacheEntry cacheEntry = new BrandedOrgCacheEntry(brandingInheritedTenantDomain);
+        cacheEntry.setGenerationStamp(generationStamp);
+        brandedOrgCache.addToCache(cacheKey, cacheEntry, brandedTenantDomain);
+        addBrandingDependents(new Dependent(ORGANIZATION_TYPE, brandedTenantDomain, cacheKeyId),
+                dependencyTenantDomains);
+    }
+
+    private void addAppBrandingToCache(String appId, String tenantDomain, String brandingInheritedAppId,
+                                       String brandingInheritedTenantDomain, String resolvedBrandingType,
+                                       boolean restrictToPublished, BrandingGenerationStamp generationStamp,
+                                       List<String> dependencyTenantDomains) {
+
+        String cacheKeyId = appId;
+        if (restrictToPublished) {
+            cacheKeyId += PUBLISHED_BRANDING_CACHE_KEY_SUFFIX;
+        }
+        BrandedAppCacheKey cacheKey = new BrandedAppCacheKey(cacheKeyId);
+        BrandedAppCacheEntry cacheEntry =
+                new BrandedAppCacheEntry(brandingInheritedTenantDomain, brandingInheritedAppId,
+                        resolvedBrandingType);
+        cacheEntry.setGenerationStamp(generationStamp);
+        brandedAppCache.addToCache(cacheKey, cacheEntry, tenantDomain);
+        addBrandingDependents(new Dependent(APPLICATION_TYPE, tenantDomain, cacheKeyId), dependencyTenantDomains);
+    }
+
+    /**
+     * Retrieve a resolved branding preference from the resolved branding content cache.
+     *
+     * @param cacheKey     Resolved branding cache key.
+     * @param tenantDomain Tenant domain of the cache entry.
+     * @return Resolved branding preference if available in the cache.
+     */
+    private Optional<BrandingPreference> getResolvedBrandingFromCache(ResolvedBrandingCacheKey cacheKey,
+                                                                      String tenantDomain) {
+
+        ResolvedBrandingCacheEntry valueFromCache = resolvedBrandingCache.getValueFromCache(cacheKey, tenantDomain);
+        if (valueFromCache == null) {
+            return Optional.empty();
+        }
+        if (!isGenerationCurrent(valueFromCache.getGenerationStamp())) {
+            resolvedBrandingCache.clearCacheEntry(cacheKey, tenantDomain);
+            return Optional.empty();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Resolved branding preference for: " + cacheKey.getBrandingName() + " is retrieved from "
+                    + "the resolved branding cache in tenant: " + tenantDomain);
+        }
+        return Optional.of(toBrandingPreference(valueFromCache));
+    }
+
+    /**
+     * Add a resolved branding preference to the resolved branding content cache.
+     *
+     * @param cacheKey           Resolved branding cache key.
+     * @param brandingPreference Resolved branding preference.
+     * @param tenantDomain       Tenant domain of the cache entry.
+     * @param generationStamp    Branding generations of the resolution path, captured before the resolution.
+     */
+    private void addResolvedBrandingToCache(ResolvedBrandingCacheKey cacheKey, BrandingPreference brandingPreference,
+                                            String tenantDomain, BrandingGenerationStamp generationStamp) {
+
+        ResolvedBrandingCacheEntry cacheEntry = toResolvedBrandingCacheEntry(brandingPreference);
+        cacheEntry.setGenerationStamp(generationStamp);
+        resolvedBrandingCache.addToCache(cacheKey, cacheEntry, tenantDomain);
+    }
+
+    /**
+     * Build a resolved branding preference from a resolved branding cache entry.
+     *
+     * @param cacheEntry Resolved branding cache entry.
+     * @return Resolved branding preference.
+     */
+    private static BrandingPreference toBrandingPreference(ResolvedBrandingCacheEntry cacheEntry) {
+
+        BrandingPreference brandingPreference = new BrandingPreference();
+        brandingPreference.setType(cacheEntry.getType());
+        brandingPreference.setName(cacheEntry.getName());
+        brandingPreference.setLocale(cacheEntry.getLocale());
+        // Cached content is immutable. Hence, it is shared with the callers without copying.
+        if (cacheEntry.getRawPreference() != null) {
+            brandingPreference.setRawPreference(cacheEntry.getRawPreference());
+        } else {
+            brandingPreference.setPreference(cacheEntry.getPreference());
+        }
+        brandingPreference.setResolvedFrom(cacheEntry.getResolvedFromType(), cacheEntry.getResolvedFromName());
+        brandingPreference.setBrandingEnabled(cacheEntry.getBrandingEnabled());
+        return brandingPreference;
+    }
+
+    /**
+     * Build a resolved branding cache entry from a resolved branding preference.
+     *
+     * @param brandingPreference Resolved branding preference.
+     * @return Resolved branding cache entry.
+     */
+    private static ResolvedBrandingCacheEntry toResolvedBrandingCacheEntry(BrandingPreference brandingPreference) {
+
+        String resolvedFromType = null;
+        String resolvedFromName = null;
+        if (brandingPreference.getResolvedFrom() != null) {
+            resolvedFromType = brandingPreference.getResolvedFrom().getType();
+            resolvedFromName = brandingPreference.getResolvedFrom().getName();
+        }
+        // Raw documents are cached as they are, so that the cache hits can be passed through without parsing.
+        RawPreference rawPreference = brandingPreference.getRawPreference();
+        ResolvedBrandingCacheEntry cacheEntry = new ResolvedBrandingCacheEntry(brandingPreference.getType(),
+                brandingPreference.getName(), brandingPreference.getLocale(),
+                rawPreference == null ? brandingPreference.getPreference() : null, resolvedFromType, resolvedFromName);
+        cacheEntry.setRawPreference(rawPreference);
+        cacheEntry.setBrandingEnabled(brandingPreference.getBrandingEnabled());
+        return cacheEntry;
+    }
+
+    /**
+     * Retrieve a page bundle from the page bundle cache.
+     *
+     * @param cacheKey     Page bundle cache key.
+     * @param tenantDomain Tenant domain of the cache entry.
+     * @return Page bundle if available in the cache.
+     */
+    private Optional<PageBundle> getPageBundleFromCache(PageBundleCacheKey cacheKey, String tenantDomain) {
+
+        PageBundleCacheEntry valueFromCache = pageBundleCache.getValueFromCache(cacheKey, tenantDomain);
+        if (valueFromCache == null) {
+            return Optional.empty();
+        }
+        if (!isGenerationCurrent(valueFromCache.getGenerationStamp())) {
+            pageBundleCache.clearCacheEntry(cacheKey, tenantDomain);
+            return Optional.empty();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Page bundle for: " + cacheKey.getName() + " is retrieved from the page bundle cache in "
+                    + "tenant: " + tenantDomain);
+        }
+        PageBundle pageBundle = new PageBundle(cacheKey.getType(), cacheKey.getName(), cacheKey.getLocale());
+        if (valueFromCache.getBranding() != null) {
+            pageBundle.setBrandingPreference(toBrandingPreference(valueFromCache.getBranding()));
+        }
+        pageBundle.setCustomTexts(copyCustomTexts(valueFromCache.getCustomTexts()));
+        return Optional.of(pageBundle);
+    }
+
+    /**
+     * Add a page bundle to the page bundle cache.
+     *
+     * @param cacheKey        Page bundle cache key.
+     * @param pageBundle      Resolved page bundle.
+     * @param tenantDomain    Tenant domain of the cache entry.
+     * @param generationStamp Branding generations of the resolution path, captured before the resolution.
+     */
+    private void addPageBundleToCache(PageBundleCacheKey cacheKey, PageBundle pageBundle, String tenantDomain,
+                                      BrandingGenerationStamp generationStamp) {
+
+        ResolvedBrandingCacheEntry branding = pageBundle.getBrandingPreference() == null ? null :
+                toResolvedBrandingCacheEntry(pageBundle.getBrandingPreference());
+        PageBundleCacheEntry cacheEntry =
+                new PageBundleCacheEntry(branding, copyCustomTexts(pageBundle.getCustomTexts()));
+        cacheEntry.setGenerationStamp(generationStamp);
+        pageBundleCache.addToCache(cacheKey, cacheEntry, tenantDomain);
+    }
+
+    /**
+     * Copy the custom text preferences of a page bundle, so that the cached ones are not shared with the callers.
+     *
+     * @param customTexts Custom text preferences by the screen.
+     * @return Copy of the custom text preferences.
+     */
+    private static LinkedHashMap<String, CustomText> copyCustomTexts(Map<String, CustomText> customTexts) {
+
+        LinkedHashMap<String, CustomText> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, CustomText> entry : customTexts.entrySet()) {
+            CustomText customText = entry.getValue();
+            CustomText customTextCopy = new CustomText();
+            customTextCopy.setType(customText.getType());
+            customTextCopy.setName(customText.getName());
+            customTextCopy.setScreen(customText.getScreen());
+            customTextCopy.setLocale(customText.getLocale());
+            // Resolved custom texts hold immutable raw documents. Hence, the content is shared with the copy.
+            if (customText.getRawPreference() != null) {
+                customTextCopy.setRawPreference(customText.getRawPreference());
+            } else {
+                customTextCopy.setPreference(customText.getPreference());
+            }
+            if (customText.getResolvedFrom() != null) {
+                customTextCopy.setResolvedFrom(customText.getResolvedFrom().getType(),
+                        customText.getResolvedFrom().getName());
+            }
+            copy.put(entry.getKey(), customTextCopy);
+        }
+        return copy;
+    }
+
+    /**
+     * Create a copy of a branding resolution result, to be handed over to a coalesced request.
+     *
+     * @param resolutionResult Branding resolution result.
+     * @return Copy of the resolution result.
+     */
+    private static PreferenceResolutionResult<BrandingPreference> copyResult(
+            PreferenceResolutionResult<BrandingPreference> resolutionResult) {
+
+        if (!resolutionResult.isResolved()) {
+            return resolutionResult;
+        }
+        BrandingPreference brandingPreference = resolutionResult.getPreference();
+        BrandingPreference copy = new BrandingPreference();
+        copy.setType(brandingPreference.getType());
+        copy.setName(brandingPreference.getName());
+        copy.setLocale(brandingPreference.getLocale());
+        // Preference tree is immutable. Hence, it is shared with the copy.
+        if (brandingPreference.getRawPreference() != null) {
+            copy.setRawPreference(brandingPreference.getRawPreference());
+        } else {
+            copy.setPreference(brandingPreference.getPreference());
+        }
+        copy.setBrandingEnabled(brandingPreference.getBrandingEnabled());
+        if (brandingPreference.getResolvedFrom() != null) {
+            copy.setResolvedFrom(brandingPreference.getResolvedFrom().getType(),
+                    brandingPreference.getResolvedFrom().getName());
+        }
+        return PreferenceResolutionResult.resolved(copy);
+    }
+
+    /**
+     * Get the coalescer of the concurrent branding resolution requests. Exposes the coalescing metrics.
+     *
+     * @return Branding resolution request coalescer.
+     */
+    public ResolutionRequestCoalescer<PreferenceResolutionResult<BrandingPreference>> getBrandingRequestCoalescer() {
+
+        return brandingRequestCoalescer;
+    }
+
+    /**
+     * Get the scheduler of the hierarchy invalidations of the resolver caches. Exposes the invalidation metrics.
+     *
+     * @return Hierarchy invalidation scheduler.
+     */
+    public InvalidationScheduler getInvalidationScheduler() {
+
+        return invalidationScheduler;
+    }
+
+    private boolean isResolvedContentCacheEnabled() {
+
+        return BrandingResolverComponentDataHolder.getInstance().isResolvedContentCacheEnabled();
+    }
+
+    private boolean isCustomTextMergeEnabled() {
+
+        return BrandingResolverComponentDataHolder.getInstance().isCustomTextMergeEnabled();
+    }
+
+    private boolean isLocaleFallbackEnabled() {
+
+        return BrandingResolverComponentDataHolder.getInstance().isLocaleFallbackEnabled();
+    }
+
+    /**
+     * Get the tenant domain which the resolved content of a branding or custom text request is cached under. Requests
+     * for organization content from the super tenant (SaaS apps) belong to the tenant given in the name parameter.
+     *
+     * @param type Type of the requested preference.
+     * @param name Tenant domain or application id.
+     * @return Tenant domain of the resolver cache entries of the request.
+     */
+    private String getResolvedContentCacheTenantDomain(String type, String name) {
+
+        String currentTenantDomain = getTenantDomain();
+        return (ORGANIZATION_TYPE.equals(type) &&
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) ? name : currentTenantDomain;
+    }
+
+    /**
+     * Get the locales to resolve a preference from, in the order of preference. The exact locale is followed by its
+     * language, and finally the default locale. Ex: fr-CA, fr, en-US. A missing locale has nothing to fall back
+     * from, hence it is resolved as it is.
+     *
+     * @param locale Requested locale.
+     * @return Fallback chain of the locale.
+     */
+    private static List<String> getFallbackLocales(String locale) {
+
+        if (StringUtils.isBlank(locale)) {
+            return Collections.singletonList(locale);
+        }
+        Set<String> fallbackLocales = new LinkedHashSet<>();
+        fallbackLocales.add(locale);
+        String formattedLocale = getFormattedLocale(locale);
+        if (StringUtils.contains(formattedLocale, LOCAL_CODE_SEPARATOR)) {
+            fallbackLocales.add(StringUtils.substringBefore(formattedLocale, LOCAL_CODE_SEPARATOR));
         }
+        fallbackLocales.add(DEFAULT_LOCALE);
+        return new ArrayList<>(fallbackLocales);
+    }
 
-        if (organizationId != null) {
-            String resourceName = getResourceNameForCustomText(screen, locale);
-            TextCustomizedOrgCacheEntry valueFromCache = textCustomizedOrgCache.getValueFromCache
-                    (new TextCustomizedOrgCacheKey(organizationId, resourceName), currentTenantDomain);
-            if (valueFromCache != null) {
-                Optional<CustomText> customText =
-                        getCustomText(type, name, screen, locale, valueFromCache.getCustomTextResolvedTenant());
-                return customText.orElseThrow(
-                        () -> handleClientException(ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS, getTenantDomain()));
-            }
-
-            // No cache found. Start with current organization.
-            Optional<CustomText> customText = getCustomText(type, name, screen, locale, currentTenantDomain);
-            if (customText.isPresent()) {
-                return customText.get();
-            }
+    /**
+     * Get the key of the locales which a branding preference is resolved from. The key of a single locale is the
+     * locale itself.
+     *
+     * @param locales Language preferences, in the order of preference.
+     * @return Key of the locales.
+     */
+    private static String getLocalesKey(List<String> locales) {
 
-            try {
-                Organization organization = organizationManager.getOrganization(organizationId, false, false);
-                // There's no need to resolve branding preferences for super tenant since it is the root organization.
-                if (!MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equals(currentTenantDomain)) {
-                    // Get the details of the parent organization and resolve the custom text preferences.
-                    String parentId = organization.getParent().getId();
-                    String parentTenantDomain = organizationManager.resolveTenantDomain(parentId);
-                    int parentDepthInHierarchy = organizationManager.getOrganizationDepthInHierarchy(parentId);
-
-                    // Get the minimum hierarchy depth that needs to be reached to resolve branding preference.
-                    int minHierarchyDepth = Utils.getSubOrgStartLevel() - 1;
-
-                    while (parentDepthInHierarchy >= minHierarchyDepth) {
-                        customText = getCustomText(type, name, screen, locale, parentTenantDomain);
-                        if (customText.isPresent()) {
-                            addCustomTextResolvedOrgToCache
-                                    (organizationId, resourceName, currentTenantDomain, parentTenantDomain);
-                            return customText.get();
-                        }
+        return String.join(LOCALES_KEY_SEPARATOR, locales);
+    }
 
-                        /*
-                            Get ancestor organization ids (including itself) of a given organization. The list is sorted
-                            from given organization id to the root organization id.
-                        */
-                        List<String> ancestorOrganizationIds = organizationManager.getAncestorOrganizationIds(parentId);
-                        if (!ancestorOrganizationIds.isEmpty() && ancestorOrganizationIds.size() > 1) {
-                            // Go to the parent organization again.
-                            parentId = ancestorOrganizationIds.get(1);
-                            parentTenantDomain = organizationManager.resolveTenantDomain(parentId);
-                            parentDepthInHierarchy = organizationManager.getOrganizationDepthInHierarchy(parentId);
-                        } else {
-                            // Reached to the root of the organization tree.
-                            parentDepthInHierarchy = -1;
-                        }
-                    }
-                }
-            } catch (OrganizationManagementException e) {
-                throw handleServerException(ERROR_CODE_ERROR_GETTING_CUSTOM_TEXT_PREFERENCE, getTenantDomain());
-            }
+    /**
+     * Retrieve the fallback locale chosen for a request from the locale fallback cache.
+     *
+     * @param cacheKey     Locale fallback cache key.
+     * @param tenantDomain Tenant domain of the cache entry.
+     * @return Fallback locale if available in the cache, null otherwise.
+     */
+    private String getFallbackLocaleFromCache(LocaleFallbackCacheKey cacheKey, String tenantDomain) {
 
-            // No custom text found. Adding the same tenant domain to cache to avoid the resolving in the next run.
-            addCustomTextResolvedOrgToCache(organizationId, resourceName, currentTenantDomain, currentTenantDomain);
-            throw handleClientException(ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS, getTenantDomain());
-        } else {
-            // No need to resolve the custom text preference. Try to fetch the config from the same org.
-            Optional<CustomText> customText = getCustomText(type, name, screen, locale, currentTenantDomain);
-            return customText.orElseThrow(
-                    () -> handleClientException(ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS, getTenantDomain()));
+        LocaleFallbackCacheEntry valueFromCache = localeFallbackCache.getValueFromCache(cacheKey, tenantDomain);
+        if (valueFromCache == null) {
+            return null;
         }
+        // Only the fallback decisions of branding preferences are stamped with the branding generations.
+        if (cacheKey.getScreen() == null && !isGenerationCurrent(valueFromCache.getGenerationStamp())) {
+            localeFallbackCache.clearCacheEntry(cacheKey, tenantDomain);
+            return null;
+        }
+        return valueFromCache.getFallbackLocale();
     }
 
-    @Override
-    public void clearCustomTextResolverCacheHierarchy(String currentTenantDomain, String screen, String locale)
-            throws BrandingPreferenceMgtException {
+    /**
+     * Add the fallback locale chosen for a request to the locale fallback cache.
+     *
+     * @param cacheKey        Locale fallback cache key.
+     * @param fallbackLocale  Locale which the preference is resolved from.
+     * @param tenantDomain    Tenant domain of the cache entry.
+     * @param generationStamp Branding generations of the resolution path, or null for custom text preferences.
+     */
+    private void addFallbackLocaleToCache(LocaleFallbackCacheKey cacheKey, String fallbackLocale,
+                                          String tenantDomain, BrandingGenerationStamp generationStamp) {
 
-        OrganizationManager organizationManager =
-                BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
-        String organizationId = getOrganizationId();
-        if (organizationId == null) {
-            // If organization id is not available in the context, try to resolve it from tenant domain.
-            try {
-                organizationId = organizationManager.resolveOrganizationId(currentTenantDomain);
-            } catch (OrganizationManagementException e) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Error occurred while resolving organization Id for tenant domain: "
-                            + currentTenantDomain, e);
-                }
-                return;
-            }
+        LocaleFallbackCacheEntry cacheEntry = new LocaleFallbackCacheEntry(fallbackLocale);
+        cacheEntry.setGenerationStamp(generationStamp);
+        localeFallbackCache.addToCache(cacheKey, cacheEntry, tenantDomain);
+    }
+
+    /**
+     * Check whether the branding of an organization or an application is known to be not configured in any of the
+     * locales.
+     *
+     * @param type         Branding resource type.
+     * @param cacheKeyId   Identifier of the branding resolver cache key.
+     * @param locales      Language preferences of the branding, in the order of preference.
+     * @param tenantDomain Tenant domain of the organization or the application.
+     * @return True if a valid tombstone is available in the cache.
+     */
+    private boolean isBrandingNotConfiguredInCache(String type, String cacheKeyId, List<String> locales,
+                                                   String tenantDomain) {
+
+        BrandingNotConfiguredCacheKey cacheKey =
+                new BrandingNotConfiguredCacheKey(type, cacheKeyId, getLocalesKey(locales));
+        BrandingNotConfiguredCacheEntry valueFromCache =
+                brandingNotConfiguredCache.getValueFromCache(cacheKey, tenantDomain);
+        if (valueFromCache == null) {
+            return false;
         }
-        String resourceName = (StringUtils.isNotBlank(screen) && StringUtils.isNotBlank(locale)) ?
-                getResourceNameForCustomText(screen, locale) : StringUtils.EMPTY;
-        if (organizationId != null) {
-            if (StringUtils.isBlank(resourceName)) {
-                // If resourceName is empty, clear all the custom text cache entries for the current tenant domain.
-                clearCustomTextResolverCache(currentTenantDomain);
-            } else {
-                clearCustomTextResolverCache(currentTenantDomain, organizationId, resourceName);
-            }
-            String usernameInContext = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
-            // Clear custom text resolver caches by looping through child organization hierarchy.
-            CompletableFuture.runAsync(() -> {
-                try {
-                    clearCustomTextResolverCacheHierarchy(organizationManager, currentTenantDomain, resourceName,
-                            usernameInContext);
-                } catch (BrandingPreferenceMgtServerException e) {
-                    LOG.error("An error occurred while clearing custom text preference cache hierarchy", e);
-                }
-            }, executorService);
+        if (valueFromCache.isExpired() || !isGenerationCurrent(valueFromCache.getGenerationStamp())) {
+            brandingNotConfiguredCache.clearCacheEntry(cacheKey, tenantDomain);
+            return false;
         }
+        return true;
     }
 
-    private void clearCustomTextResolverCacheHierarchy(OrganizationManager organizationManager,
-                                                       String currentTenantDomain, String resourceName,
-                                                       String usernameInContext)
-            throws BrandingPreferenceMgtServerException {
+    /**
+     * Add a tombstone to the branding not configured cache, stating that the organization or the application has no
+     * branding in any of the locales.
+     *
+     * @param type                    Branding resource type.
+     * @param brandedId               Organization id or application id.
+     * @param tenantDomain            Tenant domain of the organization or the application.
+     * @param locales                 Language preferences of the branding, in the order of preference.
+     * @param restrictToPublished     Whether the branding was resolved using only published branding preferences.
+     * @param generationStamp         Branding generations of the resolution path, captured before the resolution.
+     * @param dependencyTenantDomains Tenant domains of the ancestors which were looked up for the branding.
+     */
+    private void addBrandingNotConfiguredToCache(String type, String brandedId, String tenantDomain,
+                                                 List<String> locales, boolean restrictToPublished,
+                                                 BrandingGenerationStamp generationStamp,
+                                                 List<String> dependencyTenantDomains) {
 
-        String cursor = null;
-        int pageSize = 10000;
-        try {
-            PrivilegedCarbonContext.startTenantFlow();
-            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(currentTenantDomain, true);
-            PrivilegedCarbonContext.getThreadLocalCarbonContext().setUsername(usernameInContext);
-            do {
-                try {
-                    List<BasicOrganization> organizations =
-                            organizationManager.getOrganizations(pageSize, cursor, null, "DESC", "", true);
-                    for (BasicOrganization childOrganization : organizations) {
-                        String childTenantDomain = organizationManager.resolveTenantDomain(childOrganization.getId());
-                        if (StringUtils.isNotBlank(childTenantDomain)) {
-                            if (StringUtils.isBlank(resourceName)) {
-                                // If resourceName is empty, clear all the custom text cache entries for the child org.
-                                clearCustomTextResolverCache(childTenantDomain);
-                            } else {
-                                clearCustomTextResolverCache(childTenantDomain, childOrganization.getId(),
-                                        resourceName);
-                            }
-                        }
-                    }
-                    cursor = organizations.isEmpty() ? null : Base64.getEncoder().encodeToString(
-                            organizations.get(organizations.size() - 1).getCreated().getBytes(StandardCharsets.UTF_8));
-                } catch (OrganizationManagementException e) {
-                    throw handleServerException(
-                            ERROR_CODE_ERROR_CLEARING_CUSTOM_TEXT_PREFERENCE_RESOLVER_CACHE_HIERARCHY,
-                            currentTenantDomain);
-                }
-            } while (cursor != null);
-        } finally {
-            PrivilegedCarbonContext.endTenantFlow();
+        String cacheKeyId = brandedId;
+        if (restrictToPublished) {
+            cacheKeyId += PUBLISHED_BRANDING_CACHE_KEY_SUFFIX;
         }
+        BrandingNotConfiguredCacheKey cacheKey =
+                new BrandingNotConfiguredCacheKey(type, cacheKeyId, getLocalesKey(locales));
+        BrandingNotConfiguredCacheEntry cacheEntry =
+                new BrandingNotConfiguredCacheEntry(getNotConfiguredCacheExpiryTime());
+        cacheEntry.setGenerationStamp(generationStamp);
+        brandingNotConfiguredCache.addToCache(cacheKey, cacheEntry, tenantDomain);
+        addBrandingDependents(new Dependent(type, tenantDomain, cacheKeyId), dependencyTenantDomains);
+    }
+
+    private boolean isDependencyIndexEnabled() {
+
+        return BrandingResolverComponentDataHolder.getInstance().isDependencyIndexEnabled();
     }
 
     /**
-     * Clear custom text resolver cache for all resources for the given tenant domain.
+     * Record the resolver cache entry as a dependent of the ancestors which were looked up to resolve it, since a
+     * branding change of any of them can change the resolved branding.
      *
-     * @param tenantDomain Tenant domain where the cache needs to be cleared.
+     * @param dependent               Resolver cache entry.
+     * @param dependencyTenantDomains Tenant domains of the ancestors which were looked up for the branding.
      */
-    private void clearCustomTextResolverCache(String tenantDomain) {
+    private void addBrandingDependents(Dependent dependent, List<String> dependencyTenantDomains) {
 
-        textCustomizedOrgCache.clear(tenantDomain);
+        if (!isDependencyIndexEnabled()) {
+            return;
+        }
+        for (String dependencyTenantDomain : dependencyTenantDomains) {
+            brandingDependencyIndex.addDependent(dependencyTenantDomain, dependent);
+        }
     }
 
     /**
-     * Clear custom text resolver cache for the given resource in the tenant domain.
+     * Get the tenant domains of the ancestor branding candidates which were looked up until the nearest candidate.
      *
-     * @param tenantDomain   Tenant domain where the cache needs to be cleared.
-     * @param organizationId Organization id of the tenant domain.
-     * @param resourceName   Resource name of the custom text resource.
+     * @param candidates       Ancestor branding candidates, nearest ancestor first.
+     * @param nearestCandidate Candidate which the branding was resolved from, or null if none of them has branding.
+     * @return Tenant domains of the looked up candidates.
      */
-    private void clearCustomTextResolverCache(String tenantDomain, String organizationId, String resourceName) {
-
-        TextCustomizedOrgCacheKey cacheKey = new TextCustomizedOrgCacheKey(organizationId, resourceName);
-        TextCustomizedOrgCacheEntry valueFromCache =
-                textCustomizedOrgCache.getValueFromCache(cacheKey, tenantDomain);
-        if (valueFromCache != null) {
-            // If cache exists, clear the cache.
-            textCustomizedOrgCache.clearCacheEntry(cacheKey, tenantDomain);
+    private static List<String> getTraversedTenantDomains(List<AncestorBrandingCandidate> candidates,
+                                                          AncestorBrandingCandidate nearestCandidate) {
+
+        Set<String> traversedTenantDomains = new LinkedHashSet<>();
+        for (AncestorBrandingCandidate candidate : candidates) {
+            traversedTenantDomains.add(candidate.getTenantDomain());
+            if (candidate == nearestCandidate) {
+                break;
+            }
         }
+        return new ArrayList<>(traversedTenantDomains);
     }
 
-    private void addOrgBrandingToCache(String brandedOrgId, String brandedTenantDomain,
-                                       String brandingInheritedTenantDomain, boolean restrictToPublished) {
+    private boolean isGenerationInvalidationEnabled() {
 
-        String cacheKeyId = brandedOrgId;
-        if (restrictToPublished) {
-            cacheKeyId += PUBLISHED_BRANDING_CACHE_KEY_SUFFIX;
+        return BrandingResolverComponentDataHolder.getInstance().isGenerationInvalidationEnabled();
+    }
+
+    /**
+     * Capture the branding generations of the organization and its ancestors before resolving a branding
+     * preference of the organization, so that a branding change made during the resolution is not missed.
+     *
+     * @param type           Branding resource type.
+     * @param organizationId Id of the organization which the branding preference belongs to.
+     * @return Branding generations of the resolution path, or null if the generation based invalidation is disabled.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the ancestor organizations.
+     */
+    private BrandingGenerationStamp getGenerationStamp(String type, String organizationId)
+            throws BrandingPreferenceMgtException {
+
+        if (!isGenerationInvalidationEnabled() || organizationId == null) {
+            return null;
+        }
+        try {
+            List<String> ancestorOrganizationIds =
+                    organizationHierarchyIndex.getAncestorOrganizationIds(organizationId);
+            if (CollectionUtils.isEmpty(ancestorOrganizationIds)) {
+                ancestorOrganizationIds = Collections.singletonList(organizationId);
+            }
+            return brandingGenerationTracker.getGenerationStamp(type, ancestorOrganizationIds);
+        } catch (OrganizationManagementException e) {
+            throw handleServerException(ERROR_CODE_ERROR_GETTING_BRANDING_PREFERENCE, organizationId);
         }
-        BrandedOrgCacheKey cacheKey = new BrandedOrgCacheKey(cacheKeyId);
-        BrandedOrgCacheEntry cacheEntry = new BrandedOrgCacheEntry(brandingInheritedTenantDomain);
-        brandedOrgCache.addToCache(cacheKey, cacheEntry, brandedTenantDomain);
     }
 
-    private void addAppBrandingToCache(String appId, String tenantDomain, String brandingInheritedAppId,
-                                       String brandingInheritedTenantDomain, String resolvedBrandingType,
-                                       boolean restrictToPublished) {
+    /**
+     * Check whether a resolver cache entry is still valid with respect to the branding generations.
+     *
+     * @param generationStamp Branding generations stamped on the cache entry.
+     * @return True if the generation based invalidation is disabled or none of the generations has changed.
+     */
+    private boolean isGenerationCurrent(BrandingGenerationStamp generationStamp) {
 
-        String cacheKeyId = appId;
-        if (restrictToPublished) {
-            cacheKeyId += PUBLISHED_BRANDING_CACHE_KEY_SUFFIX;
+        if (!isGenerationInvalidationEnabled()) {
+            return true;
         }
-        BrandedAppCacheKey cacheKey = new BrandedAppCacheKey(cacheKeyId);
-        BrandedAppCacheEntry cacheEntry =
-                new BrandedAppCacheEntry(brandingInheritedTenantDomain, brandingInheritedAppId,
-                        resolvedBrandingType);
-        brandedAppCache.addToCache(cacheKey, cacheEntry, tenantDomain);
+        // Entries added while the generation based invalidation was disabled can not be validated.
+        return generationStamp != null && brandingGenerationTracker.isCurrent(generationStamp);
+    }
+
+    private long getNotConfiguredCacheExpiryTime() {
+
+        return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(
+                BrandingResolverComponentDataHolder.getInstance().getNotConfiguredCacheTimeout());
     }
 
     private Optional<BrandingPreference> getBrandingPreference(String type, String name, String locale,
                                                                String tenantDomain)
             throws BrandingPreferenceMgtException {
 
+        return getBrandingPreference(type, name, locale, tenantDomain, null);
+    }
+
+    /**
+     * Retrieve a branding preference by calling configuration-mgt service.
+     *
+     * @param type         Branding resource type.
+     * @param name         Tenant domain or application id.
+     * @param locale       Language preference.
+     * @param tenantDomain Tenant domain to retrieve the branding preference from.
+     * @param fileId       Id of the preference file found by a resource search, or null if not known.
+     * @return Branding preference, if any.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the branding preference.
+     */
+    private Optional<BrandingPreference> getBrandingPreference(String type, String name, String locale,
+                                                               String tenantDomain, String fileId)
+            throws BrandingPreferenceMgtException {
+
         try {
             PrivilegedCarbonContext.startTenantFlow();
             PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain, true);
 
             String resourceName = getResourceName(type, name, locale);
             String resourceType = getResourceType(type);
-            List<ResourceFile> resourceFiles = getConfigurationManager().getFiles(resourceType, resourceName);
-            if (resourceFiles.isEmpty()) {
-                return Optional.empty();
-            }
-            if (StringUtils.isBlank(resourceFiles.get(0).getId())) {
-                return Optional.empty();
-            }
-
-            InputStream inputStream = getConfigurationManager().getFileById
-                    (resourceType, resourceName, resourceFiles.get(0).getId());
+            InputStream inputStream = getPreferenceFile(resourceType, resourceName, fileId);
             if (inputStream == null) {
                 return Optional.empty();
             }
@@ -850,6 +2215,31 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
         return Optional.empty();
     }
 
+    /**
+     * Retrieve the branding preference of the first locale which has an available branding preference.
+     *
+     * @param type                Branding resource type.
+     * @param name                Tenant domain or application id.
+     * @param locales             Language preferences, in the order of preference.
+     * @param tenantDomain        Tenant domain to retrieve the branding preference from.
+     * @param restrictToPublished Whether to only retrieve published branding preferences.
+     * @return Branding preference of the best available locale, if any.
+     * @throws BrandingPreferenceMgtException if any error occurred while retrieving the branding preferences.
+     */
+    private Optional<BrandingPreference> getAvailableBrandingPreference(String type, String name, List<String> locales,
+                                                                        String tenantDomain,
+                                                                        boolean restrictToPublished)
+            throws BrandingPreferenceMgtException {
+
+        for (String locale : locales) {
+            Optional<BrandingPreference> brandingPreference = getBrandingPreference(type, name, locale, tenantDomain);
+            if (isBrandingAvailable(restrictToPublished, brandingPreference)) {
+                return brandingPreference;
+            }
+        }
+        return Optional.empty();
+    }
+
     private ConfigurationManager getConfigurationManager() {
 
         return BrandingResolverComponentDataHolder.getInstance().getConfigurationManager();
@@ -869,15 +2259,17 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
                                                        String locale, String resolvedSourceName)
             throws IOException, BrandingPreferenceMgtException {
 
-        String preferencesJSON = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        /* The document is only validated here, and kept as raw bytes. It is parsed into an immutable document, which
+          is shared by the caches and the callers, only when the preference tree is requested. */
+        byte[] rawPreference = PreferenceCodec.readBytes(inputStream);
+        ParsedPreference scannedPreference = PreferenceParser.scan(rawPreference);
+        if (scannedPreference == null) {
             throw handleServerException(ERROR_CODE_ERROR_BUILDING_BRANDING_PREFERENCE, name);
         }
 
-        ObjectMapper mapper = new ObjectMapper();
-        Object preference = mapper.readValue(preferencesJSON, Object.class);
         BrandingPreference brandingPreference = new BrandingPreference();
-        brandingPreference.setPreference(preference);
+        brandingPreference.setRawPreference(new RawPreference(rawPreference));
+        brandingPreference.setBrandingEnabled(scannedPreference.isBrandingEnabled());
         brandingPreference.setType(type);
         brandingPreference.setName(name);
         brandingPreference.setLocale(locale);
@@ -908,6 +2300,20 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
         return getTenantId() + RESOURCE_NAME_SEPARATOR + locale;
     }
 
+    private String getResourceName(String type, String name, String locale, String tenantDomain) {
+
+        if (APPLICATION_TYPE.equals(type)) {
+            return name.toLowerCase() + RESOURCE_NAME_SEPARATOR + locale;
+        }
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain, true);
+            return getResourceName(type, name, locale);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
     /**
      * Return resource type for the given branding type.
      *
@@ -953,22 +2359,31 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
                                                String tenantDomain)
             throws BrandingPreferenceMgtException {
 
+        return getCustomText(type, name, screen, locale, tenantDomain, null);
+    }
+
+    /**
+     * Retrieve a custom text preference by calling configuration-mgt service.
+     *
+     * @param type         Type of the custom text preference.
+     * @param name         Name of the tenant/application where custom text belongs.
+     * @param screen       Screen where the custom text needs to be applied.
+     * @param locale       Language preference of the custom text.
+     * @param tenantDomain Tenant domain to retrieve the custom text preference from.
+     * @param fileId       Id of the preference file found by a resource search, or null if not known.
+     * @return The requested custom text preference.
+     * @throws BrandingPreferenceMgtException if any error occurred.
+     */
+    private Optional<CustomText> getCustomText(String type, String name, String screen, String locale,
+                                               String tenantDomain, String fileId)
+            throws BrandingPreferenceMgtException {
+
         try {
             PrivilegedCarbonContext.startTenantFlow();
             PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain, true);
 
             String resourceName = getResourceNameForCustomText(screen, locale);
-            List<ResourceFile> resourceFiles = getConfigurationManager().getFiles
-                    (CUSTOM_TEXT_RESOURCE_TYPE, resourceName);
-            if (resourceFiles.isEmpty()) {
-                return Optional.empty();
-            }
-            if (StringUtils.isBlank(resourceFiles.get(0).getId())) {
-                return Optional.empty();
-            }
-
-            InputStream inputStream = getConfigurationManager().getFileById
-                    (CUSTOM_TEXT_RESOURCE_TYPE, resourceName, resourceFiles.get(0).getId());
+            InputStream inputStream = getPreferenceFile(CUSTOM_TEXT_RESOURCE_TYPE, resourceName, fileId);
             if (inputStream == null) {
                 return Optional.empty();
             }
@@ -990,6 +2405,40 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
         return Optional.empty();
     }
 
+    /**
+     * Get the stream of the preference file of a resource in the tenant of the current flow. The file id found by a
+     * resource search is used when available, so that the files of the resource are not listed. If the file is no
+     * longer available with that id, since the resource was replaced after the search, the files are listed again.
+     *
+     * @param resourceType Resource type.
+     * @param resourceName Resource name.
+     * @param fileId       Id of the preference file found by a resource search, or null if not known.
+     * @return Preference file stream, or null if the resource has no preference file.
+     * @throws ConfigurationManagementException if any error occurred while retrieving the preference file.
+     */
+    private InputStream getPreferenceFile(String resourceType, String resourceName, String fileId)
+            throws ConfigurationManagementException {
+
+        if (StringUtils.isNotBlank(fileId)) {
+            try {
+                InputStream inputStream = getConfigurationManager().getFileById(resourceType, resourceName, fileId);
+                if (inputStream != null) {
+                    return inputStream;
+                }
+            } catch (ConfigurationManagementException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Preference file: " + fileId + " of the resource: " + resourceName
+                            + " is not available. Hence, the files of the resource are listed again.", e);
+                }
+            }
+        }
+        List<ResourceFile> resourceFiles = getConfigurationManager().getFiles(resourceType, resourceName);
+        if (resourceFiles.isEmpty() || StringUtils.isBlank(resourceFiles.get(0).getId())) {
+            return null;
+        }
+        return getConfigurationManager().getFileById(resourceType, resourceName, resourceFiles.get(0).getId());
+    }
+
     /**
      * Build a Custom Text Model from custom text preference file stream.
      *
@@ -1005,15 +2454,14 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
                                        String screen, String locale, String resolvedSourceName)
             throws IOException, BrandingPreferenceMgtException {
 
-        String preferencesJSON = IOUtils.toString(inputStream, StandardCharsets.UTF_8.name());
-        if (!BrandingPreferenceMgtUtils.isValidJSONString(preferencesJSON)) {
+        // The document is only validated here, and parsed only when the preference tree is requested.
+        byte[] rawPreference = PreferenceCodec.readBytes(inputStream);
+        if (PreferenceParser.scan(rawPreference) == null) {
             throw handleServerException(ERROR_CODE_ERROR_BUILDING_CUSTOM_TEXT_PREFERENCE, name);
         }
 
-        ObjectMapper mapper = new ObjectMapper();
-        Object preference = mapper.readValue(preferencesJSON, Object.class);
         CustomText customText = new CustomText();
-        customText.setPreference(preference);
+        customText.setRawPreference(new RawPreference(rawPreference));
         customText.setType(type);
         customText.setName(name);
         customText.setLocale(locale);
@@ -1036,33 +2484,52 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
     }
 
     /**
-     * Retrieve a branding preference by calling configuration-mgt service.
+     * Build the resolution result for a branding preference which is not configured.
      *
-     * @param type   Type of the branding preference.
-     * @param name   Name of the tenant/application where branding belongs.
-     * @param locale Language preference of the branding.
-     * @return The requested branding preference.
-     * @throws BrandingPreferenceMgtException if any error occurred.
+     * @param type         Type of the branding preference.
+     * @param name         Name of the tenant/application where branding is requested.
+     * @param tenantDomain Tenant domain where branding is requested.
+     * @return Not found resolution result.
      */
-    private BrandingPreference getPreference(String type, String name, String locale, String currentTenantDomain)
-            throws BrandingPreferenceMgtException {
+    private PreferenceResolutionResult<BrandingPreference> brandingNotConfigured(String type, String name,
+                                                                                 String tenantDomain) {
+
+        return PreferenceResolutionResult.notFound(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED, type, name,
+                tenantDomain);
+    }
+
+    /**
+     * Build the resolution result for a custom text preference which is not configured.
+     *
+     * @param tenantDomain Tenant domain where custom text is requested.
+     * @return Not found resolution result.
+     */
+    private PreferenceResolutionResult<CustomText> customTextNotConfigured(String tenantDomain) {
 
-        Optional<BrandingPreference> brandingPreference =
-                getBrandingPreference(type, name, locale, currentTenantDomain);
-        return brandingPreference.orElseThrow(
-                () -> handleClientException(ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED, type, name,
-                        currentTenantDomain));
+        return PreferenceResolutionResult.notFound(ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS, tenantDomain);
     }
 
     /**
-     * Remove the display name of the organization from the branding preference.
+     * Remove the display name of the organization from the branding preference. The shared preference tree is not
+     * modified, and the branding preference is given a view of the tree which hides the display name. The view is
+     * only built when the resolved branding is read, so that an inherited resolution does not parse and serialize
+     * the branding preference again.
      *
      * @param brandingPreference Branding preference.
      */
     private void removeOrgDisplayNameFromBrandingPreference(BrandingPreference brandingPreference) {
 
-        ((LinkedHashMap) ((LinkedHashMap) brandingPreference.getPreference()).get(ORGANIZATION_DETAILS))
-                .replace(DISPLAY_NAME, StringUtils.EMPTY);
+        RawPreference rawPreference = brandingPreference.getRawPreference();
+        if (rawPreference == null) {
+            brandingPreference.setPreference(PreferenceTrees.overrideValue(brandingPreference.getPreference(),
+                    StringUtils.EMPTY, ORGANIZATION_DETAILS, DISPLAY_NAME));
+            return;
+        }
+        // Display name does not affect the captured branding enabled flag.
+        Boolean brandingEnabled = brandingPreference.getBrandingEnabled();
+        brandingPreference.setRawPreference(rawPreference.transform(preference ->
+                PreferenceTrees.overrideValue(preference, StringUtils.EMPTY, ORGANIZATION_DETAILS, DISPLAY_NAME)));
+        brandingPreference.setBrandingEnabled(brandingEnabled);
     }
 
     /**
@@ -1074,7 +2541,61 @@ public class UIBrandingPreferenceResolverImpl implements UIBrandingPreferenceRes
      */
     private boolean isBrandingAvailable(boolean restrictToPublished, Optional<BrandingPreference> brandingPreference) {
 
-        return brandingPreference.isPresent() &&
-                (!restrictToPublished || BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference.get()));
+        return brandingPreference.isPresent() && isBrandingAvailable(restrictToPublished, brandingPreference.get());
+    }
+
+    /**
+     * Check whether the retrieved branding preference is available.
+     *
+     * @param restrictToPublished Whether the branding preferences must be published in order to be available.
+     * @param brandingPreference  Retrieved branding preference object.
+     * @return True if branding preference is available.
+     */
+    private boolean isBrandingAvailable(boolean restrictToPublished, BrandingPreference brandingPreference) {
+
+        return !restrictToPublished || BrandingPreferenceMgtUtils.isBrandingPublished(brandingPreference);
+    }
+
+    /**
+     * Branding preference of an ancestor organization, which is a candidate to inherit the branding from.
+     */
+    private static class AncestorBrandingCandidate {
+
+        private final String type;
+        private final String name;
+        private final String tenantDomain;
+        private BrandingPreference brandingPreference;
+
+        AncestorBrandingCandidate(String type, String name, String tenantDomain) {
+
+            this.type = type;
+            this.name = name;
+            this.tenantDomain = tenantDomain;
+        }
+
+        String getType() {
+
+            return type;
+        }
+
+        String getName() {
+
+            return name;
+        }
+
+        String getTenantDomain() {
+
+            return tenantDomain;
+        }
+
+        BrandingPreference getBrandingPreference() {
+
+            return brandingPreference;
+        }
+
+        void setBrandingPreference(BrandingPreference brandingPreference) {
+
+            this.brandingPreference = brandingPreference;
+        }
     }
 }
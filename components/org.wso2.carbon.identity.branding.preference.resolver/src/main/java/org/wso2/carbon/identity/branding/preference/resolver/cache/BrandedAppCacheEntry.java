@@ -30,6 +30,7 @@ public class BrandedAppCacheEntry extends CacheEntry {
     private String brandingResolvedTenant;
     private String brandingResolvedAppId;
     private String resolvedBrandingType;
+    private BrandingGenerationStamp generationStamp;
 
     /**
      * @param brandingResolvedTenant Domain of the tenant that branding is resolved from.
@@ -91,4 +92,20 @@ public class BrandedAppCacheEntry extends CacheEntry {
 
         this.resolvedBrandingType = resolvedBrandingType;
     }
+
+    /**
+     * @return Branding generations of the resolution path of the entry, or null if the entry is not stamped.
+     */
+    public BrandingGenerationStamp getGenerationStamp() {
+
+        return generationStamp;
+    }
+
+    /**
+     * @param generationStamp Branding generations of the resolution path of the entry.
+     */
+    public void setGenerationStamp(BrandingGenerationStamp generationStamp) {
+
+        this.generationStamp = generationStamp;
+    }
 }
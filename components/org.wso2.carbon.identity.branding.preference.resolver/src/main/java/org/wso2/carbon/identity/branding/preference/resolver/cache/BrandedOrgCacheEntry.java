@@ -28,6 +28,7 @@ public class BrandedOrgCacheEntry extends CacheEntry {
     private static final long serialVersionUID = 3112605038259278777L;
 
     private String brandingResolvedTenant;
+    private BrandingGenerationStamp generationStamp;
 
     /**
      * @param brandingResolvedTenant Domain of the tenant that branding is resolved from.
@@ -53,4 +54,19 @@ public class BrandedOrgCacheEntry extends CacheEntry {
         this.brandingResolvedTenant = brandingResolvedTenant;
     }
 
+    /**
+     * @return Branding generations of the resolution path of the entry, or null if the entry is not stamped.
+     */
+    public BrandingGenerationStamp getGenerationStamp() {
+
+        return generationStamp;
+    }
+
+    /**
+     * @param generationStamp Branding generations of the resolution path of the entry.
+     */
+    public void setGenerationStamp(BrandingGenerationStamp generationStamp) {
+
+        this.generationStamp = generationStamp;
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+/**
+ * Cache key for lookup the branding generation of an organization from the cache.
+ */
+public class BrandingGenerationCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -6470139251885120547L;
+
+    private final String generationId;
+
+    /**
+     * @param generationId Identifier of the branding generation. Unique to the organization and the branding type.
+     */
+    public BrandingGenerationCacheKey(String generationId) {
+
+        this.generationId = generationId;
+    }
+
+    /**
+     * @return Identifier of the branding generation.
+     */
+    public String getGenerationId() {
+
+        return generationId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        BrandingGenerationCacheKey that = (BrandingGenerationCacheKey) o;
+
+        return generationId.equals(that.generationId);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + generationId.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import java.io.Serializable;
+
+/**
+ * Branding generations of the organizations on the resolution path of a resolver cache entry, at the time the entry
+ * was resolved. The entry is stale once any of these generations changes.
+ */
+public class BrandingGenerationStamp implements Serializable {
+
+    private static final long serialVersionUID = 2217841059402751763L;
+
+    private final String[] generationIds;
+    private final long[] generations;
+
+    /**
+     * @param generationIds Identifiers of the branding generations on the resolution path.
+     * @param generations   Branding generations on the resolution path, in the same order as the identifiers.
+     */
+    public BrandingGenerationStamp(String[] generationIds, long[] generations) {
+
+        this.generationIds = generationIds;
+        this.generations = generations;
+    }
+
+    /**
+     * @return Number of branding generations in the stamp.
+     */
+    public int size() {
+
+        return generationIds.length;
+    }
+
+    /**
+     * @param index Index of the branding generation.
+     * @return Identifier of the branding generation.
+     */
+    public String getGenerationId(int index) {
+
+        return generationIds[index];
+    }
+
+    /**
+     * @param index Index of the branding generation.
+     * @return Branding generation.
+     */
+    public long getGeneration(int index) {
+
+        return generations[index];
+    }
+}
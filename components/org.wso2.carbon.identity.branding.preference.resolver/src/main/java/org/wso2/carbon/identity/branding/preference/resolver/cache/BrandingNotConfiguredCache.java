@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache implementation for the tombstones of the branding preferences which could not be resolved in a locale.
+ */
+public class BrandingNotConfiguredCache extends BaseCache<BrandingNotConfiguredCacheKey,
+        BrandingNotConfiguredCacheEntry> {
+
+    public static final String CACHE_NAME = "BrandingNotConfiguredCache";
+
+    private static volatile BrandingNotConfiguredCache instance;
+
+    private BrandingNotConfiguredCache() {
+
+        super(CACHE_NAME);
+    }
+
+    /**
+     * Get cache instance.
+     *
+     * @return BrandingNotConfiguredCache
+     */
+    public static BrandingNotConfiguredCache getInstance() {
+
+        if (instance == null) {
+            synchronized (BrandingNotConfiguredCache.class) {
+                if (instance == null) {
+                    instance = new BrandingNotConfiguredCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
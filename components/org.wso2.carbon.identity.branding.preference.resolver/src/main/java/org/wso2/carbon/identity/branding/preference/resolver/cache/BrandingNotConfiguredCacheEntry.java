@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Tombstone entry which is kept in the branding not configured cache, when no branding could be resolved for an
+ * organization or an application in a locale. The entry is valid only until the given expiry time.
+ */
+public class BrandingNotConfiguredCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 3112605038259278903L;
+
+    private final long expiryTime;
+    private BrandingGenerationStamp generationStamp;
+
+    /**
+     * @param expiryTime Time in milliseconds until which the entry is valid.
+     */
+    public BrandingNotConfiguredCacheEntry(long expiryTime) {
+
+        this.expiryTime = expiryTime;
+    }
+
+    /**
+     * @return Time in milliseconds until which the entry is valid.
+     */
+    public long getExpiryTime() {
+
+        return expiryTime;
+    }
+
+    /**
+     * @return True if the entry is no longer valid.
+     */
+    public boolean isExpired() {
+
+        return System.currentTimeMillis() > expiryTime;
+    }
+
+    /**
+     * @return Branding generations of the resolution path of the entry, or null if the entry is not stamped.
+     */
+    public BrandingGenerationStamp getGenerationStamp() {
+
+        return generationStamp;
+    }
+
+    /**
+     * @param generationStamp Branding generations of the resolution path of the entry.
+     */
+    public void setGenerationStamp(BrandingGenerationStamp generationStamp) {
+
+        this.generationStamp = generationStamp;
+    }
+}
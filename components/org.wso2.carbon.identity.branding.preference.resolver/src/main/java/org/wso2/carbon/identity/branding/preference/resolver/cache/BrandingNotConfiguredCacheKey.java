@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key for lookup whether a branding preference is known to be not configured in a locale.
+ */
+public class BrandingNotConfiguredCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -5308721466950318264L;
+
+    private String type;
+    private String brandedIdentifier;
+    private String locale;
+
+    /**
+     * @param type              Type of the requested branding (organization or application).
+     * @param brandedIdentifier Identifier of the organization or the application that the branding is applied to.
+     * @param locale            Requested language preference.
+     */
+    public BrandingNotConfiguredCacheKey(String type, String brandedIdentifier, String locale) {
+
+        this.type = type;
+        this.brandedIdentifier = brandedIdentifier;
+        this.locale = locale;
+    }
+
+    /**
+     * @return Type of the requested branding.
+     */
+    public String getType() {
+
+        return type;
+    }
+
+    /**
+     * @return Identifier of the organization or the application that the branding is applied to.
+     */
+    public String getBrandedIdentifier() {
+
+        return brandedIdentifier;
+    }
+
+    /**
+     * @return Requested language preference.
+     */
+    public String getLocale() {
+
+        return locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        BrandingNotConfiguredCacheKey that = (BrandingNotConfiguredCacheKey) o;
+
+        return Objects.equals(type, that.type) && Objects.equals(brandedIdentifier, that.brandedIdentifier)
+                && Objects.equals(locale, that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + Objects.hashCode(type);
+        result = 31 * result + Objects.hashCode(brandedIdentifier);
+        result = 31 * result + Objects.hashCode(locale);
+        return result;
+    }
+}
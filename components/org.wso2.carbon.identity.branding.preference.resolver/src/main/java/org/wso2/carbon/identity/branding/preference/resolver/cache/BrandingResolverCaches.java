@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.branding.preference.resolver.internal.BrandingResolverComponentDataHolder;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingDependencyIndex;
+
+/**
+ * Caches used by the branding preference resolver. The caches which are not set are taken from their shared
+ * instances. The dependency index of the resolver cache entries, which is not set, is created for the resolver.
+ */
+public class BrandingResolverCaches {
+
+    private BrandedOrgCache brandedOrgCache;
+    private BrandedAppCache brandedAppCache;
+    private TextCustomizedOrgCache textCustomizedOrgCache;
+    private ResolvedBrandingCache resolvedBrandingCache;
+    private OrganizationHierarchyCache organizationHierarchyCache;
+    private BrandingGenerationCache brandingGenerationCache;
+    private PageBundleCache pageBundleCache;
+    private MergedCustomTextCache mergedCustomTextCache;
+    private LocaleFallbackCache localeFallbackCache;
+    private BrandingNotConfiguredCache brandingNotConfiguredCache;
+    private BrandingDependencyIndex brandingDependencyIndex;
+
+    public BrandedOrgCache getBrandedOrgCache() {
+
+        return brandedOrgCache != null ? brandedOrgCache : BrandedOrgCache.getInstance();
+    }
+
+    public void setBrandedOrgCache(BrandedOrgCache brandedOrgCache) {
+
+        this.brandedOrgCache = brandedOrgCache;
+    }
+
+    public BrandedAppCache getBrandedAppCache() {
+
+        return brandedAppCache != null ? brandedAppCache : BrandedAppCache.getInstance();
+    }
+
+    public void setBrandedAppCache(BrandedAppCache brandedAppCache) {
+
+        this.brandedAppCache = brandedAppCache;
+    }
+
+    public TextCustomizedOrgCache getTextCustomizedOrgCache() {
+
+        return textCustomizedOrgCache != null ? textCustomizedOrgCache : TextCustomizedOrgCache.getInstance();
+    }
+
+    public void setTextCustomizedOrgCache(TextCustomizedOrgCache textCustomizedOrgCache) {
+
+        this.textCustomizedOrgCache = textCustomizedOrgCache;
+    }
+
+    public ResolvedBrandingCache getResolvedBrandingCache() {
+
+        return resolvedBrandingCache != null ? resolvedBrandingCache : ResolvedBrandingCache.getInstance();
+    }
+
+    public void setResolvedBrandingCache(ResolvedBrandingCache resolvedBrandingCache) {
+
+        this.resolvedBrandingCache = resolvedBrandingCache;
+    }
+
+    public OrganizationHierarchyCache getOrganizationHierarchyCache() {
+
+        return organizationHierarchyCache != null ? organizationHierarchyCache :
+                OrganizationHierarchyCache.getInstance();
+    }
+
+    public void setOrganizationHierarchyCache(OrganizationHierarchyCache organizationHierarchyCache) {
+
+        this.organizationHierarchyCache = organizationHierarchyCache;
+    }
+
+    public BrandingGenerationCache getBrandingGenerationCache() {
+
+        return brandingGenerationCache != null ? brandingGenerationCache : BrandingGenerationCache.getInstance();
+    }
+
+    public void setBrandingGenerationCache(BrandingGenerationCache brandingGenerationCache) {
+
+        this.brandingGenerationCache = brandingGenerationCache;
+    }
+
+    public PageBundleCache getPageBundleCache() {
+
+        return pageBundleCache != null ? pageBundleCache : PageBundleCache.getInstance();
+    }
+
+    public void setPageBundleCache(PageBundleCache pageBundleCache) {
+
+        this.pageBundleCache = pageBundleCache;
+    }
+
+    public MergedCustomTextCache getMergedCustomTextCache() {
+
+        return mergedCustomTextCache != null ? mergedCustomTextCache : MergedCustomTextCache.getInstance();
+    }
+
+    public void setMergedCustomTextCache(MergedCustomTextCache mergedCustomTextCache) {
+
+        this.mergedCustomTextCache = mergedCustomTextCache;
+    }
+
+    public LocaleFallbackCache getLocaleFallbackCache() {
+
+        return localeFallbackCache != null ? localeFallbackCache : LocaleFallbackCache.getInstance();
+    }
+
+    public void setLocaleFallbackCache(LocaleFallbackCache localeFallbackCache) {
+
+        this.localeFallbackCache = localeFallbackCache;
+    }
+
+    public BrandingNotConfiguredCache getBrandingNotConfiguredCache() {
+
+        return brandingNotConfiguredCache != null ? brandingNotConfiguredCache :
+                BrandingNotConfiguredCache.getInstance();
+    }
+
+    public void setBrandingNotConfiguredCache(BrandingNotConfiguredCache brandingNotConfiguredCache) {
+
+        this.brandingNotConfiguredCache = brandingNotConfiguredCache;
+    }
+
+    public BrandingDependencyIndex getBrandingDependencyIndex() {
+
+        return brandingDependencyIndex != null ? brandingDependencyIndex : new BrandingDependencyIndex(
+                Math.max(1, BrandingResolverComponentDataHolder.getInstance().getMaxDependentsPerTenant()));
+    }
+
+    public void setBrandingDependencyIndex(BrandingDependencyIndex brandingDependencyIndex) {
+
+        this.brandingDependencyIndex = brandingDependencyIndex;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry which is kept in the locale fallback cache. Holds the locale which a preference requested in another
+ * locale is resolved from.
+ */
+public class LocaleFallbackCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -4137950273608815942L;
+
+    private String fallbackLocale;
+    private BrandingGenerationStamp generationStamp;
+
+    /**
+     * @param fallbackLocale Locale which the preference is resolved from.
+     */
+    public LocaleFallbackCacheEntry(String fallbackLocale) {
+
+        this.fallbackLocale = fallbackLocale;
+    }
+
+    /**
+     * @return Locale which the preference is resolved from.
+     */
+    public String getFallbackLocale() {
+
+        return fallbackLocale;
+    }
+
+    /**
+     * @return Branding generations of the resolution path of the entry, or null if the entry is not stamped.
+     */
+    public BrandingGenerationStamp getGenerationStamp() {
+
+        return generationStamp;
+    }
+
+    /**
+     * @param generationStamp Branding generations of the resolution path of the entry.
+     */
+    public void setGenerationStamp(BrandingGenerationStamp generationStamp) {
+
+        this.generationStamp = generationStamp;
+    }
+}
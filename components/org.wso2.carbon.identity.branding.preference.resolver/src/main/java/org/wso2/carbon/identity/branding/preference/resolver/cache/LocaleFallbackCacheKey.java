@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key for lookup the fallback locale chosen for a branding or custom text preference from the cache.
+ */
+public class LocaleFallbackCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 2806614373025917736L;
+
+    private String type;
+    private String name;
+    private String screen;
+    private String locale;
+    private boolean restrictToPublished;
+
+    /**
+     * @param type                Type of the requested preference (organization or application).
+     * @param name                Name of the tenant/application that the preference is requested for.
+     * @param screen              Screen of the requested custom text preference, or null for branding preferences.
+     * @param locale              Requested language preference.
+     * @param restrictToPublished Whether the branding is resolved using only published branding preferences.
+     */
+    public LocaleFallbackCacheKey(String type, String name, String screen, String locale,
+                                  boolean restrictToPublished) {
+
+        this.type = type;
+        this.name = name;
+        this.screen = screen;
+        this.locale = locale;
+        this.restrictToPublished = restrictToPublished;
+    }
+
+    /**
+     * @return Type of the requested preference.
+     */
+    public String getType() {
+
+        return type;
+    }
+
+    /**
+     * @return Name of the tenant/application that the preference is requested for.
+     */
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * @return Screen of the requested custom text preference, or null for branding preferences.
+     */
+    public String getScreen() {
+
+        return screen;
+    }
+
+    /**
+     * @return Requested language preference.
+     */
+    public String getLocale() {
+
+        return locale;
+    }
+
+    /**
+     * @return Whether the branding is resolved using only published branding preferences.
+     */
+    public boolean isRestrictToPublished() {
+
+        return restrictToPublished;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        LocaleFallbackCacheKey that = (LocaleFallbackCacheKey) o;
+
+        return restrictToPublished == that.restrictToPublished && Objects.equals(type, that.type)
+                && Objects.equals(name, that.name) && Objects.equals(screen, that.screen)
+                && Objects.equals(locale, that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + Objects.hashCode(type);
+        result = 31 * result + Objects.hashCode(name);
+        result = 31 * result + Objects.hashCode(screen);
+        result = 31 * result + Objects.hashCode(locale);
+        result = 31 * result + (restrictToPublished ? 1 : 0);
+        return result;
+    }
+}
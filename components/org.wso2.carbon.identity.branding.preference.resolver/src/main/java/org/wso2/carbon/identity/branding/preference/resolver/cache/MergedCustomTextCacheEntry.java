@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.branding.preference.management.core.model.RawPreference;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry which is kept in the merged custom text cache. Holds the effective custom text preference of an
+ * organization, which is its own custom text overlaid on the effective custom text of its parent organization.
+ */
+public class MergedCustomTextCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -1957344261385027410L;
+
+    private RawPreference mergedPreference;
+    private String customTextResolvedTenant;
+
+    /**
+     * @param mergedPreference         Effective custom text preference, or null if no organization in the hierarchy
+     *                                 has customized the text.
+     * @param customTextResolvedTenant Domain of the nearest tenant which contributed to the effective custom text.
+     */
+    public MergedCustomTextCacheEntry(RawPreference mergedPreference, String customTextResolvedTenant) {
+
+        this.mergedPreference = mergedPreference;
+        this.customTextResolvedTenant = customTextResolvedTenant;
+    }
+
+    /**
+     * @return Effective custom text preference, or null if no organization in the hierarchy has customized the text.
+     */
+    public RawPreference getMergedPreference() {
+
+        return mergedPreference;
+    }
+
+    /**
+     * @return Domain of the nearest tenant which contributed to the effective custom text.
+     */
+    public String getCustomTextResolvedTenant() {
+
+        return customTextResolvedTenant;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cache entry which is kept in the organization hierarchy cache. Holds the ancestor chain, the tenant domain and the
+ * depth of an organization in one record.
+ */
+public class OrganizationHierarchyCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -2750493377127370582L;
+
+    private final String[] ancestorOrganizationIds;
+    private final String tenantDomain;
+
+    /**
+     * @param ancestorOrganizationIds Ids of the organization and its ancestors, starting from the organization itself
+     *                                up to the root organization.
+     * @param tenantDomain            Tenant domain of the organization, or null if it is not resolved yet.
+     */
+    public OrganizationHierarchyCacheEntry(String[] ancestorOrganizationIds, String tenantDomain) {
+
+        this.ancestorOrganizationIds = ancestorOrganizationIds;
+        this.tenantDomain = tenantDomain;
+    }
+
+    /**
+     * @return Ids of the organization and its ancestors, starting from the organization itself up to the root
+     * organization.
+     */
+    public List<String> getAncestorOrganizationIds() {
+
+        return Collections.unmodifiableList(Arrays.asList(ancestorOrganizationIds));
+    }
+
+    /**
+     * @return Tenant domain of the organization, or null if it is not resolved yet.
+     */
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    /**
+     * @return Depth of the organization in the hierarchy, where the root organization is at depth zero.
+     */
+    public int getDepthInHierarchy() {
+
+        return ancestorOrganizationIds.length - 1;
+    }
+
+    /**
+     * Create a copy of the entry with the given tenant domain.
+     *
+     * @param tenantDomain Tenant domain of the organization.
+     * @return Copy of the entry with the tenant domain.
+     */
+    public OrganizationHierarchyCacheEntry withTenantDomain(String tenantDomain) {
+
+        return new OrganizationHierarchyCacheEntry(ancestorOrganizationIds, tenantDomain);
+    }
+}
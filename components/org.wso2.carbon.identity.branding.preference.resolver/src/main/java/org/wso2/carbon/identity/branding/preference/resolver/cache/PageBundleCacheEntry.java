@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Cache entry which is kept in the page bundle cache. Holds the resolved branding and custom text preferences of a
+ * page, so that they are invalidated together when any of them changes.
+ */
+public class PageBundleCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -6824133470591846328L;
+
+    private ResolvedBrandingCacheEntry branding;
+    private LinkedHashMap<String, CustomText> customTexts;
+    private BrandingGenerationStamp generationStamp;
+
+    /**
+     * @param branding    Resolved branding preference content, or null if branding is not configured.
+     * @param customTexts Resolved custom text preferences by the screen.
+     */
+    public PageBundleCacheEntry(ResolvedBrandingCacheEntry branding, LinkedHashMap<String, CustomText> customTexts) {
+
+        this.branding = branding;
+        this.customTexts = customTexts;
+    }
+
+    /**
+     * @return Resolved branding preference content, or null if branding is not configured.
+     */
+    public ResolvedBrandingCacheEntry getBranding() {
+
+        return branding;
+    }
+
+    /**
+     * @return Resolved custom text preferences by the screen.
+     */
+    public LinkedHashMap<String, CustomText> getCustomTexts() {
+
+        return customTexts;
+    }
+
+    /**
+     * @return Branding generations of the resolution path of the entry, or null if the entry is not stamped.
+     */
+    public BrandingGenerationStamp getGenerationStamp() {
+
+        return generationStamp;
+    }
+
+    /**
+     * @param generationStamp Branding generations of the resolution path of the entry.
+     */
+    public void setGenerationStamp(BrandingGenerationStamp generationStamp) {
+
+        this.generationStamp = generationStamp;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Cache key for lookup page bundles from the cache.
+ */
+public class PageBundleCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 5930876311842070563L;
+
+    private String type;
+    private String name;
+    private TreeSet<String> screens;
+    private String locale;
+    private boolean restrictToPublished;
+
+    /**
+     * @param type                Type of the requested page bundle (organization or application).
+     * @param name                Name of the tenant/application that the page bundle is requested for.
+     * @param screens             Screens of the custom text preferences of the page bundle.
+     * @param locale              Language preference of the page bundle.
+     * @param restrictToPublished Whether the branding is resolved using only published branding preferences.
+     */
+    public PageBundleCacheKey(String type, String name, Set<String> screens, String locale,
+                              boolean restrictToPublished) {
+
+        this.type = type;
+        this.name = name;
+        // Order of the requested screens does not change the page bundle.
+        this.screens = new TreeSet<>(screens);
+        this.locale = locale;
+        this.restrictToPublished = restrictToPublished;
+    }
+
+    /**
+     * @return Type of the requested page bundle.
+     */
+    public String getType() {
+
+        return type;
+    }
+
+    /**
+     * @return Name of the tenant/application that the page bundle is requested for.
+     */
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * @return Screens of the custom text preferences of the page bundle.
+     */
+    public Set<String> getScreens() {
+
+        return screens;
+    }
+
+    /**
+     * @return Language preference of the page bundle.
+     */
+    public String getLocale() {
+
+        return locale;
+    }
+
+    /**
+     * @return Whether the branding is resolved using only published branding preferences.
+     */
+    public boolean isRestrictToPublished() {
+
+        return restrictToPublished;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        PageBundleCacheKey that = (PageBundleCacheKey) o;
+
+        return restrictToPublished == that.restrictToPublished && Objects.equals(type, that.type)
+                && Objects.equals(name, that.name) && Objects.equals(screens, that.screens)
+                && Objects.equals(locale, that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + Objects.hashCode(type);
+        result = 31 * result + Objects.hashCode(name);
+        result = 31 * result + Objects.hashCode(screens);
+        result = 31 * result + Objects.hashCode(locale);
+        result = 31 * result + (restrictToPublished ? 1 : 0);
+        return result;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.branding.preference.management.core.model.RawPreference;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry which is kept in the resolved branding cache. Holds the resolved branding preference content, after
+ * the inherited display name adjustments are applied.
+ */
+public class ResolvedBrandingCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 3112605038259279024L;
+
+    private String type;
+    private String name;
+    private String locale;
+    private Object preference;
+    private RawPreference rawPreference;
+    private String resolvedFromType;
+    private String resolvedFromName;
+    private BrandingGenerationStamp generationStamp;
+    private Boolean brandingEnabled;
+
+    /**
+     * @param type             Type of the resolved branding preference.
+     * @param name             Name of the tenant/application of the resolved branding preference.
+     * @param locale           Language preference of the resolved branding preference.
+     * @param preference       Resolved branding preference content.
+     * @param resolvedFromType Type of the source that the branding is resolved from.
+     * @param resolvedFromName Name of the source that the branding is resolved from.
+     */
+    public ResolvedBrandingCacheEntry(String type, String name, String locale, Object preference,
+                                      String resolvedFromType, String resolvedFromName) {
+
+        this.type = type;
+        this.name = name;
+        this.locale = locale;
+        this.preference = preference;
+        this.resolvedFromType = resolvedFromType;
+        this.resolvedFromName = resolvedFromName;
+    }
+
+    /**
+     * @return Type of the resolved branding preference.
+     */
+    public String getType() {
+
+        return type;
+    }
+
+    /**
+     * @return Name of the tenant/application of the resolved branding preference.
+     */
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * @return Language preference of the resolved branding preference.
+     */
+    public String getLocale() {
+
+        return locale;
+    }
+
+    /**
+     * @return Resolved branding preference content, or null if the content is held as a raw document.
+     */
+    public Object getPreference() {
+
+        return preference;
+    }
+
+    /**
+     * @return Resolved branding preference content as a raw document, or null if the content is held as a tree.
+     */
+    public RawPreference getRawPreference() {
+
+        return rawPreference;
+    }
+
+    /**
+     * @param rawPreference Resolved branding preference content as a raw document.
+     */
+    public void setRawPreference(RawPreference rawPreference) {
+
+        this.rawPreference = rawPreference;
+    }
+
+    /**
+     * @return Type of the source that the branding is resolved from.
+     */
+    public String getResolvedFromType() {
+
+        return resolvedFromType;
+    }
+
+    /**
+     * @return Name of the source that the branding is resolved from.
+     */
+    public String getResolvedFromName() {
+
+        return resolvedFromName;
+    }
+
+    /**
+     * @return Branding generations of the resolution path of the entry, or null if the entry is not stamped.
+     */
+    public BrandingGenerationStamp getGenerationStamp() {
+
+        return generationStamp;
+    }
+
+    /**
+     * @param generationStamp Branding generations of the resolution path of the entry.
+     */
+    public void setGenerationStamp(BrandingGenerationStamp generationStamp) {
+
+        this.generationStamp = generationStamp;
+    }
+
+    /**
+     * @return Value of configs.isBrandingEnabled of the resolved branding preference, or null if not captured.
+     */
+    public Boolean getBrandingEnabled() {
+
+        return brandingEnabled;
+    }
+
+    /**
+     * @param brandingEnabled Value of configs.isBrandingEnabled of the resolved branding preference.
+     */
+    public void setBrandingEnabled(Boolean brandingEnabled) {
+
+        this.brandingEnabled = brandingEnabled;
+    }
+}
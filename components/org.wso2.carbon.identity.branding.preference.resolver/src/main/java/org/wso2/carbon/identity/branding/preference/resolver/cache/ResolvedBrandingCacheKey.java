@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key for lookup fully resolved branding preferences from the cache.
+ */
+public class ResolvedBrandingCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -3241022571833302024L;
+
+    private String brandingType;
+    private String brandingName;
+    private String locale;
+    private boolean restrictToPublished;
+
+    /**
+     * @param brandingType        Type of the requested branding (organization or application).
+     * @param brandingName        Name of the tenant/application that the branding is requested for.
+     * @param locale              Language preference of the branding.
+     * @param restrictToPublished Whether the branding is resolved using only published branding preferences.
+     */
+    public ResolvedBrandingCacheKey(String brandingType, String brandingName, String locale,
+                                    boolean restrictToPublished) {
+
+        this.brandingType = brandingType;
+        this.brandingName = brandingName;
+        this.locale = locale;
+        this.restrictToPublished = restrictToPublished;
+    }
+
+    /**
+     * @return Type of the requested branding.
+     */
+    public String getBrandingType() {
+
+        return brandingType;
+    }
+
+    /**
+     * @return Name of the tenant/application that the branding is requested for.
+     */
+    public String getBrandingName() {
+
+        return brandingName;
+    }
+
+    /**
+     * @return Language preference of the branding.
+     */
+    public String getLocale() {
+
+        return locale;
+    }
+
+    /**
+     * @return Whether the branding is resolved using only published branding preferences.
+     */
+    public boolean isRestrictToPublished() {
+
+        return restrictToPublished;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        ResolvedBrandingCacheKey that = (ResolvedBrandingCacheKey) o;
+
+        return restrictToPublished == that.restrictToPublished && Objects.equals(brandingType, that.brandingType)
+                && Objects.equals(brandingName, that.brandingName) && Objects.equals(locale, that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = super.hashCode();
+        result = 31 * result + Objects.hashCode(brandingType);
+        result = 31 * result + Objects.hashCode(brandingName);
+        result = 31 * result + Objects.hashCode(locale);
+        result = 31 * result + (restrictToPublished ? 1 : 0);
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.constant;
+
+/**
+ * Constants related to the branding preference resolver.
+ */
+public class BrandingResolverConstants {
+
+    private BrandingResolverConstants() {
+
+    }
+
+    // Resolver configurations read from identity.xml.
+    public static final String RESOLVED_CONTENT_CACHE_ENABLED_CONFIG =
+            "BrandingPreferenceResolver.ResolvedContentCache.Enable";
+    public static final String NOT_CONFIGURED_CACHE_TIMEOUT_CONFIG =
+            "BrandingPreferenceResolver.NotConfiguredCache.Timeout";
+    public static final String REQUEST_COALESCING_ENABLED_CONFIG =
+            "BrandingPreferenceResolver.RequestCoalescing.Enable";
+    public static final String REQUEST_COALESCING_MAX_WAIT_TIME_CONFIG =
+            "BrandingPreferenceResolver.RequestCoalescing.MaxWaitTime";
+    public static final String ANCESTOR_LOOKUP_MODE_CONFIG = "BrandingPreferenceResolver.AncestorLookup.Mode";
+    public static final String ANCESTOR_PROBE_POOL_SIZE_CONFIG =
+            "BrandingPreferenceResolver.AncestorLookup.ParallelPoolSize";
+    public static final String MAX_CONCURRENT_ANCESTOR_PROBES_CONFIG =
+            "BrandingPreferenceResolver.AncestorLookup.MaxConcurrentProbes";
+    public static final String GENERATION_INVALIDATION_ENABLED_CONFIG =
+            "BrandingPreferenceResolver.GenerationInvalidation.Enable";
+    public static final String DEPENDENCY_INDEX_ENABLED_CONFIG = "BrandingPreferenceResolver.DependencyIndex.Enable";
+    public static final String MAX_DEPENDENTS_PER_TENANT_CONFIG =
+            "BrandingPreferenceResolver.DependencyIndex.MaxDependentsPerTenant";
+    public static final String HIERARCHY_TRAVERSAL_PAGE_SIZE_CONFIG =
+            "BrandingPreferenceResolver.HierarchyTraversal.PageSize";
+    public static final String HIERARCHY_TRAVERSAL_POOL_SIZE_CONFIG =
+            "BrandingPreferenceResolver.HierarchyTraversal.PoolSize";
+    public static final String HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE_CONFIG =
+            "BrandingPreferenceResolver.HierarchyTraversal.WorkerPoolSize";
+    public static final String HIERARCHY_TRAVERSAL_MAX_RETRIES_CONFIG =
+            "BrandingPreferenceResolver.HierarchyTraversal.MaxRetries";
+    public static final String INVALIDATION_DEBOUNCE_TIME_CONFIG =
+            "BrandingPreferenceResolver.InvalidationScheduler.DebounceTime";
+    public static final String INVALIDATION_MAX_DELAY_CONFIG =
+            "BrandingPreferenceResolver.InvalidationScheduler.MaxDelay";
+    public static final String CUSTOM_TEXT_MERGE_ENABLED_CONFIG = "BrandingPreferenceResolver.CustomTextMerge.Enable";
+    public static final String LOCALE_FALLBACK_ENABLED_CONFIG = "BrandingPreferenceResolver.LocaleFallback.Enable";
+
+    // Attributes of the configuration store used to search the ancestor branding resources.
+    public static final String RESOURCE_TYPE_NAME_SEARCH_KEY = "resourceTypeName";
+    public static final String RESOURCE_NAME_SEARCH_KEY = "resourceName";
+    public static final String TENANT_DOMAIN_SEARCH_KEY = "tenantDomain";
+
+    // Organization management events which invalidate the organization hierarchy index.
+    public static final String EVENT_POST_DELETE_ORGANIZATION = "POST_DELETE_ORGANIZATION";
+    public static final String EVENT_POST_UPDATE_ORGANIZATION = "POST_UPDATE_ORGANIZATION";
+    public static final String EVENT_POST_PATCH_ORGANIZATION = "POST_PATCH_ORGANIZATION";
+    public static final String EVENT_PROP_ORGANIZATION_ID = "ORGANIZATION_ID";
+
+    // Default validity period of the branding not configured cache entries in seconds.
+    public static final int DEFAULT_NOT_CONFIGURED_CACHE_TIMEOUT = 900;
+
+    // Default maximum time in milliseconds to wait for an in progress branding resolution of the same request.
+    public static final int DEFAULT_REQUEST_COALESCING_MAX_WAIT_TIME = 3000;
+
+    // Default size of the thread pool which probes the ancestor branding preferences in the parallel lookup mode.
+    public static final int DEFAULT_ANCESTOR_PROBE_POOL_SIZE = 10;
+
+    // Default maximum number of ancestor probes which are in flight for a single request in the parallel lookup mode.
+    public static final int DEFAULT_MAX_CONCURRENT_ANCESTOR_PROBES = 4;
+
+    // Default maximum number of resolver cache entries tracked as the dependents of a tenant.
+    public static final int DEFAULT_MAX_DEPENDENTS_PER_TENANT = 10000;
+
+    // Defaults of the traversals of the child organization hierarchy which clear the resolver caches.
+    public static final int DEFAULT_HIERARCHY_TRAVERSAL_PAGE_SIZE = 10000;
+    public static final int DEFAULT_HIERARCHY_TRAVERSAL_POOL_SIZE = 2;
+    public static final int DEFAULT_HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE = 4;
+    public static final int DEFAULT_HIERARCHY_TRAVERSAL_MAX_RETRIES = 3;
+
+    // Default time in milliseconds to wait for further changes before invalidating a hierarchy.
+    public static final int DEFAULT_INVALIDATION_DEBOUNCE_TIME = 2000;
+
+    // Default maximum time in milliseconds a hierarchy invalidation is kept pending.
+    public static final int DEFAULT_INVALIDATION_MAX_DELAY = 10000;
+
+    /**
+     * Modes of looking up the branding preferences of the ancestor organizations.
+     */
+    public enum AncestorLookupMode {
+
+        // Probe the ancestors one by one, starting from the nearest ancestor.
+        SEQUENTIAL,
+        // Search the ancestor branding resources in a single store query, and probe only the existing ones.
+        BATCH,
+        // Probe the ancestors concurrently, while the nearest available ancestor wins.
+        PARALLEL
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.handler;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.branding.preference.resolver.util.OrganizationHierarchyIndex;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.EVENT_POST_DELETE_ORGANIZATION;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.EVENT_POST_PATCH_ORGANIZATION;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.EVENT_POST_UPDATE_ORGANIZATION;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.EVENT_PROP_ORGANIZATION_ID;
+
+/**
+ * Event handler which invalidates the organization hierarchy index of the branding resolver on organization
+ * management events.
+ */
+public class OrganizationHierarchyEventHandler extends AbstractEventHandler {
+
+    private static final Log LOG = LogFactory.getLog(OrganizationHierarchyEventHandler.class);
+    private static final String HANDLER_NAME = "brandingResolverOrganizationHierarchyEventHandler";
+
+    private final OrganizationHierarchyIndex organizationHierarchyIndex;
+
+    /**
+     * @param organizationHierarchyIndex Organization hierarchy index to be invalidated.
+     */
+    public OrganizationHierarchyEventHandler(OrganizationHierarchyIndex organizationHierarchyIndex) {
+
+        this.organizationHierarchyIndex = organizationHierarchyIndex;
+    }
+
+    @Override
+    public String getName() {
+
+        return HANDLER_NAME;
+    }
+
+    @Override
+    public boolean canHandle(MessageContext messageContext) throws IdentityRuntimeException {
+
+        if (!(messageContext instanceof IdentityEventMessageContext)) {
+            return false;
+        }
+        Event event = ((IdentityEventMessageContext) messageContext).getEvent();
+        if (event == null) {
+            return false;
+        }
+        String eventName = event.getEventName();
+        return EVENT_POST_DELETE_ORGANIZATION.equals(eventName) || EVENT_POST_UPDATE_ORGANIZATION.equals(eventName)
+                || EVENT_POST_PATCH_ORGANIZATION.equals(eventName);
+    }
+
+    @Override
+    public void handleEvent(Event event) throws IdentityEventException {
+
+        Object organizationId = event.getEventProperties().get(EVENT_PROP_ORGANIZATION_ID);
+        if (EVENT_POST_DELETE_ORGANIZATION.equals(event.getEventName()) || organizationId == null
+                || StringUtils.isBlank(organizationId.toString())) {
+            // Ancestor chains of the other organizations may contain the deleted organization.
+            organizationHierarchyIndex.clear();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cleared the organization hierarchy index on the event: " + event.getEventName());
+            }
+            return;
+        }
+        organizationHierarchyIndex.clear(organizationId.toString());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Cleared the organization hierarchy record of the organization: " + organizationId
+                    + " on the event: " + event.getEventName());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2024, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2023-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,23 +18,62 @@
 
 package org.wso2.carbon.identity.branding.preference.resolver.internal;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.branding.preference.management.core.UIBrandingPreferenceResolver;
 import org.wso2.carbon.identity.branding.preference.resolver.UIBrandingPreferenceResolverImpl;
-import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedAppCache;
-import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedOrgCache;
-import org.wso2.carbon.identity.branding.preference.resolver.cache.TextCustomizedOrgCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingResolverCaches;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.OrganizationHierarchyCache;
+import org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.AncestorLookupMode;
+import org.wso2.carbon.identity.branding.preference.resolver.handler.OrganizationHierarchyEventHandler;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingResolverExecutors;
+import org.wso2.carbon.identity.branding.preference.resolver.util.OrganizationHierarchyIndex;
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.organization.management.application.OrgApplicationManager;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 
+import java.util.Locale;
+
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.ANCESTOR_LOOKUP_MODE_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.ANCESTOR_PROBE_POOL_SIZE_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.CUSTOM_TEXT_MERGE_ENABLED_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_ANCESTOR_PROBE_POOL_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_MAX_RETRIES;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_PAGE_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_POOL_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_INVALIDATION_DEBOUNCE_TIME;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_INVALIDATION_MAX_DELAY;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_MAX_CONCURRENT_ANCESTOR_PROBES;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_MAX_DEPENDENTS_PER_TENANT;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_NOT_CONFIGURED_CACHE_TIMEOUT;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_REQUEST_COALESCING_MAX_WAIT_TIME;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEPENDENCY_INDEX_ENABLED_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.GENERATION_INVALIDATION_ENABLED_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.HIERARCHY_TRAVERSAL_MAX_RETRIES_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.HIERARCHY_TRAVERSAL_PAGE_SIZE_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.HIERARCHY_TRAVERSAL_POOL_SIZE_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.INVALIDATION_DEBOUNCE_TIME_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.INVALIDATION_MAX_DELAY_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.LOCALE_FALLBACK_ENABLED_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.MAX_CONCURRENT_ANCESTOR_PROBES_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.MAX_DEPENDENTS_PER_TENANT_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.NOT_CONFIGURED_CACHE_TIMEOUT_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.REQUEST_COALESCING_ENABLED_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.REQUEST_COALESCING_MAX_WAIT_TIME_CONFIG;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.RESOLVED_CONTENT_CACHE_ENABLED_CONFIG;
+
 /**
  * OSGi declarative services component which handles registration and un-registration of branding preference management
  * service.
@@ -47,13 +86,57 @@ public class BrandingResolverComponent {
 
     private static final Log LOG = LogFactory.getLog(BrandingResolverComponent.class);
 
+    private BrandingResolverExecutors resolverExecutors;
+
     @Activate
     protected void activate(ComponentContext context) {
 
         try {
+            BrandingResolverComponentDataHolder.getInstance().setResolvedContentCacheEnabled(
+                    Boolean.parseBoolean(IdentityUtil.getProperty(RESOLVED_CONTENT_CACHE_ENABLED_CONFIG)));
+            BrandingResolverComponentDataHolder.getInstance().setNotConfiguredCacheTimeout(
+                    getIntegerProperty(NOT_CONFIGURED_CACHE_TIMEOUT_CONFIG, DEFAULT_NOT_CONFIGURED_CACHE_TIMEOUT));
+            BrandingResolverComponentDataHolder.getInstance().setRequestCoalescingEnabled(
+                    getBooleanProperty(REQUEST_COALESCING_ENABLED_CONFIG, true));
+            BrandingResolverComponentDataHolder.getInstance().setRequestCoalescingMaxWaitTime(getIntegerProperty(
+                    REQUEST_COALESCING_MAX_WAIT_TIME_CONFIG, DEFAULT_REQUEST_COALESCING_MAX_WAIT_TIME));
+            BrandingResolverComponentDataHolder.getInstance().setAncestorLookupMode(getAncestorLookupMode());
+            BrandingResolverComponentDataHolder.getInstance().setAncestorProbePoolSize(getIntegerProperty(
+                    ANCESTOR_PROBE_POOL_SIZE_CONFIG, DEFAULT_ANCESTOR_PROBE_POOL_SIZE));
+            BrandingResolverComponentDataHolder.getInstance().setMaxConcurrentAncestorProbes(getIntegerProperty(
+                    MAX_CONCURRENT_ANCESTOR_PROBES_CONFIG, DEFAULT_MAX_CONCURRENT_ANCESTOR_PROBES));
+            BrandingResolverComponentDataHolder.getInstance().setGenerationInvalidationEnabled(
+                    getBooleanProperty(GENERATION_INVALIDATION_ENABLED_CONFIG, false));
+            BrandingResolverComponentDataHolder.getInstance().setDependencyIndexEnabled(
+                    getBooleanProperty(DEPENDENCY_INDEX_ENABLED_CONFIG, false));
+            BrandingResolverComponentDataHolder.getInstance().setMaxDependentsPerTenant(getIntegerProperty(
+                    MAX_DEPENDENTS_PER_TENANT_CONFIG, DEFAULT_MAX_DEPENDENTS_PER_TENANT));
+            BrandingResolverComponentDataHolder.getInstance().setHierarchyTraversalPageSize(getIntegerProperty(
+                    HIERARCHY_TRAVERSAL_PAGE_SIZE_CONFIG, DEFAULT_HIERARCHY_TRAVERSAL_PAGE_SIZE));
+            BrandingResolverComponentDataHolder.getInstance().setHierarchyTraversalPoolSize(getIntegerProperty(
+                    HIERARCHY_TRAVERSAL_POOL_SIZE_CONFIG, DEFAULT_HIERARCHY_TRAVERSAL_POOL_SIZE));
+            BrandingResolverComponentDataHolder.getInstance().setHierarchyTraversalWorkerPoolSize(getIntegerProperty(
+                    HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE_CONFIG, DEFAULT_HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE));
+            BrandingResolverComponentDataHolder.getInstance().setHierarchyTraversalMaxRetries(getIntegerProperty(
+                    HIERARCHY_TRAVERSAL_MAX_RETRIES_CONFIG, DEFAULT_HIERARCHY_TRAVERSAL_MAX_RETRIES));
+            BrandingResolverComponentDataHolder.getInstance().setInvalidationDebounceTime(getIntegerProperty(
+                    INVALIDATION_DEBOUNCE_TIME_CONFIG, DEFAULT_INVALIDATION_DEBOUNCE_TIME));
+            BrandingResolverComponentDataHolder.getInstance().setInvalidationMaxDelay(getIntegerProperty(
+                    INVALIDATION_MAX_DELAY_CONFIG, DEFAULT_INVALIDATION_MAX_DELAY));
+            BrandingResolverComponentDataHolder.getInstance().setCustomTextMergeEnabled(
+                    getBooleanProperty(CUSTOM_TEXT_MERGE_ENABLED_CONFIG, false));
+            BrandingResolverComponentDataHolder.getInstance().setLocaleFallbackEnabled(
+                    getBooleanProperty(LOCALE_FALLBACK_ENABLED_CONFIG, true));
+            resolverExecutors = new BrandingResolverExecutors(
+                    BrandingResolverComponentDataHolder.getInstance().getAncestorProbePoolSize(),
+                    BrandingResolverComponentDataHolder.getInstance().getHierarchyTraversalPoolSize(),
+                    BrandingResolverComponentDataHolder.getInstance().getHierarchyTraversalWorkerPoolSize());
+            BrandingResolverComponentDataHolder.getInstance().setResolverExecutors(resolverExecutors);
             context.getBundleContext().registerService(UIBrandingPreferenceResolver.class,
-                    new UIBrandingPreferenceResolverImpl(BrandedOrgCache.getInstance(),
-                            BrandedAppCache.getInstance(), TextCustomizedOrgCache.getInstance()), null);
+                    new UIBrandingPreferenceResolverImpl(new BrandingResolverCaches(), resolverExecutors), null);
+            context.getBundleContext().registerService(AbstractEventHandler.class,
+                    new OrganizationHierarchyEventHandler(
+                            new OrganizationHierarchyIndex(OrganizationHierarchyCache.getInstance())), null);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("BrandingResolver Component is activated.");
             }
@@ -62,6 +145,77 @@ public class BrandingResolverComponent {
         }
     }
 
+    @Deactivate
+    protected void deactivate(ComponentContext context) {
+
+        if (resolverExecutors != null) {
+            resolverExecutors.shutdown();
+            resolverExecutors = null;
+        }
+        BrandingResolverComponentDataHolder.getInstance().setResolverExecutors(null);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("BrandingResolver Component is deactivated.");
+        }
+    }
+
+    /**
+     * Read the ancestor lookup mode of the resolver from identity.xml.
+     *
+     * @return Configured ancestor lookup mode.
+     */
+    private AncestorLookupMode getAncestorLookupMode() {
+
+        String propertyValue = IdentityUtil.getProperty(ANCESTOR_LOOKUP_MODE_CONFIG);
+        if (StringUtils.isBlank(propertyValue)) {
+            return AncestorLookupMode.SEQUENTIAL;
+        }
+        try {
+            return AncestorLookupMode.valueOf(propertyValue.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Invalid value: " + propertyValue + " configured for: " + ANCESTOR_LOOKUP_MODE_CONFIG
+                    + ". Using the default value: " + AncestorLookupMode.SEQUENTIAL);
+            return AncestorLookupMode.SEQUENTIAL;
+        }
+    }
+
+    /**
+     * Read a boolean resolver configuration from identity.xml.
+     *
+     * @param propertyName Name of the property.
+     * @param defaultValue Value to be used if the property is not configured.
+     * @return Configured value of the property.
+     */
+    private boolean getBooleanProperty(String propertyName, boolean defaultValue) {
+
+        String propertyValue = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(propertyValue)) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(propertyValue.trim());
+    }
+
+    /**
+     * Read an integer resolver configuration from identity.xml.
+     *
+     * @param propertyName Name of the property.
+     * @param defaultValue Value to be used if the property is not configured or invalid.
+     * @return Configured value of the property.
+     */
+    private int getIntegerProperty(String propertyName, int defaultValue) {
+
+        String propertyValue = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isBlank(propertyValue)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(propertyValue.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value: " + propertyValue + " configured for: " + propertyName + ". Using the "
+                    + "default value: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     @Reference(
             name = "resource.configuration.manager.service",
             service = ConfigurationManager.class,
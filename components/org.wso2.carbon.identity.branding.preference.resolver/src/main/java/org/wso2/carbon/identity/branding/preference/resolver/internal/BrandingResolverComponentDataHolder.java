@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023-2024, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2023-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -18,10 +18,24 @@
 
 package org.wso2.carbon.identity.branding.preference.resolver.internal;
 
+import org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.AncestorLookupMode;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingResolverExecutors;
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
 import org.wso2.carbon.identity.organization.management.application.OrgApplicationManager;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_ANCESTOR_PROBE_POOL_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_MAX_RETRIES;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_PAGE_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_POOL_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_INVALIDATION_DEBOUNCE_TIME;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_INVALIDATION_MAX_DELAY;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_MAX_CONCURRENT_ANCESTOR_PROBES;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_MAX_DEPENDENTS_PER_TENANT;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_NOT_CONFIGURED_CACHE_TIMEOUT;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.DEFAULT_REQUEST_COALESCING_MAX_WAIT_TIME;
+
 /**
  * A class to keep the data of the branding preference management component.
  */
@@ -33,6 +47,25 @@ public class BrandingResolverComponentDataHolder {
     private ConfigurationManager configurationManager;
     private OrganizationManager organizationManager;
     private OrgApplicationManager orgApplicationManager;
+    private boolean resolvedContentCacheEnabled;
+    private int notConfiguredCacheTimeout = DEFAULT_NOT_CONFIGURED_CACHE_TIMEOUT;
+    private boolean requestCoalescingEnabled = true;
+    private int requestCoalescingMaxWaitTime = DEFAULT_REQUEST_COALESCING_MAX_WAIT_TIME;
+    private AncestorLookupMode ancestorLookupMode = AncestorLookupMode.SEQUENTIAL;
+    private int ancestorProbePoolSize = DEFAULT_ANCESTOR_PROBE_POOL_SIZE;
+    private int maxConcurrentAncestorProbes = DEFAULT_MAX_CONCURRENT_ANCESTOR_PROBES;
+    private boolean generationInvalidationEnabled;
+    private boolean dependencyIndexEnabled;
+    private int maxDependentsPerTenant = DEFAULT_MAX_DEPENDENTS_PER_TENANT;
+    private int hierarchyTraversalPageSize = DEFAULT_HIERARCHY_TRAVERSAL_PAGE_SIZE;
+    private int hierarchyTraversalPoolSize = DEFAULT_HIERARCHY_TRAVERSAL_POOL_SIZE;
+    private int hierarchyTraversalWorkerPoolSize = DEFAULT_HIERARCHY_TRAVERSAL_WORKER_POOL_SIZE;
+    private int hierarchyTraversalMaxRetries = DEFAULT_HIERARCHY_TRAVERSAL_MAX_RETRIES;
+    private int invalidationDebounceTime = DEFAULT_INVALIDATION_DEBOUNCE_TIME;
+    private int invalidationMaxDelay = DEFAULT_INVALIDATION_MAX_DELAY;
+    private boolean customTextMergeEnabled;
+    private boolean localeFallbackEnabled = true;
+    private BrandingResolverExecutors resolverExecutors;
 
     public static BrandingResolverComponentDataHolder getInstance() {
 
@@ -72,4 +105,194 @@ public class BrandingResolverComponentDataHolder {
 
         this.orgApplicationManager = orgApplicationManager;
     }
+
+    public boolean isResolvedContentCacheEnabled() {
+
+        return resolvedContentCacheEnabled;
+    }
+
+    public void setResolvedContentCacheEnabled(boolean resolvedContentCacheEnabled) {
+
+        this.resolvedContentCacheEnabled = resolvedContentCacheEnabled;
+    }
+
+    public int getNotConfiguredCacheTimeout() {
+
+        return notConfiguredCacheTimeout;
+    }
+
+    public void setNotConfiguredCacheTimeout(int notConfiguredCacheTimeout) {
+
+        this.notConfiguredCacheTimeout = notConfiguredCacheTimeout;
+    }
+
+    public boolean isRequestCoalescingEnabled() {
+
+        return requestCoalescingEnabled;
+    }
+
+    public void setRequestCoalescingEnabled(boolean requestCoalescingEnabled) {
+
+        this.requestCoalescingEnabled = requestCoalescingEnabled;
+    }
+
+    public int getRequestCoalescingMaxWaitTime() {
+
+        return requestCoalescingMaxWaitTime;
+    }
+
+    public void setRequestCoalescingMaxWaitTime(int requestCoalescingMaxWaitTime) {
+
+        this.requestCoalescingMaxWaitTime = requestCoalescingMaxWaitTime;
+    }
+
+    public AncestorLookupMode getAncestorLookupMode() {
+
+        return ancestorLookupMode;
+    }
+
+    public void setAncestorLookupMode(AncestorLookupMode ancestorLookupMode) {
+
+        this.ancestorLookupMode = ancestorLookupMode;
+    }
+
+    public int getAncestorProbePoolSize() {
+
+        return ancestorProbePoolSize;
+    }
+
+    public void setAncestorProbePoolSize(int ancestorProbePoolSize) {
+
+        this.ancestorProbePoolSize = ancestorProbePoolSize;
+    }
+
+    public int getMaxConcurrentAncestorProbes() {
+
+        return maxConcurrentAncestorProbes;
+    }
+
+    public void setMaxConcurrentAncestorProbes(int maxConcurrentAncestorProbes) {
+
+        this.maxConcurrentAncestorProbes = maxConcurrentAncestorProbes;
+    }
+
+    public boolean isGenerationInvalidationEnabled() {
+
+        return generationInvalidationEnabled;
+    }
+
+    public void setGenerationInvalidationEnabled(boolean generationInvalidationEnabled) {
+
+        this.generationInvalidationEnabled = generationInvalidationEnabled;
+    }
+
+    public boolean isDependencyIndexEnabled() {
+
+        return dependencyIndexEnabled;
+    }
+
+    public void setDependencyIndexEnabled(boolean dependencyIndexEnabled) {
+
+        this.dependencyIndexEnabled = dependencyIndexEnabled;
+    }
+
+    public int getMaxDependentsPerTenant() {
+
+        return maxDependentsPerTenant;
+    }
+
+    public void setMaxDependentsPerTenant(int maxDependentsPerTenant) {
+
+        this.maxDependentsPerTenant = maxDependentsPerTenant;
+    }
+
+    public int getHierarchyTraversalPageSize() {
+
+        return hierarchyTraversalPageSize;
+    }
+
+    public void setHierarchyTraversalPageSize(int hierarchyTraversalPageSize) {
+
+        this.hierarchyTraversalPageSize = hierarchyTraversalPageSize;
+    }
+
+    public int getHierarchyTraversalPoolSize() {
+
+        return hierarchyTraversalPoolSize;
+    }
+
+    public void setHierarchyTraversalPoolSize(int hierarchyTraversalPoolSize) {
+
+        this.hierarchyTraversalPoolSize = hierarchyTraversalPoolSize;
+    }
+
+    public int getHierarchyTraversalWorkerPoolSize() {
+
+        return hierarchyTraversalWorkerPoolSize;
+    }
+
+    public void setHierarchyTraversalWorkerPoolSize(int hierarchyTraversalWorkerPoolSize) {
+
+        this.hierarchyTraversalWorkerPoolSize = hierarchyTraversalWorkerPoolSize;
+    }
+
+    public int getHierarchyTraversalMaxRetries() {
+
+        return hierarchyTraversalMaxRetries;
+    }
+
+    public void setHierarchyTraversalMaxRetries(int hierarchyTraversalMaxRetries) {
+
+        this.hierarchyTraversalMaxRetries = hierarchyTraversalMaxRetries;
+    }
+
+    public int getInvalidationDebounceTime() {
+
+        return invalidationDebounceTime;
+    }
+
+    public void setInvalidationDebounceTime(int invalidationDebounceTime) {
+
+        this.invalidationDebounceTime = invalidationDebounceTime;
+    }
+
+    public int getInvalidationMaxDelay() {
+
+        return invalidationMaxDelay;
+    }
+
+    public void setInvalidationMaxDelay(int invalidationMaxDelay) {
+
+        this.invalidationMaxDelay = invalidationMaxDelay;
+    }
+
+    public boolean isCustomTextMergeEnabled() {
+
+        return customTextMergeEnabled;
+    }
+
+    public void setCustomTextMergeEnabled(boolean customTextMergeEnabled) {
+
+        this.customTextMergeEnabled = customTextMergeEnabled;
+    }
+
+    public boolean isLocaleFallbackEnabled() {
+
+        return localeFallbackEnabled;
+    }
+
+    public void setLocaleFallbackEnabled(boolean localeFallbackEnabled) {
+
+        this.localeFallbackEnabled = localeFallbackEnabled;
+    }
+
+    public BrandingResolverExecutors getResolverExecutors() {
+
+        return resolverExecutors;
+    }
+
+    public void setResolverExecutors(BrandingResolverExecutors resolverExecutors) {
+
+        this.resolverExecutors = resolverExecutors;
+    }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_TYPE;
+
+/**
+ * Reverse dependency index of the branding resolver caches. Keeps the resolver cache entries which were resolved
+ * through each tenant, so that a branding change of the tenant evicts only the entries which depend on it, instead of
+ * sweeping the child organization hierarchy. The index is kept in memory of the node, and only knows the entries
+ * resolved on this node since it started. Hence, the dependents of a tenant are only reported once the tenant is
+ * tracked, i.e. once a hierarchy sweep has cleared the entries which were resolved before the index knew them. The
+ * index does not know the entries resolved on the other nodes of a cluster, and is meant to be enabled where the
+ * branding changes are handled by the node which resolves the branding. The number of dependents of a tenant is
+ * bounded. Once the bound is exceeded, the tenant is no longer tracked until the next hierarchy sweep.
+ */
+public class BrandingDependencyIndex {
+
+    private static final Log LOG = LogFactory.getLog(BrandingDependencyIndex.class);
+
+    private final int maxDependentsPerTenant;
+    private final Map<String, Set<Dependent>> dependents = new ConcurrentHashMap<>();
+    private final Set<String> overflowedTenantDomains = ConcurrentHashMap.newKeySet();
+    private final Set<String> trackedTenantDomains = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxDependentsPerTenant Maximum number of dependents tracked for a tenant.
+     */
+    public BrandingDependencyIndex(int maxDependentsPerTenant) {
+
+        this.maxDependentsPerTenant = maxDependentsPerTenant;
+    }
+
+    /**
+     * Record that a resolver cache entry was resolved through the given tenant.
+     *
+     * @param tenantDomain Tenant domain which the entry was resolved through.
+     * @param dependent    Resolver cache entry.
+     */
+    public void addDependent(String tenantDomain, Dependent dependent) {
+
+        if (overflowedTenantDomains.contains(tenantDomain)) {
+            return;
+        }
+        Set<Dependent> tenantDependents =
+                dependents.computeIfAbsent(tenantDomain, key -> ConcurrentHashMap.newKeySet());
+        if (tenantDependents.size() >= maxDependentsPerTenant && !tenantDependents.contains(dependent)) {
+            overflowedTenantDomains.add(tenantDomain);
+            trackedTenantDomains.remove(tenantDomain);
+            dependents.remove(tenantDomain);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Branding dependents of the tenant: " + tenantDomain + " exceeded the limit: "
+                        + maxDependentsPerTenant + ". Hence, the dependents are no longer tracked.");
+            }
+            return;
+        }
+        tenantDependents.add(dependent);
+    }
+
+    /**
+     * Get the resolver cache entries which depend on the given type of branding of the tenant.
+     *
+     * @param tenantDomain Tenant domain of the changed branding.
+     * @param type         Branding resource type of the changed branding.
+     * @return Dependent resolver cache entries, or null if the dependents of the tenant are not tracked.
+     */
+    public Set<Dependent> getDependents(String tenantDomain, String type) {
+
+        if (!trackedTenantDomains.contains(tenantDomain)) {
+            return null;
+        }
+        Set<Dependent> tenantDependents = dependents.get(tenantDomain);
+        if (tenantDependents == null) {
+            return Collections.emptySet();
+        }
+        Set<Dependent> matchingDependents = new HashSet<>();
+        for (Dependent dependent : tenantDependents) {
+            if (dependsOn(dependent, type)) {
+                matchingDependents.add(dependent);
+            }
+        }
+        return matchingDependents;
+    }
+
+    /**
+     * Remove the resolver cache entries which depend on the given type of branding of the tenant from the index.
+     *
+     * @param tenantDomain Tenant domain of the changed branding.
+     * @param type         Branding resource type of the changed branding.
+     * @return Removed resolver cache entries, or null if the dependents of the tenant are not tracked.
+     */
+    public Set<Dependent> removeDependents(String tenantDomain, String type) {
+
+        if (!trackedTenantDomains.contains(tenantDomain)) {
+            return null;
+        }
+        return removeMatchingDependents(tenantDomain, type);
+    }
+
+    /**
+     * Start tracking the dependents of the tenant. Called when the hierarchy sweep of a branding change of the tenant
+     * is scheduled, since the sweep clears the entries which were resolved before the index knew them.
+     *
+     * @param tenantDomain Tenant domain of the changed branding.
+     * @param type         Branding resource type of the changed branding.
+     */
+    public void startTracking(String tenantDomain, String type) {
+
+        // Recorded dependents of the changed branding are cleared by the sweep.
+        removeMatchingDependents(tenantDomain, type);
+        overflowedTenantDomains.remove(tenantDomain);
+        trackedTenantDomains.add(tenantDomain);
+    }
+
+    /**
+     * Stop tracking the dependents of the tenant. Called when the hierarchy sweep of the tenant failed, since the
+     * entries which were left by the sweep are not known to the index.
+     *
+     * @param tenantDomain Tenant domain of the changed branding.
+     */
+    public void stopTracking(String tenantDomain) {
+
+        trackedTenantDomains.remove(tenantDomain);
+    }
+
+    private Set<Dependent> removeMatchingDependents(String tenantDomain, String type) {
+
+        Set<Dependent> tenantDependents = dependents.get(tenantDomain);
+        if (tenantDependents == null) {
+            return Collections.emptySet();
+        }
+        Set<Dependent> removedDependents = new HashSet<>();
+        for (Dependent dependent : tenantDependents) {
+            if (dependsOn(dependent, type) && tenantDependents.remove(dependent)) {
+                removedDependents.add(dependent);
+            }
+        }
+        return removedDependents;
+    }
+
+    private static boolean dependsOn(Dependent dependent, String type) {
+
+        // Organization branding resolution does not depend on application branding.
+        return !APPLICATION_TYPE.equals(type) || APPLICATION_TYPE.equals(dependent.getType());
+    }
+
+    /**
+     * Resolver cache entry which depends on the branding of another tenant.
+     */
+    public static class Dependent {
+
+        private final String type;
+        private final String tenantDomain;
+        private final String cacheKeyId;
+
+        /**
+         * @param type         Branding resource type of the cache entry.
+         * @param tenantDomain Tenant domain of the cache entry.
+         * @param cacheKeyId   Identifier of the cache key.
+         */
+        public Dependent(String type, String tenantDomain, String cacheKeyId) {
+
+            this.type = type;
+            this.tenantDomain = tenantDomain;
+            this.cacheKeyId = cacheKeyId;
+        }
+
+        public String getType() {
+
+            return type;
+        }
+
+        public String getTenantDomain() {
+
+            return tenantDomain;
+        }
+
+        public String getCacheKeyId() {
+
+            return cacheKeyId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Dependent that = (Dependent) o;
+            return type.equals(that.type) && tenantDomain.equals(that.tenantDomain) &&
+                    cacheKeyId.equals(that.cacheKeyId);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(type, tenantDomain, cacheKeyId);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingGenerationCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingGenerationCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingGenerationCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingGenerationStamp;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
+
+/**
+ * Tracks the branding generations of the organizations, which are used to invalidate the resolver cache entries of
+ * an organization hierarchy in constant time. A branding change of an organization moves its generation, and the
+ * cache entries stamped with the previous generation are detected as stale when they are read.
+ * Generations are random values instead of counters, so that a generation which is evicted from the cache and
+ * recreated never matches the generation of an existing entry. Hence, a missing generation is treated as a change.
+ */
+public class BrandingGenerationTracker {
+
+    private static final Log LOG = LogFactory.getLog(BrandingGenerationTracker.class);
+    private static final String GENERATION_ID_SEPARATOR = ":";
+
+    private final BrandingGenerationCache brandingGenerationCache;
+
+    /**
+     * @param brandingGenerationCache Cache instance for the branding generations.
+     */
+    public BrandingGenerationTracker(BrandingGenerationCache brandingGenerationCache) {
+
+        this.brandingGenerationCache = brandingGenerationCache;
+    }
+
+    /**
+     * Capture the branding generations of the resolution path of a branding preference. Application branding
+     * depends on both the application and the organization branding of the organizations in the path.
+     *
+     * @param type                    Branding resource type.
+     * @param ancestorOrganizationIds Ids of the branded organization and its ancestors.
+     * @return Branding generations of the resolution path.
+     */
+    public BrandingGenerationStamp getGenerationStamp(String type, List<String> ancestorOrganizationIds) {
+
+        List<String> generationIds = new ArrayList<>();
+        for (String organizationId : ancestorOrganizationIds) {
+            if (APPLICATION_TYPE.equals(type)) {
+                generationIds.add(getGenerationId(organizationId, APPLICATION_TYPE));
+            }
+            generationIds.add(getGenerationId(organizationId, ORGANIZATION_TYPE));
+        }
+        long[] generations = new long[generationIds.size()];
+        for (int i = 0; i < generations.length; i++) {
+            generations[i] = getGeneration(generationIds.get(i));
+        }
+        return new BrandingGenerationStamp(generationIds.toArray(new String[0]), generations);
+    }
+
+    /**
+     * Check whether the branding generations of a resolution path are still current.
+     *
+     * @param generationStamp Branding generations of the resolution path.
+     * @return True if none of the generations has changed.
+     */
+    public boolean isCurrent(BrandingGenerationStamp generationStamp) {
+
+        for (int i = 0; i < generationStamp.size(); i++) {
+            BrandingGenerationCacheEntry generation = brandingGenerationCache.getValueFromCache(
+                    new BrandingGenerationCacheKey(generationStamp.getGenerationId(i)), getCacheTenantDomain());
+            if (generation == null || generation.getGeneration() != generationStamp.getGeneration(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Move the branding generation of an organization, so that all the resolver cache entries which depend on the
+     * branding of the organization become stale.
+     *
+     * @param organizationId Id of the organization.
+     * @param type           Branding resource type.
+     */
+    public void advanceGeneration(String organizationId, String type) {
+
+        String generationId = getGenerationId(organizationId, type);
+        brandingGenerationCache.addToCache(new BrandingGenerationCacheKey(generationId),
+                new BrandingGenerationCacheEntry(newGeneration()), getCacheTenantDomain());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Advanced the branding generation: " + generationId);
+        }
+    }
+
+    private long getGeneration(String generationId) {
+
+        BrandingGenerationCacheKey cacheKey = new BrandingGenerationCacheKey(generationId);
+        BrandingGenerationCacheEntry generation =
+                brandingGenerationCache.getValueFromCache(cacheKey, getCacheTenantDomain());
+        if (generation != null) {
+            return generation.getGeneration();
+        }
+        long newGeneration = newGeneration();
+        brandingGenerationCache.addToCache(cacheKey, new BrandingGenerationCacheEntry(newGeneration),
+                getCacheTenantDomain());
+        return newGeneration;
+    }
+
+    private static long newGeneration() {
+
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    private static String getGenerationId(String organizationId, String type) {
+
+        return organizationId + GENERATION_ID_SEPARATOR + type;
+    }
+
+    private static String getCacheTenantDomain() {
+
+        return MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+    }
+}
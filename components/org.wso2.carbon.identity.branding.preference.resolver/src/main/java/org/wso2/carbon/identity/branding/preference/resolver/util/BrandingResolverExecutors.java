@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.wso2.carbon.identity.core.ThreadLocalAwareExecutors;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread pools used by the branding preference resolver. The pools are owned by the resolver component, which shuts
+ * them down when the component is deactivated.
+ */
+public class BrandingResolverExecutors {
+
+    private static final String THREAD_NAME_PREFIX = "branding-resolver-";
+
+    private final ExecutorService ancestorProbeExecutorService;
+    private final ExecutorService hierarchyTraversalExecutorService;
+    private final ExecutorService hierarchyTraversalWorkerExecutorService;
+    private final ScheduledExecutorService invalidationExecutorService;
+
+    /**
+     * @param ancestorProbePoolSize            Number of threads probing the ancestor branding concurrently.
+     * @param hierarchyTraversalPoolSize       Number of threads driving the organization hierarchy traversals.
+     * @param hierarchyTraversalWorkerPoolSize Number of threads clearing the caches of the traversed organizations.
+     */
+    public BrandingResolverExecutors(int ancestorProbePoolSize, int hierarchyTraversalPoolSize,
+                                     int hierarchyTraversalWorkerPoolSize) {
+
+        this.ancestorProbeExecutorService = ThreadLocalAwareExecutors.newFixedThreadPool(
+                Math.max(1, ancestorProbePoolSize), getThreadFactory("ancestor-probe"));
+        this.hierarchyTraversalExecutorService = ThreadLocalAwareExecutors.newFixedThreadPool(
+                Math.max(1, hierarchyTraversalPoolSize), getThreadFactory("hierarchy-traversal"));
+        this.hierarchyTraversalWorkerExecutorService = ThreadLocalAwareExecutors.newFixedThreadPool(
+                Math.max(1, hierarchyTraversalWorkerPoolSize), getThreadFactory("hierarchy-traversal-worker"));
+        this.invalidationExecutorService =
+                Executors.newSingleThreadScheduledExecutor(getThreadFactory("invalidation-scheduler"));
+    }
+
+    public ExecutorService getAncestorProbeExecutorService() {
+
+        return ancestorProbeExecutorService;
+    }
+
+    public ExecutorService getHierarchyTraversalExecutorService() {
+
+        return hierarchyTraversalExecutorService;
+    }
+
+    public ExecutorService getHierarchyTraversalWorkerExecutorService() {
+
+        return hierarchyTraversalWorkerExecutorService;
+    }
+
+    public ScheduledExecutorService getInvalidationExecutorService() {
+
+        return invalidationExecutorService;
+    }
+
+    /**
+     * Shut down the thread pools. Pending invalidations are dropped, and the running tasks are interrupted.
+     */
+    public void shutdown() {
+
+        invalidationExecutorService.shutdownNow();
+        hierarchyTraversalExecutorService.shutdownNow();
+        hierarchyTraversalWorkerExecutorService.shutdownNow();
+        ancestorProbeExecutorService.shutdownNow();
+    }
+
+    private static ThreadFactory getThreadFactory(String poolName) {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName(THREAD_NAME_PREFIX + poolName + "-" + threadCount.incrementAndGet());
+            // The pools must not keep the server from shutting down.
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
+import org.wso2.carbon.identity.configuration.mgt.core.exception.ConfigurationManagementException;
+import org.wso2.carbon.identity.configuration.mgt.core.model.Resource;
+import org.wso2.carbon.identity.configuration.mgt.core.model.ResourceFile;
+import org.wso2.carbon.identity.configuration.mgt.core.model.Resources;
+import org.wso2.carbon.identity.configuration.mgt.core.search.ComplexCondition;
+import org.wso2.carbon.identity.configuration.mgt.core.search.Condition;
+import org.wso2.carbon.identity.configuration.mgt.core.search.PrimitiveCondition;
+import org.wso2.carbon.identity.configuration.mgt.core.search.constant.ConditionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.RESOURCES_NOT_EXISTS_ERROR_CODE;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.RESOURCE_NAME_SEARCH_KEY;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.RESOURCE_TYPE_NAME_SEARCH_KEY;
+import static org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.TENANT_DOMAIN_SEARCH_KEY;
+
+/**
+ * Finds which of the candidate branding resources of an ancestor walk exist in the configuration store, using a
+ * single search query instead of probing the candidates one by one. Branding resource names are unique across
+ * tenants, since they contain the tenant id or the application id. Hence, the candidates are matched by the resource
+ * type and the resource name only. Candidates of the resources which are not unique across tenants, such as custom
+ * text resources, are added along with their tenant domain. The search does not return the content of the resource
+ * files. Hence, the existing candidates are still fetched one by one, but the ids of their files are kept from the
+ * search, so that the files of a candidate do not need to be listed before fetching it.
+ */
+public class BrandingResourceSearch {
+
+    private static final Log LOG = LogFactory.getLog(BrandingResourceSearch.class);
+    private static final String RESOURCE_KEY_SEPARATOR = "/";
+
+    private final Set<String> candidateResourceKeys = new LinkedHashSet<>();
+    private final List<Condition> candidateConditions = new ArrayList<>();
+    // Resource keys of the existing candidates, mapped to the id of their file if the search returned it.
+    private Map<String, String> existingResourceFileIds;
+
+    /**
+     * Add a candidate branding resource to the search.
+     *
+     * @param resourceType Resource type of the candidate.
+     * @param resourceName Resource name of the candidate.
+     */
+    public void addCandidate(String resourceType, String resourceName) {
+
+        if (!candidateResourceKeys.add(getResourceKey(resourceType, resourceName))) {
+            return;
+        }
+        candidateConditions.add(new ComplexCondition(ConditionType.ComplexOperator.AND, Arrays.asList(
+                new PrimitiveCondition(RESOURCE_TYPE_NAME_SEARCH_KEY, ConditionType.PrimitiveOperator.EQUALS,
+                        resourceType),
+                new PrimitiveCondition(RESOURCE_NAME_SEARCH_KEY, ConditionType.PrimitiveOperator.EQUALS,
+                        resourceName))));
+    }
+
+    /**
+     * Add a candidate resource of a given tenant to the search.
+     *
+     * @param tenantDomain Tenant domain of the candidate.
+     * @param resourceType Resource type of the candidate.
+     * @param resourceName Resource name of the candidate.
+     */
+    public void addCandidate(String tenantDomain, String resourceType, String resourceName) {
+
+        if (!candidateResourceKeys.add(getResourceKey(tenantDomain, resourceType, resourceName))) {
+            return;
+        }
+        candidateConditions.add(new ComplexCondition(ConditionType.ComplexOperator.AND, Arrays.asList(
+                new PrimitiveCondition(TENANT_DOMAIN_SEARCH_KEY, ConditionType.PrimitiveOperator.EQUALS,
+                        tenantDomain),
+                new PrimitiveCondition(RESOURCE_TYPE_NAME_SEARCH_KEY, ConditionType.PrimitiveOperator.EQUALS,
+                        resourceType),
+                new PrimitiveCondition(RESOURCE_NAME_SEARCH_KEY, ConditionType.PrimitiveOperator.EQUALS,
+                        resourceName))));
+    }
+
+    /**
+     * Search the candidate resources in the configuration store. If the search fails, the candidates are treated as
+     * possibly existing, so that the caller falls back to probing them one by one, as in the sequential lookup.
+     * Failing the resolution instead would turn an error of the optional search into an error of the resolution.
+     *
+     * @param configurationManager Configuration manager.
+     */
+    public void execute(ConfigurationManager configurationManager) {
+
+        if (candidateConditions.size() < 2) {
+            // A single candidate is cheaper to probe directly.
+            return;
+        }
+        try {
+            Resources resources = configurationManager.getTenantResources(
+                    new ComplexCondition(ConditionType.ComplexOperator.OR, candidateConditions));
+            Map<String, String> resourceFileIds = new HashMap<>();
+            if (resources != null && CollectionUtils.isNotEmpty(resources.getResources())) {
+                for (Resource resource : resources.getResources()) {
+                    String fileId = getFileId(resource);
+                    resourceFileIds.put(getResourceKey(resource.getResourceType(), resource.getResourceName()),
+                            fileId);
+                    resourceFileIds.put(getResourceKey(resource.getTenantDomain(), resource.getResourceType(),
+                            resource.getResourceName()), fileId);
+                }
+            }
+            existingResourceFileIds = resourceFileIds;
+        } catch (ConfigurationManagementException e) {
+            if (RESOURCES_NOT_EXISTS_ERROR_CODE.equals(e.getErrorCode())) {
+                existingResourceFileIds = new HashMap<>();
+                return;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error while searching the ancestor branding resources. Falling back to probing the "
+                        + "ancestors one by one.", e);
+            }
+        }
+        if (LOG.isDebugEnabled() && existingResourceFileIds != null) {
+            LOG.debug(existingResourceFileIds.size() + " out of " + candidateResourceKeys.size()
+                    + " candidate branding resources exist in the ancestor organizations.");
+        }
+    }
+
+    /**
+     * @return True if the search has been completed, and the existence of the candidates is known.
+     */
+    public boolean isExecuted() {
+
+        return existingResourceFileIds != null;
+    }
+
+    /**
+     * Check whether a candidate resource may exist in the configuration store.
+     *
+     * @param resourceType Resource type of the candidate.
+     * @param resourceName Resource name of the candidate.
+     * @return False if the search has confirmed that the resource does not exist, true otherwise.
+     */
+    public boolean mayExist(String resourceType, String resourceName) {
+
+        return existingResourceFileIds == null ||
+                existingResourceFileIds.containsKey(getResourceKey(resourceType, resourceName));
+    }
+
+    /**
+     * Check whether a candidate resource of a given tenant may exist in the configuration store.
+     *
+     * @param tenantDomain Tenant domain of the candidate.
+     * @param resourceType Resource type of the candidate.
+     * @param resourceName Resource name of the candidate.
+     * @return False if the search has confirmed that the resource does not exist, true otherwise.
+     */
+    public boolean mayExist(String tenantDomain, String resourceType, String resourceName) {
+
+        return existingResourceFileIds == null ||
+                existingResourceFileIds.containsKey(getResourceKey(tenantDomain, resourceType, resourceName));
+    }
+
+    /**
+     * Get the id of the file of a candidate resource, as returned by the search.
+     *
+     * @param resourceType Resource type of the candidate.
+     * @param resourceName Resource name of the candidate.
+     * @return File id, or null if the search did not return the file of the resource.
+     */
+    public String getFileId(String resourceType, String resourceName) {
+
+        return existingResourceFileIds == null ? null :
+                existingResourceFileIds.get(getResourceKey(resourceType, resourceName));
+    }
+
+    /**
+     * Get the id of the file of a candidate resource of a given tenant, as returned by the search.
+     *
+     * @param tenantDomain Tenant domain of the candidate.
+     * @param resourceType Resource type of the candidate.
+     * @param resourceName Resource name of the candidate.
+     * @return File id, or null if the search did not return the file of the resource.
+     */
+    public String getFileId(String tenantDomain, String resourceType, String resourceName) {
+
+        return existingResourceFileIds == null ? null :
+                existingResourceFileIds.get(getResourceKey(tenantDomain, resourceType, resourceName));
+    }
+
+    private static String getFileId(Resource resource) {
+
+        if (CollectionUtils.isEmpty(resource.getFiles())) {
+            return null;
+        }
+        // Branding resources hold a single preference file.
+        ResourceFile resourceFile = resource.getFiles().get(0);
+        return StringUtils.isNotBlank(resourceFile.getId()) ? resourceFile.getId() : null;
+    }
+
+    private static String getResourceKey(String tenantDomain, String resourceType, String resourceName) {
+
+        return (tenantDomain + RESOURCE_KEY_SEPARATOR).toLowerCase(Locale.ROOT) +
+                getResourceKey(resourceType, resourceName);
+    }
+
+    private static String getResourceKey(String resourceType, String resourceName) {
+
+        return (resourceType + RESOURCE_KEY_SEPARATOR + resourceName).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carbon context of the caller, captured in the caller thread to be restored in the worker threads which do work on
+ * behalf of the caller. A worker thread does not carry the thread local carbon context of the caller, so without it
+ * the work would run with only the tenant domain set, losing the username, the user id and the organization id.
+ */
+public class CallerCarbonContext {
+
+    private final String tenantDomain;
+    private final int tenantId;
+    private final String username;
+    private final String userId;
+    private final String organizationId;
+
+    private CallerCarbonContext(PrivilegedCarbonContext carbonContext) {
+
+        this.tenantDomain = carbonContext.getTenantDomain();
+        this.tenantId = carbonContext.getTenantId();
+        this.username = carbonContext.getUsername();
+        this.userId = carbonContext.getUserId();
+        this.organizationId = carbonContext.getOrganizationId();
+    }
+
+    /**
+     * Capture the carbon context of the current thread.
+     *
+     * @return Captured carbon context.
+     */
+    public static CallerCarbonContext capture() {
+
+        return new CallerCarbonContext(PrivilegedCarbonContext.getThreadLocalCarbonContext());
+    }
+
+    /**
+     * Wrap the given task, so that it runs in a tenant flow carrying the captured carbon context. The tenant flow is
+     * ended once the task completes, leaving the carbon context of the worker thread as it was.
+     *
+     * @param task Task to run with the captured carbon context.
+     * @param <T>  Result type of the task.
+     * @return Wrapped task.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+
+        return () -> {
+            PrivilegedCarbonContext.startTenantFlow();
+            try {
+                PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                carbonContext.setTenantDomain(tenantDomain);
+                carbonContext.setTenantId(tenantId);
+                carbonContext.setUsername(username);
+                carbonContext.setUserId(userId);
+                carbonContext.setOrganizationId(organizationId);
+                return task.call();
+            } finally {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        };
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
+
+/**
+ * Schedules the invalidations of the resolver caches of child organization hierarchies. Invalidations are debounced
+ * per key, so that back to back changes of the same branding result in a single hierarchy traversal, and an
+ * invalidation is dropped if a pending invalidation of an ancestor organization already covers its hierarchy.
+ * A pending invalidation is dispatched once no change is requested for it within the debounce time, or once it has
+ * been pending for the maximum delay.
+ */
+public class InvalidationScheduler {
+
+    private static final Log LOG = LogFactory.getLog(InvalidationScheduler.class);
+
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long debounceMillis;
+    private final long maxDelayMillis;
+    private final AncestorResolver ancestorResolver;
+    private final Map<String, Invalidation> pendingInvalidations = new LinkedHashMap<>();
+    private final AtomicLong requestedInvalidationCount = new AtomicLong();
+    private final AtomicLong coalescedInvalidationCount = new AtomicLong();
+    private final AtomicLong dispatchedInvalidationCount = new AtomicLong();
+    private final AtomicLong lastInvalidationLagMillis = new AtomicLong();
+    private final AtomicLong maxInvalidationLagMillis = new AtomicLong();
+
+    /**
+     * @param scheduledExecutorService Executor which dispatches the pending invalidations.
+     * @param debounceMillis           Time in milliseconds to wait for further changes before dispatching.
+     * @param maxDelayMillis           Maximum time in milliseconds an invalidation is kept pending.
+     * @param ancestorResolver         Resolver of the ancestors of an organization.
+     */
+    public InvalidationScheduler(ScheduledExecutorService scheduledExecutorService, long debounceMillis,
+                                 long maxDelayMillis, AncestorResolver ancestorResolver) {
+
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.maxDelayMillis = Math.max(this.debounceMillis, maxDelayMillis);
+        this.ancestorResolver = ancestorResolver;
+    }
+
+    /**
+     * Schedule an invalidation of the hierarchy of an organization.
+     *
+     * @param invalidation Invalidation to be scheduled.
+     */
+    public synchronized void schedule(Invalidation invalidation) {
+
+        requestedInvalidationCount.incrementAndGet();
+        long now = System.currentTimeMillis();
+        Invalidation pendingInvalidation = pendingInvalidations.get(invalidation.getKey());
+        if (pendingInvalidation != null) {
+            // Debounce the pending invalidation of the same key, and dispatch the latest request.
+            invalidation.requestedTime = pendingInvalidation.requestedTime;
+            pendingInvalidation.cancel();
+            coalescedInvalidationCount.incrementAndGet();
+            addPendingInvalidation(invalidation, now);
+            return;
+        }
+        for (Invalidation pending : pendingInvalidations.values()) {
+            if (covers(pending, invalidation)) {
+                coalescedInvalidationCount.incrementAndGet();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Invalidation: " + invalidation.getKey() + " is covered by the pending invalidation: "
+                            + pending.getKey());
+                }
+                return;
+            }
+        }
+        invalidation.requestedTime = now;
+        Iterator<Invalidation> iterator = pendingInvalidations.values().iterator();
+        while (iterator.hasNext()) {
+            Invalidation pending = iterator.next();
+            if (covers(invalidation, pending)) {
+                // The new invalidation covers the hierarchy of the pending one, which has been waiting for longer.
+                invalidation.requestedTime = Math.min(invalidation.requestedTime, pending.requestedTime);
+                pending.cancel();
+                iterator.remove();
+                coalescedInvalidationCount.incrementAndGet();
+            }
+        }
+        addPendingInvalidation(invalidation, now);
+    }
+
+    /**
+     * @return Number of invalidations which are pending to be dispatched.
+     */
+    public synchronized int getPendingInvalidationCount() {
+
+        return pendingInvalidations.size();
+    }
+
+    /**
+     * @return Time in milliseconds since the oldest pending invalidation was requested, or 0 if none is pending.
+     */
+    public synchronized long getOldestPendingInvalidationAgeMillis() {
+
+        long now = System.currentTimeMillis();
+        long oldestAge = 0;
+        for (Invalidation pending : pendingInvalidations.values()) {
+            oldestAge = Math.max(oldestAge, now - pending.requestedTime);
+        }
+        return oldestAge;
+    }
+
+    /**
+     * @return Number of requested invalidations.
+     */
+    public long getRequestedInvalidationCount() {
+
+        return requestedInvalidationCount.get();
+    }
+
+    /**
+     * @return Number of requested invalidations which were merged into another invalidation.
+     */
+    public long getCoalescedInvalidationCount() {
+
+        return coalescedInvalidationCount.get();
+    }
+
+    /**
+     * @return Number of dispatched invalidations.
+     */
+    public long getDispatchedInvalidationCount() {
+
+        return dispatchedInvalidationCount.get();
+    }
+
+    /**
+     * @return Time in milliseconds from the request to the completion of the last completed invalidation.
+     */
+    public long getLastInvalidationLagMillis() {
+
+        return lastInvalidationLagMillis.get();
+    }
+
+    /**
+     * @return Maximum time in milliseconds from the request to the completion of an invalidation.
+     */
+    public long getMaxInvalidationLagMillis() {
+
+        return maxInvalidationLagMillis.get();
+    }
+
+    private void addPendingInvalidation(Invalidation invalidation, long now) {
+
+        long delay = Math.min(debounceMillis, invalidation.requestedTime + maxDelayMillis - now);
+        invalidation.scheduledDispatch = scheduledExecutorService.schedule(() -> dispatch(invalidation),
+                Math.max(0, delay), TimeUnit.MILLISECONDS);
+        pendingInvalidations.put(invalidation.getKey(), invalidation);
+    }
+
+    private void dispatch(Invalidation invalidation) {
+
+        synchronized (this) {
+            if (!pendingInvalidations.remove(invalidation.getKey(), invalidation)) {
+                // The invalidation has been replaced or merged in the meantime.
+                return;
+            }
+        }
+        dispatchedInvalidationCount.incrementAndGet();
+        long requestedTime = invalidation.requestedTime;
+        try {
+            invalidation.getTask().get().whenComplete((result, e) -> {
+                long lag = System.currentTimeMillis() - requestedTime;
+                lastInvalidationLagMillis.set(lag);
+                maxInvalidationLagMillis.accumulateAndGet(lag, Math::max);
+            });
+        } catch (RuntimeException e) {
+            LOG.error("Error while dispatching the invalidation: " + invalidation.getKey(), e);
+        }
+    }
+
+    private boolean covers(Invalidation covering, Invalidation covered) {
+
+        /* An invalidation covers another one if its hierarchy traversal clears everything the other one clears.
+          Traversals of an organization visit all the organizations in the hierarchies of its descendants. */
+        boolean coversScope;
+        switch (covering.getCategory()) {
+            case BRANDING:
+                // Branding traversals clear the resolved branding content, and organization branding traversals
+                // additionally clear all the branding resolver caches.
+                coversScope = covered.getCategory() == Category.RESOLVED_BRANDING ||
+                        (covered.getCategory() == Category.BRANDING && ORGANIZATION_TYPE.equals(covering.getType()));
+                break;
+            case RESOLVED_BRANDING:
+                coversScope = covered.getCategory() == Category.RESOLVED_BRANDING;
+                break;
+            case CUSTOM_TEXT:
+                coversScope = covered.getCategory() == Category.CUSTOM_TEXT &&
+                        (StringUtils.isBlank(covering.getName()) || covering.getName().equals(covered.getName()));
+                break;
+            default:
+                coversScope = false;
+        }
+        return coversScope && isSameOrDescendant(covered.getOrganizationId(), covering.getOrganizationId());
+    }
+
+    private boolean isSameOrDescendant(String organizationId, String ancestorOrganizationId) {
+
+        if (organizationId.equals(ancestorOrganizationId)) {
+            return true;
+        }
+        try {
+            List<String> ancestorOrganizationIds = ancestorResolver.getAncestorOrganizationIds(organizationId);
+            return ancestorOrganizationIds != null && ancestorOrganizationIds.contains(ancestorOrganizationId);
+        } catch (OrganizationManagementException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error while resolving the ancestors of the organization: " + organizationId, e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Categories of the hierarchy invalidations.
+     */
+    public enum Category {
+        BRANDING,
+        RESOLVED_BRANDING,
+        CUSTOM_TEXT
+    }
+
+    /**
+     * Resolver of the ancestors of an organization.
+     */
+    @FunctionalInterface
+    public interface AncestorResolver {
+
+        /**
+         * @param organizationId Id of the organization.
+         * @return Ids of the organization and its ancestors.
+         * @throws OrganizationManagementException if any error occurred while resolving the ancestors.
+         */
+        List<String> getAncestorOrganizationIds(String organizationId) throws OrganizationManagementException;
+    }
+
+    /**
+     * Invalidation of the resolver caches of the hierarchy of an organization.
+     */
+    public static class Invalidation {
+
+        private final Category category;
+        private final String type;
+        private final String name;
+        private final String organizationId;
+        private final Supplier<CompletableFuture<?>> task;
+        private long requestedTime;
+        private ScheduledFuture<?> scheduledDispatch;
+
+        /**
+         * @param category       Category of the invalidation.
+         * @param type           Branding resource type of the changed preference.
+         * @param name           Name of the changed preference.
+         * @param organizationId Id of the organization of the changed preference.
+         * @param task           Task which traverses the hierarchy, and completes once the traversal is complete.
+         */
+        public Invalidation(Category category, String type, String name, String organizationId,
+                            Supplier<CompletableFuture<?>> task) {
+
+            this.category = category;
+            this.type = type;
+            this.name = name;
+            this.organizationId = organizationId;
+            this.task = task;
+        }
+
+        public String getKey() {
+
+            return String.join("/", category.name(), organizationId, String.valueOf(type), String.valueOf(name));
+        }
+
+        public Category getCategory() {
+
+            return category;
+        }
+
+        public String getType() {
+
+            return type;
+        }
+
+        public String getName() {
+
+            return name;
+        }
+
+        public String getOrganizationId() {
+
+            return organizationId;
+        }
+
+        public Supplier<CompletableFuture<?>> getTask() {
+
+            return task;
+        }
+
+        private void cancel() {
+
+            if (scheduledDispatch != null) {
+                scheduledDispatch.cancel(false);
+            }
+        }
+    }
+}
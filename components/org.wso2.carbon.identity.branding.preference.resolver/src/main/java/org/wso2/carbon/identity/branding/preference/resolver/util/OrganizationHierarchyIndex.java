@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.OrganizationHierarchyCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.OrganizationHierarchyCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.OrganizationHierarchyCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.internal.BrandingResolverComponentDataHolder;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Memoized index of the organization hierarchy used by the branding resolver. A single ancestor lookup of an
+ * organization indexes the ancestor chains of the organization and all of its ancestors, so that the depths of the
+ * ancestors are derived from their chains without further lookups. Tenant domains are resolved once per organization.
+ * The records are kept in the super tenant space, since organizations of all the tenants share the same hierarchy.
+ */
+public class OrganizationHierarchyIndex {
+
+    private static final Log LOG = LogFactory.getLog(OrganizationHierarchyIndex.class);
+
+    private final OrganizationHierarchyCache organizationHierarchyCache;
+
+    /**
+     * @param organizationHierarchyCache Cache instance for the organization hierarchy records.
+     */
+    public OrganizationHierarchyIndex(OrganizationHierarchyCache organizationHierarchyCache) {
+
+        this.organizationHierarchyCache = organizationHierarchyCache;
+    }
+
+    /**
+     * Get the ids of the organization and its ancestors, starting from the organization itself up to the root
+     * organization.
+     *
+     * @param organizationId Id of the organization.
+     * @return Ids of the organization and its ancestors.
+     * @throws OrganizationManagementException if any error occurred while retrieving the ancestors.
+     */
+    public List<String> getAncestorOrganizationIds(String organizationId) throws OrganizationManagementException {
+
+        OrganizationHierarchyCacheEntry hierarchyRecord = getHierarchyRecord(organizationId);
+        if (hierarchyRecord != null) {
+            return hierarchyRecord.getAncestorOrganizationIds();
+        }
+
+        List<String> ancestorOrganizationIds = getOrganizationManager().getAncestorOrganizationIds(organizationId);
+        if (CollectionUtils.isEmpty(ancestorOrganizationIds)) {
+            return ancestorOrganizationIds;
+        }
+        String[] ancestorChain = ancestorOrganizationIds.toArray(new String[0]);
+        for (int i = 0; i < ancestorChain.length; i++) {
+            OrganizationHierarchyCacheKey cacheKey = new OrganizationHierarchyCacheKey(ancestorChain[i]);
+            if (organizationHierarchyCache.getValueFromCache(cacheKey, getCacheTenantDomain()) == null) {
+                organizationHierarchyCache.addToCache(cacheKey, new OrganizationHierarchyCacheEntry(
+                        Arrays.copyOfRange(ancestorChain, i, ancestorChain.length), null), getCacheTenantDomain());
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Indexed the hierarchy of " + ancestorChain.length + " organizations for the organization: "
+                    + organizationId);
+        }
+        return Arrays.asList(ancestorChain);
+    }
+
+    /**
+     * Get the depth of the organization in the hierarchy, where the root organization is at depth zero.
+     *
+     * @param organizationId Id of the organization.
+     * @return Depth of the organization in the hierarchy.
+     * @throws OrganizationManagementException if any error occurred while retrieving the depth.
+     */
+    public int getDepthInHierarchy(String organizationId) throws OrganizationManagementException {
+
+        List<String> ancestorOrganizationIds = getAncestorOrganizationIds(organizationId);
+        if (CollectionUtils.isEmpty(ancestorOrganizationIds)) {
+            return getOrganizationManager().getOrganizationDepthInHierarchy(organizationId);
+        }
+        return ancestorOrganizationIds.size() - 1;
+    }
+
+    /**
+     * Get the tenant domain of the organization.
+     *
+     * @param organizationId Id of the organization.
+     * @return Tenant domain of the organization.
+     * @throws OrganizationManagementException if any error occurred while resolving the tenant domain.
+     */
+    public String getTenantDomain(String organizationId) throws OrganizationManagementException {
+
+        OrganizationHierarchyCacheEntry hierarchyRecord = getHierarchyRecord(organizationId);
+        if (hierarchyRecord != null && hierarchyRecord.getTenantDomain() != null) {
+            return hierarchyRecord.getTenantDomain();
+        }
+
+        String tenantDomain = getOrganizationManager().resolveTenantDomain(organizationId);
+        if (hierarchyRecord != null && tenantDomain != null) {
+            organizationHierarchyCache.addToCache(new OrganizationHierarchyCacheKey(organizationId),
+                    hierarchyRecord.withTenantDomain(tenantDomain), getCacheTenantDomain());
+        }
+        return tenantDomain;
+    }
+
+    /**
+     * Remove the hierarchy record of the organization from the index.
+     *
+     * @param organizationId Id of the organization.
+     */
+    public void clear(String organizationId) {
+
+        organizationHierarchyCache.clearCacheEntry(new OrganizationHierarchyCacheKey(organizationId),
+                getCacheTenantDomain());
+    }
+
+    /**
+     * Remove all the hierarchy records from the index.
+     */
+    public void clear() {
+
+        organizationHierarchyCache.clear(getCacheTenantDomain());
+    }
+
+    private OrganizationHierarchyCacheEntry getHierarchyRecord(String organizationId) {
+
+        return organizationHierarchyCache.getValueFromCache(new OrganizationHierarchyCacheKey(organizationId),
+                getCacheTenantDomain());
+    }
+
+    private static String getCacheTenantDomain() {
+
+        return MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+    }
+
+    private static OrganizationManager getOrganizationManager() {
+
+        return BrandingResolverComponentDataHolder.getInstance().getOrganizationManager();
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.branding.preference.resolver.internal.BrandingResolverComponentDataHolder;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+import org.wso2.carbon.identity.organization.management.service.model.BasicOrganization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traverses the descendant organizations of a tenant page by page, and hands the organizations of each page over to
+ * a visitor in batches which run on a bounded worker pool. The cursor of the last completed page is kept as a
+ * checkpoint, so that a traversal which fails on a page resumes from that page instead of the first page.
+ * A traversal requested while the same traversal is in progress restarts the in progress traversal, instead of
+ * queueing another traversal of the same hierarchy.
+ */
+public class OrganizationSubtreeTraverser {
+
+    private static final Log LOG = LogFactory.getLog(OrganizationSubtreeTraverser.class);
+    private static final String SORT_ORDER = "DESC";
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+
+    private final ExecutorService traversalExecutorService;
+    private final ExecutorService workerExecutorService;
+    private final int workerCount;
+    private final int pageSize;
+    private final int maxRetries;
+    private final ConcurrentMap<String, Traversal> activeTraversals = new ConcurrentHashMap<>();
+
+    /**
+     * @param traversalExecutorService Executor which runs the traversals.
+     * @param workerExecutorService    Executor which runs the visitor on the batches of organizations.
+     * @param workerCount              Number of threads of the worker executor.
+     * @param pageSize                 Number of organizations retrieved per page.
+     * @param maxRetries               Maximum number of consecutive retries of a failed page.
+     */
+    public OrganizationSubtreeTraverser(ExecutorService traversalExecutorService,
+                                        ExecutorService workerExecutorService, int workerCount, int pageSize,
+                                        int maxRetries) {
+
+        this.traversalExecutorService = traversalExecutorService;
+        this.workerExecutorService = workerExecutorService;
+        this.workerCount = Math.max(1, workerCount);
+        this.pageSize = Math.max(1, pageSize);
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Traverse the descendant organizations of the tenant.
+     *
+     * @param traversalId       Identifier of the traversal. Traversals with the same identifier visit the same
+     *                          organizations in the same way.
+     * @param tenantDomain      Tenant domain of the root organization of the traversal.
+     * @param usernameInContext Username to be set in the carbon context during the traversal.
+     * @param visitor           Visitor of the descendant organizations.
+     * @return Report of the traversal, which completes once all the descendant organizations are visited.
+     */
+    public CompletableFuture<TraversalReport> traverse(String traversalId, String tenantDomain,
+                                                       String usernameInContext, Visitor visitor) {
+
+        while (true) {
+            Traversal traversal = new Traversal(traversalId, tenantDomain, usernameInContext, visitor);
+            Traversal activeTraversal = activeTraversals.putIfAbsent(traversalId, traversal);
+            if (activeTraversal == null) {
+                CompletableFuture.runAsync(() -> run(traversal), traversalExecutorService).whenComplete(
+                        (result, e) -> {
+                            if (e != null) {
+                                // The traversal was rejected by the executor.
+                                activeTraversals.remove(traversalId, traversal);
+                                traversal.getReport().completeExceptionally(e);
+                            }
+                        });
+                return traversal.getReport();
+            }
+            if (activeTraversal.restart()) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Restarting the in progress organization hierarchy traversal: " + traversalId);
+                }
+                return activeTraversal.getReport();
+            }
+            // The active traversal has just finished. Hence, start a new traversal.
+            activeTraversals.remove(traversalId, activeTraversal);
+        }
+    }
+
+    /**
+     * @return Number of traversals which are in progress.
+     */
+    public int getActiveTraversalCount() {
+
+        return activeTraversals.size();
+    }
+
+    private void run(Traversal traversal) {
+
+        long startTime = System.currentTimeMillis();
+        String checkpoint = null;
+        int organizationCount = 0;
+        int pageCount = 0;
+        int retryCount = 0;
+        int consecutiveRetryCount = 0;
+        int restartCount = 0;
+        try {
+            while (true) {
+                if (traversal.consumeRestart()) {
+                    // The report covers the last pass over the hierarchy. Hence, the counts start over as well.
+                    checkpoint = null;
+                    organizationCount = 0;
+                    pageCount = 0;
+                    retryCount = 0;
+                    restartCount++;
+                }
+                try {
+                    List<BasicOrganization> organizations = getPage(traversal, checkpoint);
+                    if (organizations.isEmpty()) {
+                        if (traversal.finish()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    visitPage(traversal, organizations);
+                    organizationCount += organizations.size();
+                    pageCount++;
+                    consecutiveRetryCount = 0;
+                    String nextCheckpoint = Base64.getEncoder().encodeToString(organizations
+                            .get(organizations.size() - 1).getCreated().getBytes(StandardCharsets.UTF_8));
+                    if (nextCheckpoint.equals(checkpoint)) {
+                        LOG.warn("Organization hierarchy traversal: " + traversal.getTraversalId()
+                                + " does not progress beyond the cursor: " + checkpoint + ". Hence, stopping it.");
+                        if (traversal.finish()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    checkpoint = nextCheckpoint;
+                } catch (OrganizationManagementException e) {
+                    if (++consecutiveRetryCount > maxRetries) {
+                        throw e;
+                    }
+                    retryCount++;
+                    LOG.warn("Error while traversing the organization hierarchy of the tenant: "
+                            + traversal.getTenantDomain() + ". Resuming from the cursor: " + checkpoint
+                            + ", attempt: " + consecutiveRetryCount, e);
+                    TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS * consecutiveRetryCount);
+                }
+            }
+            TraversalReport report = new TraversalReport(traversal.getTraversalId(), organizationCount, pageCount,
+                    retryCount, restartCount, System.currentTimeMillis() - startTime);
+            activeTraversals.remove(traversal.getTraversalId(), traversal);
+            LOG.info("Organization hierarchy traversal: " + report.getTraversalId() + " of the tenant: "
+                    + traversal.getTenantDomain() + " completed in " + report.getDurationMillis()
+                    + " ms. Organizations: " + report.getOrganizationCount() + ", pages: " + report.getPageCount()
+                    + ", retries: " + report.getRetryCount() + ", restarts: " + report.getRestartCount());
+            traversal.getReport().complete(report);
+        } catch (OrganizationManagementException | RuntimeException e) {
+            LOG.error("Organization hierarchy traversal: " + traversal.getTraversalId() + " of the tenant: "
+                    + traversal.getTenantDomain() + " failed after visiting " + organizationCount
+                    + " organizations. Last completed cursor: " + checkpoint);
+            finishOnFailure(traversal, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Organization hierarchy traversal: " + traversal.getTraversalId() + " of the tenant: "
+                    + traversal.getTenantDomain() + " was interrupted at the cursor: " + checkpoint);
+            finishOnFailure(traversal, e);
+        }
+    }
+
+    private void finishOnFailure(Traversal traversal, Exception e) {
+
+        traversal.abort();
+        activeTraversals.remove(traversal.getTraversalId(), traversal);
+        traversal.getReport().completeExceptionally(e);
+    }
+
+    private List<BasicOrganization> getPage(Traversal traversal, String cursor) throws OrganizationManagementException {
+
+        try {
+            startTenantFlow(traversal);
+            return BrandingResolverComponentDataHolder.getInstance().getOrganizationManager()
+                    .getOrganizations(pageSize, cursor, null, SORT_ORDER, "", true);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private void visitPage(Traversal traversal, List<BasicOrganization> organizations)
+            throws OrganizationManagementException, InterruptedException {
+
+        // Organizations of the page are visited in batches on the worker executor, and all the batches are awaited.
+        int batchSize = (organizations.size() + workerCount - 1) / workerCount;
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int i = 0; i < organizations.size(); i += batchSize) {
+            List<BasicOrganization> batch =
+                    organizations.subList(i, Math.min(i + batchSize, organizations.size()));
+            batches.add(CompletableFuture.runAsync(() -> {
+                try {
+                    startTenantFlow(traversal);
+                    traversal.getVisitor().visit(batch);
+                } catch (OrganizationManagementException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    PrivilegedCarbonContext.endTenantFlow();
+                }
+            }, workerExecutorService));
+        }
+        try {
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OrganizationManagementException) {
+                throw (OrganizationManagementException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void startTenantFlow(Traversal traversal) {
+
+        PrivilegedCarbonContext.startTenantFlow();
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(traversal.getTenantDomain(), true);
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setUsername(traversal.getUsernameInContext());
+    }
+
+    /**
+     * Visitor of the descendant organizations of a traversal.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * Visit a batch of descendant organizations. The visit must be idempotent, since a failed page is visited
+         * again.
+         *
+         * @param organizations Batch of descendant organizations.
+         * @throws OrganizationManagementException if any error occurred while visiting the organizations.
+         */
+        void visit(List<BasicOrganization> organizations) throws OrganizationManagementException;
+    }
+
+    /**
+     * Report of a completed traversal.
+     */
+    public static class TraversalReport {
+
+        private final String traversalId;
+        private final int organizationCount;
+        private final int pageCount;
+        private final int retryCount;
+        private final int restartCount;
+        private final long durationMillis;
+
+        /**
+         * @param traversalId       Identifier of the traversal.
+         * @param organizationCount Number of organizations visited in the last pass over the hierarchy.
+         * @param pageCount         Number of pages visited in the last pass over the hierarchy.
+         * @param retryCount        Number of pages retried in the last pass over the hierarchy.
+         * @param restartCount      Number of times the traversal started over from the first page.
+         * @param durationMillis    Time taken for the traversal in milliseconds, including the restarted passes.
+         */
+        public TraversalReport(String traversalId, int organizationCount, int pageCount, int retryCount,
+                               int restartCount, long durationMillis) {
+
+            this.traversalId = traversalId;
+            this.organizationCount = organizationCount;
+            this.pageCount = pageCount;
+            this.retryCount = retryCount;
+            this.restartCount = restartCount;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getTraversalId() {
+
+            return traversalId;
+        }
+
+        public int getOrganizationCount() {
+
+            return organizationCount;
+        }
+
+        public int getPageCount() {
+
+            return pageCount;
+        }
+
+        public int getRetryCount() {
+
+            return retryCount;
+        }
+
+        public int getRestartCount() {
+
+            return restartCount;
+        }
+
+        public long getDurationMillis() {
+
+            return durationMillis;
+        }
+    }
+
+    /**
+     * State of a traversal in progress.
+     */
+    private static class Traversal {
+
+        private final String traversalId;
+        private final String tenantDomain;
+        private final String usernameInContext;
+        private final Visitor visitor;
+        private final CompletableFuture<TraversalReport> report = new CompletableFuture<>();
+        private boolean restartRequested;
+        private boolean finished;
+
+        Traversal(String traversalId, String tenantDomain, String usernameInContext, Visitor visitor) {
+
+            this.traversalId = traversalId;
+            this.tenantDomain = tenantDomain;
+            this.usernameInContext = usernameInContext;
+            this.visitor = visitor;
+        }
+
+        /**
+         * Request the traversal to start over from the first page.
+         *
+         * @return False if the traversal has already finished.
+         */
+        synchronized boolean restart() {
+
+            if (finished) {
+                return false;
+            }
+            restartRequested = true;
+            return true;
+        }
+
+        synchronized boolean consumeRestart() {
+
+            boolean restart = restartRequested;
+            restartRequested = false;
+            return restart;
+        }
+
+        /**
+         * Mark the traversal as finished, unless a restart has been requested.
+         *
+         * @return True if the traversal is finished.
+         */
+        synchronized boolean finish() {
+
+            if (restartRequested) {
+                return false;
+            }
+            finished = true;
+            return true;
+        }
+
+        synchronized void abort() {
+
+            finished = true;
+        }
+
+        String getTraversalId() {
+
+            return traversalId;
+        }
+
+        String getTenantDomain() {
+
+            return tenantDomain;
+        }
+
+        String getUsernameInContext() {
+
+            return usernameInContext;
+        }
+
+        Visitor getVisitor() {
+
+            return visitor;
+        }
+
+        CompletableFuture<TraversalReport> getReport() {
+
+            return report;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceDocument;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utilities for the parsed preference trees shared by the branding resolver.
+ * Stored preferences are held as immutable preference documents, so that a single tree can be shared by all the
+ * readers without copying it. Views which differ from the stored tree are built without modifying the shared tree.
+ */
+public class PreferenceTrees {
+
+    private PreferenceTrees() {
+
+    }
+
+    /**
+     * Build a view of the preference tree where the value at the given path is replaced. Only the maps along the
+     * path are copied, and the rest of the tree is shared with the given preference.
+     * Plain map trees are handed over to the callers of {@link
+     * org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference#getPreference()}, which
+     * expect a mutable {@link LinkedHashMap} tree. Hence, the maps along the path are copied instead of being
+     * overlaid with a read-only view.
+     *
+     * @param preference Preference tree.
+     * @param value      Value to be exposed at the path.
+     * @param path       Keys of the value, starting from the root of the tree.
+     * @return View of the preference tree, or the given preference if the path does not exist in the tree.
+     */
+    public static Object overrideValue(Object preference, Object value, String... path) {
+
+        if (path.length == 0) {
+            return value;
+        }
+        if (!(preference instanceof Map) || !((Map<?, ?>) preference).containsKey(path[0])) {
+            return preference;
+        }
+        Map<?, ?> map = (Map<?, ?>) preference;
+        Object overriddenValue = overrideValue(map.get(path[0]), value, Arrays.copyOfRange(path, 1, path.length));
+        if (preference instanceof PreferenceDocument) {
+            // Keep the typed model. Only the values array of the document is copied.
+            return ((PreferenceDocument) preference).withValue(path[0], overriddenValue);
+        }
+        Map<Object, Object> overriddenMap = new LinkedHashMap<>(map);
+        overriddenMap.put(path[0], overriddenValue);
+        return overriddenMap;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent resolution requests for the same key, so that only one thread loads the value while the
+ * others wait for the result of that load. Waiting threads fall back to loading the value by themselves, if the
+ * result is not available within the given maximum wait time.
+ *
+ * @param <T> Type of the resolved value.
+ */
+public class ResolutionRequestCoalescer<T> {
+
+    private static final Log LOG = LogFactory.getLog(ResolutionRequestCoalescer.class);
+
+    private final ConcurrentMap<String, CompletableFuture<T>> inFlightRequests = new ConcurrentHashMap<>();
+    private final UnaryOperator<T> resultCopier;
+    private final AtomicLong loadedRequestCount = new AtomicLong();
+    private final AtomicLong coalescedRequestCount = new AtomicLong();
+    private final AtomicLong timedOutRequestCount = new AtomicLong();
+
+    /**
+     * @param resultCopier Function to copy the loaded value for the waiting threads, since the loading thread and
+     *                     the waiting threads must not share a mutable value.
+     */
+    public ResolutionRequestCoalescer(UnaryOperator<T> resultCopier) {
+
+        this.resultCopier = resultCopier;
+    }
+
+    /**
+     * Load the value for the given key, or wait for the load which is already in progress for the same key.
+     *
+     * @param key           Key of the request.
+     * @param maxWaitMillis Maximum time in milliseconds to wait for an in progress load.
+     * @param loader        Loader of the value.
+     * @return Loaded value.
+     * @throws BrandingPreferenceMgtException if any error occurred while loading the value.
+     */
+    public T execute(String key, long maxWaitMillis, Loader<T> loader) throws BrandingPreferenceMgtException {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<T> inFlightRequest = inFlightRequests.putIfAbsent(key, future);
+        if (inFlightRequest == null) {
+            loadedRequestCount.incrementAndGet();
+            try {
+                T value = loader.load();
+                future.complete(value);
+                return value;
+            } catch (BrandingPreferenceMgtException | RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlightRequests.remove(key, future);
+            }
+        }
+
+        long coalescedRequests = coalescedRequestCount.incrementAndGet();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Waiting for the in progress resolution of: " + key + ". Total coalesced requests: "
+                    + coalescedRequests + ", total loaded requests: " + loadedRequestCount.get());
+        }
+        try {
+            return resultCopier.apply(inFlightRequest.get(maxWaitMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            long timedOutRequests = timedOutRequestCount.incrementAndGet();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Timed out while waiting for the in progress resolution of: " + key
+                        + ". Total timed out requests: " + timedOutRequests);
+            }
+            return loader.load();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.load();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BrandingPreferenceMgtException) {
+                throw (BrandingPreferenceMgtException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            return loader.load();
+        }
+    }
+
+    /**
+     * @return Number of requests which loaded the value by themselves.
+     */
+    public long getLoadedRequestCount() {
+
+        return loadedRequestCount.get();
+    }
+
+    /**
+     * @return Number of requests which waited for an in progress load.
+     */
+    public long getCoalescedRequestCount() {
+
+        return coalescedRequestCount.get();
+    }
+
+    /**
+     * @return Number of waiting requests which timed out and loaded the value by themselves.
+     */
+    public long getTimedOutRequestCount() {
+
+        return timedOutRequestCount.get();
+    }
+
+    /**
+     * @return Number of loads which are currently in progress.
+     */
+    public int getInFlightRequestCount() {
+
+        return inFlightRequests.size();
+    }
+
+    /**
+     * Loader of a value.
+     *
+     * @param <T> Type of the value.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        T load() throws BrandingPreferenceMgtException;
+    }
+}
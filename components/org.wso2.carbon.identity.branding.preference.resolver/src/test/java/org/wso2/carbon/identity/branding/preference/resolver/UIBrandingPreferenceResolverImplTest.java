@@ -24,6 +24,7 @@ import org.apache.commons.lang.StringUtils;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.base.CarbonBaseConstants;
@@ -33,16 +34,48 @@ import org.wso2.carbon.identity.branding.preference.management.core.UIBrandingPr
 import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtClientException;
 import org.wso2.carbon.identity.branding.preference.management.core.internal.BrandingPreferenceManagerComponentDataHolder;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
+import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PageBundle;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceResolutionResult;
+import org.wso2.carbon.identity.branding.preference.management.core.model.RawPreference;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedAppCache;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedAppCacheEntry;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedAppCacheKey;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandedOrgCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingGenerationCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingGenerationStamp;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingNotConfiguredCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingNotConfiguredCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingNotConfiguredCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.BrandingResolverCaches;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.LocaleFallbackCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.LocaleFallbackCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.LocaleFallbackCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.MergedCustomTextCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.MergedCustomTextCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.OrganizationHierarchyCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.OrganizationHierarchyCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.OrganizationHierarchyCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.PageBundleCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.PageBundleCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.PageBundleCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.ResolvedBrandingCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.ResolvedBrandingCacheEntry;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.ResolvedBrandingCacheKey;
 import org.wso2.carbon.identity.branding.preference.resolver.cache.TextCustomizedOrgCache;
+import org.wso2.carbon.identity.branding.preference.resolver.cache.TextCustomizedOrgCacheKey;
+import org.wso2.carbon.identity.branding.preference.resolver.constant.BrandingResolverConstants.AncestorLookupMode;
 import org.wso2.carbon.identity.branding.preference.resolver.internal.BrandingResolverComponentDataHolder;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingDependencyIndex;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingResolverExecutors;
 import org.wso2.carbon.identity.common.testng.realm.InMemoryRealmService;
 import org.wso2.carbon.identity.configuration.mgt.core.ConfigurationManager;
 import org.wso2.carbon.identity.configuration.mgt.core.exception.ConfigurationManagementException;
+import org.wso2.carbon.identity.configuration.mgt.core.model.Resource;
 import org.wso2.carbon.identity.configuration.mgt.core.model.ResourceFile;
+import org.wso2.carbon.identity.configuration.mgt.core.model.Resources;
+import org.wso2.carbon.identity.configuration.mgt.core.search.Condition;
+import org.wso2.carbon.identity.core.cache.BaseCache;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.services.IdentityEventService;
@@ -52,30 +85,49 @@ import org.wso2.carbon.identity.organization.management.service.exception.Organi
 import org.wso2.carbon.user.api.TenantManager;
 import org.wso2.carbon.user.api.UserRealmService;
 import org.wso2.carbon.user.core.UserStoreException;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static org.testng.Assert.assertThrows;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_BRANDING_RESOURCE_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.BRANDING_RESOURCE_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.CUSTOM_TEXT_RESOURCE_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DEFAULT_LOCALE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
 import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.RESOURCE_NAME_SEPARATOR;
 
@@ -98,8 +150,24 @@ public class UIBrandingPreferenceResolverImplTest {
     private BrandedAppCache brandedAppCache;
     @Mock
     private TextCustomizedOrgCache textCustomizedOrgCache;
+    @Mock
+    private ResolvedBrandingCache resolvedBrandingCache;
+    @Mock
+    private OrganizationHierarchyCache organizationHierarchyCache;
+    @Mock
+    private BrandingGenerationCache brandingGenerationCache;
+    @Mock
+    private PageBundleCache pageBundleCache;
+    @Mock
+    private MergedCustomTextCache mergedCustomTextCache;
+    @Mock
+    private LocaleFallbackCache localeFallbackCache;
+    @Mock
+    private BrandingNotConfiguredCache brandingNotConfiguredCache;
 
     private UIBrandingPreferenceResolver brandingPreferenceResolver;
+    private BrandingResolverExecutors resolverExecutors;
+    private BrandingDependencyIndex brandingDependencyIndex;
 
     private static final String ROOT_APP_ID = "fa9b9ac5-a429-49e2-9c51-4259c7ebe45e";
     private static final String ROOT_ORG_ID = "72b81cba-51c7-4dc1-91be-b267e177c17a";
@@ -111,6 +179,7 @@ public class UIBrandingPreferenceResolverImplTest {
     private static final String CHILD_APP_ID = "42ef1d92-add6-449b-8a3c-fc308d2a4eac";
     private static final String CHILD_ORG_ID = "30b701c6-e309-4241-b047-0c299c45d1a0";
     private static final int CHILD_TENANT_ID = 3;
+    private static final int MAX_DEPENDENTS_PER_TENANT = 100;
 
     @BeforeMethod
     public void setUp() throws Exception {
@@ -121,12 +190,40 @@ public class UIBrandingPreferenceResolverImplTest {
         BrandingResolverComponentDataHolder.getInstance().setConfigurationManager(configurationManager);
         BrandingResolverComponentDataHolder.getInstance().setOrganizationManager(organizationManager);
         BrandingResolverComponentDataHolder.getInstance().setOrgApplicationManager(orgApplicationManager);
+        BrandingResolverComponentDataHolder.getInstance().setResolvedContentCacheEnabled(false);
+        BrandingResolverComponentDataHolder.getInstance().setAncestorLookupMode(AncestorLookupMode.SEQUENTIAL);
+        BrandingResolverComponentDataHolder.getInstance().setGenerationInvalidationEnabled(false);
+        BrandingResolverComponentDataHolder.getInstance().setDependencyIndexEnabled(false);
+        BrandingResolverComponentDataHolder.getInstance().setCustomTextMergeEnabled(false);
+        BrandingResolverComponentDataHolder.getInstance().setLocaleFallbackEnabled(false);
 
         BrandingPreferenceManagerComponentDataHolder.getInstance().setIdentityEventService(identityEventService);
         doNothing().when(identityEventService).handleEvent(any(Event.class));
 
-        brandingPreferenceResolver =
-                new UIBrandingPreferenceResolverImpl(brandedOrgCache, brandedAppCache, textCustomizedOrgCache);
+        BrandingResolverCaches caches = new BrandingResolverCaches();
+        caches.setBrandedOrgCache(brandedOrgCache);
+        caches.setBrandedAppCache(brandedAppCache);
+        caches.setTextCustomizedOrgCache(textCustomizedOrgCache);
+        caches.setResolvedBrandingCache(resolvedBrandingCache);
+        caches.setOrganizationHierarchyCache(organizationHierarchyCache);
+        caches.setBrandingGenerationCache(brandingGenerationCache);
+        caches.setPageBundleCache(pageBundleCache);
+        caches.setMergedCustomTextCache(mergedCustomTextCache);
+        caches.setLocaleFallbackCache(localeFallbackCache);
+        caches.setBrandingNotConfiguredCache(brandingNotConfiguredCache);
+        brandingDependencyIndex = new BrandingDependencyIndex(MAX_DEPENDENTS_PER_TENANT);
+        caches.setBrandingDependencyIndex(brandingDependencyIndex);
+        resolverExecutors = new BrandingResolverExecutors(
+                BrandingResolverComponentDataHolder.getInstance().getAncestorProbePoolSize(),
+                BrandingResolverComponentDataHolder.getInstance().getHierarchyTraversalPoolSize(),
+                BrandingResolverComponentDataHolder.getInstance().getHierarchyTraversalWorkerPoolSize());
+        brandingPreferenceResolver = new UIBrandingPreferenceResolverImpl(caches, resolverExecutors);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        resolverExecutors.shutdown();
     }
 
     @Test
@@ -181,6 +278,51 @@ public class UIBrandingPreferenceResolverImplTest {
         }
     }
 
+    @Test
+    public void testResolvedBrandingIsWrittenFromRawPreference() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+
+            String resourceName =
+                    String.valueOf(CHILD_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "61356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-child-org-branding-preference.json";
+
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, BRANDING_RESOURCE_TYPE, resourceFileName);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+
+            Assert.assertNotNull(resolvedBrandingPreference.getRawPreference());
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            resolvedBrandingPreference.writePreferenceTo(outputStream);
+            Assert.assertEquals(outputStream.toByteArray(),
+                    Files.readAllBytes(Paths.get(getSamplesPath(resourceFileName))));
+            Assert.assertEquals(resolvedBrandingPreference.getPreference(), getPreferenceFromFile(resourceFileName));
+
+            String eTag = resolvedBrandingPreference.getRawPreference().getETag();
+            Assert.assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+            Assert.assertTrue(resolvedBrandingPreference.getRawPreference().matchesETag(eTag));
+            Assert.assertTrue(resolvedBrandingPreference.getRawPreference().matchesETag("\"other\", W/" + eTag));
+            Assert.assertFalse(resolvedBrandingPreference.getRawPreference().matchesETag("\"other\""));
+
+            PreferenceResolutionResult<BrandingPreference> notModifiedResult = brandingPreferenceResolver
+                    .tryResolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false, eTag);
+            Assert.assertFalse(notModifiedResult.isResolved());
+            Assert.assertTrue(notModifiedResult.isNotModified());
+            Assert.assertNull(notModifiedResult.getPreference());
+            Assert.assertEquals(notModifiedResult.getNotModifiedETag(), eTag);
+            assertThrows(IllegalStateException.class, notModifiedResult::getOrThrow);
+
+            PreferenceResolutionResult<BrandingPreference> modifiedResult = brandingPreferenceResolver
+                    .tryResolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false, "\"other\"");
+            Assert.assertFalse(modifiedResult.isNotModified());
+            Assert.assertNotNull(modifiedResult.getPreference());
+        }
+    }
+
     @Test
     public void testResolveAppBrandingFromParentAppBranding() throws Exception {
 
@@ -213,6 +355,48 @@ public class UIBrandingPreferenceResolverImplTest {
         }
     }
 
+    @Test
+    public void testResolvedInheritedBrandingIsOwnedByCaller() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+
+            String resourceName = PARENT_APP_ID.toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "71356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-parent-app-branding-preference.json";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.getOrganizationDepthInHierarchy(PARENT_ORG_ID)).thenReturn(1);
+
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, APPLICATION_BRANDING_RESOURCE_TYPE,
+                    resourceFileName);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+
+            Assert.assertEquals(resolvedBrandingPreference.getPreferenceDocument().getDisplayName(),
+                    StringUtils.EMPTY);
+
+            // Preference tree is a mutable copy, which does not change the resolved document.
+            LinkedHashMap<String, Object> preference =
+                    (LinkedHashMap<String, Object>) resolvedBrandingPreference.getPreference();
+            LinkedHashMap<String, Object> organizationDetails =
+                    (LinkedHashMap<String, Object>) preference.get("organizationDetails");
+            Assert.assertEquals(organizationDetails.get("displayName"), StringUtils.EMPTY);
+            organizationDetails.put("displayName", "Parent Org");
+            Assert.assertNull(resolvedBrandingPreference.getPreferenceDocument());
+            Assert.assertEquals(resolvedBrandingPreference.getRawPreference().getDocument().getDisplayName(),
+                    StringUtils.EMPTY);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            resolvedBrandingPreference.writePreferenceTo(outputStream);
+            Assert.assertTrue(new String(outputStream.toByteArray(), StandardCharsets.UTF_8).contains("Parent Org"));
+        }
+    }
+
     @Test
     public void testResolveAppBrandingFromParentOrgBranding() throws Exception {
 
@@ -244,6 +428,181 @@ public class UIBrandingPreferenceResolverImplTest {
         }
     }
 
+    @Test
+    public void testResolveAppBrandingFromParentOrgBrandingWithBatchAncestorLookup() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setAncestorLookupMode(AncestorLookupMode.BATCH);
+            String resourceName =
+                    String.valueOf(PARENT_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "81356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-parent-org-branding-preference.json";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+
+            Resource parentOrgBrandingResource = new Resource();
+            parentOrgBrandingResource.setResourceType(BRANDING_RESOURCE_TYPE);
+            parentOrgBrandingResource.setResourceName(resourceName);
+            when(configurationManager.getTenantResources(any(Condition.class))).thenReturn(
+                    new Resources(Collections.singletonList(parentOrgBrandingResource)));
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, BRANDING_RESOURCE_TYPE, resourceFileName);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getName(), PARENT_ORG_ID);
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getType(), ORGANIZATION_TYPE);
+            verify(configurationManager, never()).getFiles(APPLICATION_BRANDING_RESOURCE_TYPE,
+                    PARENT_APP_ID.toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE);
+        }
+    }
+
+    @Test
+    public void testResolveAppBrandingWithBatchAncestorLookupUsingSearchedFileId() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setAncestorLookupMode(AncestorLookupMode.BATCH);
+            String resourceName =
+                    String.valueOf(PARENT_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "91356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-parent-org-branding-preference.json";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+
+            // Search returns the file of the existing resource along with the resource.
+            Resource parentOrgBrandingResource = new Resource();
+            parentOrgBrandingResource.setResourceType(BRANDING_RESOURCE_TYPE);
+            parentOrgBrandingResource.setResourceName(resourceName);
+            parentOrgBrandingResource.setFiles(getResourceFiles(resourceName, resourceId, BRANDING_RESOURCE_TYPE));
+            when(configurationManager.getTenantResources(any(Condition.class))).thenReturn(
+                    new Resources(Collections.singletonList(parentOrgBrandingResource)));
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, BRANDING_RESOURCE_TYPE, resourceFileName);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getName(), PARENT_ORG_ID);
+            verify(configurationManager).getFileById(BRANDING_RESOURCE_TYPE, resourceName, resourceId);
+            verify(configurationManager, never()).getFiles(BRANDING_RESOURCE_TYPE, resourceName);
+        }
+    }
+
+    @Test
+    public void testResolveCustomTextsOfMultipleScreens() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            String loginResourceName = "LOGIN" + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE.toLowerCase();
+            String signUpResourceName = "SIGN-UP" + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE.toLowerCase();
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+
+            // Only the login screen text is customized, in the parent organization.
+            Resource parentOrgCustomTextResource = new Resource();
+            parentOrgCustomTextResource.setTenantDomain(PARENT_ORG_ID);
+            parentOrgCustomTextResource.setResourceType(CUSTOM_TEXT_RESOURCE_TYPE);
+            parentOrgCustomTextResource.setResourceName(loginResourceName);
+            when(configurationManager.getTenantResources(any(Condition.class))).thenReturn(
+                    new Resources(Collections.singletonList(parentOrgCustomTextResource)));
+            mockBrandingPreferenceRetrieval(loginResourceName, "a1356f5e-e10b-49f2-87a6-f7f48e164374",
+                    CUSTOM_TEXT_RESOURCE_TYPE, "sample-parent-org-branding-preference.json");
+
+            Map<String, CustomText> customTexts = brandingPreferenceResolver.resolveCustomTexts(ORGANIZATION_TYPE,
+                    CHILD_ORG_ID, new LinkedHashSet<>(Arrays.asList("login", "sign-up")), DEFAULT_LOCALE);
+
+            Assert.assertEquals(customTexts.keySet(), Collections.singleton("login"));
+            Assert.assertEquals(customTexts.get("login").getPreference(),
+                    getPreferenceFromFile("sample-parent-org-branding-preference.json"));
+            verify(configurationManager, never()).getFiles(CUSTOM_TEXT_RESOURCE_TYPE, signUpResourceName);
+        }
+    }
+
+    @Test
+    public void testResolveCustomTextFromCachedFallbackLocale() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setLocaleFallbackEnabled(true);
+            String resourceName = "LOGIN" + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE.toLowerCase();
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+
+            // Custom text of the login screen is only available in the default locale.
+            Resource parentOrgCustomTextResource = new Resource();
+            parentOrgCustomTextResource.setTenantDomain(PARENT_ORG_ID);
+            parentOrgCustomTextResource.setResourceType(CUSTOM_TEXT_RESOURCE_TYPE);
+            parentOrgCustomTextResource.setResourceName(resourceName);
+            when(configurationManager.getTenantResources(any(Condition.class))).thenReturn(
+                    new Resources(Collections.singletonList(parentOrgCustomTextResource)));
+            mockBrandingPreferenceRetrieval(resourceName, "c1356f5e-e10b-49f2-87a6-f7f48e164374",
+                    CUSTOM_TEXT_RESOURCE_TYPE, "sample-parent-org-branding-preference.json");
+            // The default locale is already chosen as the fallback of the requested locale.
+            when(localeFallbackCache.getValueFromCache(new LocaleFallbackCacheKey(ORGANIZATION_TYPE, CHILD_ORG_ID,
+                    "login", "fr-CA", false), CHILD_ORG_ID)).thenReturn(new LocaleFallbackCacheEntry(DEFAULT_LOCALE));
+
+            CustomText customText = brandingPreferenceResolver.resolveCustomText(ORGANIZATION_TYPE, CHILD_ORG_ID,
+                    "login", "fr-CA");
+
+            Assert.assertEquals(customText.getPreference(),
+                    getPreferenceFromFile("sample-parent-org-branding-preference.json"));
+            verify(configurationManager, never()).getFiles(CUSTOM_TEXT_RESOURCE_TYPE,
+                    "LOGIN" + RESOURCE_NAME_SEPARATOR + "fr-ca");
+            verify(localeFallbackCache, never()).addToCache(any(LocaleFallbackCacheKey.class),
+                    any(LocaleFallbackCacheEntry.class), anyString());
+        }
+    }
+
+    @Test
+    public void testResolveCustomTextFromRootOrgWithSingleHierarchyFetch() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            String resourceName = "LOGIN" + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE.toLowerCase();
+            String resourceId = "d1356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-root-org-branding-preference.json";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+            when(organizationManager.getOrganizationDepthInHierarchy(ROOT_ORG_ID)).thenReturn(0);
+            when(organizationManager.getOrganizationDepthInHierarchy(PARENT_ORG_ID)).thenReturn(1);
+
+            // Only the root organization has customized the login screen text.
+            when(configurationManager.getFiles(CUSTOM_TEXT_RESOURCE_TYPE, resourceName)).thenAnswer(invocation ->
+                    ROOT_TENANT_DOMAIN.equals(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain())
+                            ? getResourceFiles(resourceName, resourceId, CUSTOM_TEXT_RESOURCE_TYPE)
+                            : Collections.emptyList());
+            when(configurationManager.getFileById(CUSTOM_TEXT_RESOURCE_TYPE, resourceName, resourceId))
+                    .thenReturn(FileUtils.openInputStream(new File(getSamplesPath(resourceFileName))));
+
+            CustomText customText = brandingPreferenceResolver.resolveCustomText(ORGANIZATION_TYPE, CHILD_ORG_ID,
+                    "login", DEFAULT_LOCALE);
+
+            Assert.assertEquals(customText.getPreference(), getPreferenceFromFile(resourceFileName));
+            // Current, parent and root organizations are checked, walking a single fetch of the ancestor chain.
+            verify(configurationManager, times(3)).getFiles(CUSTOM_TEXT_RESOURCE_TYPE, resourceName);
+            verify(organizationManager, times(1)).getAncestorOrganizationIds(anyString());
+            verify(textCustomizedOrgCache).addToCache(eq(new TextCustomizedOrgCacheKey(CHILD_ORG_ID, resourceName)),
+                    any(), eq(CHILD_ORG_ID));
+        }
+    }
+
     @Test
     public void testResolveAppBrandingFromRootAppBranding() throws Exception {
 
@@ -566,6 +925,33 @@ public class UIBrandingPreferenceResolverImplTest {
         }
     }
 
+    @Test
+    public void testResolveOrgBrandingWithoutLocaleWhenLocaleFallbackEnabled() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setLocaleFallbackEnabled(true);
+
+            String resourceName = String.valueOf(CHILD_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + null;
+            String resourceId = "62356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-child-org-branding-preference.json";
+
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, BRANDING_RESOURCE_TYPE, resourceFileName);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(ORGANIZATION_TYPE, CHILD_ORG_ID, null, false);
+
+            // A missing locale has nothing to fall back from. Hence, only the requested branding is looked up.
+            Assert.assertEquals(resolvedBrandingPreference.getName(), CHILD_ORG_ID);
+            Assert.assertNull(resolvedBrandingPreference.getLocale());
+            verify(configurationManager, never()).getFiles(BRANDING_RESOURCE_TYPE,
+                    String.valueOf(CHILD_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE);
+            verify(localeFallbackCache, never()).addToCache(any(LocaleFallbackCacheKey.class),
+                    any(LocaleFallbackCacheEntry.class), anyString());
+        }
+    }
+
     @Test
     public void testResolveOrgBrandingRestrictedToPublishedWithUnpublishedCurrentOrgBranding() throws Exception {
 
@@ -689,6 +1075,324 @@ public class UIBrandingPreferenceResolverImplTest {
         }
     }
 
+    @Test
+    public void testResolveAppBrandingFromResolvedBrandingCache() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setResolvedContentCacheEnabled(true);
+
+            Object preference =
+                    getPreferenceFromFile("sample-parent-app-branding-preference-without-display-name.json");
+            ResolvedBrandingCacheEntry resolvedBrandingCacheEntry = new ResolvedBrandingCacheEntry(APPLICATION_TYPE,
+                    PARENT_APP_ID, DEFAULT_LOCALE, preference, APPLICATION_TYPE, PARENT_APP_ID);
+            when(resolvedBrandingCache.getValueFromCache(
+                    new ResolvedBrandingCacheKey(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false),
+                    CHILD_ORG_ID)).thenReturn(resolvedBrandingCacheEntry);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+
+            Assert.assertEquals(resolvedBrandingPreference.getName(), PARENT_APP_ID);
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getName(), PARENT_APP_ID);
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getType(), APPLICATION_TYPE);
+            Assert.assertEquals(resolvedBrandingPreference.getPreference(), preference);
+            verify(configurationManager, never()).getFiles(anyString(), anyString());
+        }
+    }
+
+    @Test
+    public void testResolveCustomTextMergedWithParentCustomText() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setCustomTextMergeEnabled(true);
+            String resourceName = "LOGIN" + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE.toLowerCase();
+            String resourceId = "b1356f5e-e10b-49f2-87a6-f7f48e164374";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.getOrganizationDepthInHierarchy(PARENT_ORG_ID)).thenReturn(1);
+            // Effective custom text of the parent organization is already precomputed.
+            when(mergedCustomTextCache.getValueFromCache(new TextCustomizedOrgCacheKey(PARENT_ORG_ID, resourceName),
+                    PARENT_ORG_ID)).thenReturn(new MergedCustomTextCacheEntry(new RawPreference(
+                    "{\"login.heading\":\"Sign In\",\"login.button\":\"Continue\"}"
+                            .getBytes(StandardCharsets.UTF_8)), ROOT_TENANT_DOMAIN));
+            // The child organization only overrides a single key.
+            when(configurationManager.getFiles(CUSTOM_TEXT_RESOURCE_TYPE, resourceName))
+                    .thenReturn(getResourceFiles(resourceName, resourceId, CUSTOM_TEXT_RESOURCE_TYPE));
+            when(configurationManager.getFileById(CUSTOM_TEXT_RESOURCE_TYPE, resourceName, resourceId))
+                    .thenReturn(new ByteArrayInputStream("{\"login.button\":\"Next\"}"
+                            .getBytes(StandardCharsets.UTF_8)));
+
+            CustomText customText = brandingPreferenceResolver.resolveCustomText(ORGANIZATION_TYPE, CHILD_ORG_ID,
+                    "login", DEFAULT_LOCALE);
+
+            Map<String, Object> expectedPreference = new HashMap<>();
+            expectedPreference.put("login.heading", "Sign In");
+            expectedPreference.put("login.button", "Next");
+            Assert.assertEquals(customText.getPreference(), expectedPreference);
+            Assert.assertEquals(customText.getResolvedFrom().getName(), CHILD_ORG_ID);
+            verify(mergedCustomTextCache).addToCache(eq(new TextCustomizedOrgCacheKey(CHILD_ORG_ID, resourceName)),
+                    any(MergedCustomTextCacheEntry.class), eq(CHILD_ORG_ID));
+        }
+    }
+
+    @Test
+    public void testResolvePageBundleFromCacheAndClearWithCustomText() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setResolvedContentCacheEnabled(true);
+
+            Object preference = getPreferenceFromFile("sample-parent-org-branding-preference.json");
+            CustomText customText = new CustomText();
+            customText.setType(ORGANIZATION_TYPE);
+            customText.setName(CHILD_ORG_ID);
+            customText.setScreen("login");
+            customText.setLocale(DEFAULT_LOCALE);
+            customText.setPreference(preference);
+            customText.setResolvedFrom(ORGANIZATION_TYPE, PARENT_ORG_ID);
+            LinkedHashMap<String, CustomText> customTexts = new LinkedHashMap<>();
+            customTexts.put("login", customText);
+            PageBundleCacheEntry pageBundleCacheEntry = new PageBundleCacheEntry(new ResolvedBrandingCacheEntry(
+                    ORGANIZATION_TYPE, PARENT_ORG_ID, DEFAULT_LOCALE, preference, ORGANIZATION_TYPE, PARENT_ORG_ID),
+                    customTexts);
+            // Order of the screens does not change the cached page bundle.
+            when(pageBundleCache.getValueFromCache(new PageBundleCacheKey(ORGANIZATION_TYPE, CHILD_ORG_ID,
+                    new LinkedHashSet<>(Arrays.asList("sign-up", "login")), DEFAULT_LOCALE, false), CHILD_ORG_ID))
+                    .thenReturn(pageBundleCacheEntry);
+
+            PageBundle pageBundle = brandingPreferenceResolver.resolvePageBundle(ORGANIZATION_TYPE, CHILD_ORG_ID,
+                    new LinkedHashSet<>(Arrays.asList("login", "sign-up")), DEFAULT_LOCALE, false);
+
+            Assert.assertEquals(pageBundle.getBrandingPreference().getResolvedFrom().getName(), PARENT_ORG_ID);
+            Assert.assertEquals(pageBundle.getBrandingPreference().getPreference(), preference);
+            Assert.assertEquals(pageBundle.getCustomTexts().keySet(), Collections.singleton("login"));
+            Assert.assertNotSame(pageBundle.getCustomTexts().get("login"), customText);
+            verify(configurationManager, never()).getFiles(anyString(), anyString());
+
+            brandingPreferenceResolver.clearCustomTextResolverCacheHierarchy(CHILD_ORG_ID, "login", DEFAULT_LOCALE);
+
+            verify(pageBundleCache).clear(CHILD_ORG_ID);
+        }
+    }
+
+    @Test
+    public void testResolveAppBrandingFromIndexedOrganizationHierarchy() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            String resourceName =
+                    String.valueOf(PARENT_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "81356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-parent-org-branding-preference.json";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationHierarchyCache.getValueFromCache(new OrganizationHierarchyCacheKey(CHILD_ORG_ID),
+                    MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)).thenReturn(new OrganizationHierarchyCacheEntry(
+                    new String[]{CHILD_ORG_ID, PARENT_ORG_ID, ROOT_ORG_ID}, CHILD_ORG_ID));
+            when(organizationHierarchyCache.getValueFromCache(new OrganizationHierarchyCacheKey(PARENT_ORG_ID),
+                    MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)).thenReturn(new OrganizationHierarchyCacheEntry(
+                    new String[]{PARENT_ORG_ID, ROOT_ORG_ID}, PARENT_ORG_ID));
+
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, BRANDING_RESOURCE_TYPE, resourceFileName);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getName(), PARENT_ORG_ID);
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getType(), ORGANIZATION_TYPE);
+            verify(organizationManager, never()).getAncestorOrganizationIds(anyString());
+            verify(organizationManager, never()).resolveTenantDomain(anyString());
+            verify(organizationManager, never()).getOrganizationDepthInHierarchy(anyString());
+        }
+    }
+
+    @Test
+    public void testClearBrandingResolverCacheOfDependentsOfChangedOrgBranding() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setDependencyIndexEnabled(true);
+            String resourceName =
+                    String.valueOf(PARENT_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "15356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-parent-org-branding-preference.json";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.getOrganizationDepthInHierarchy(PARENT_ORG_ID)).thenReturn(1);
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, BRANDING_RESOURCE_TYPE, resourceFileName);
+
+            // The first change of the parent org branding sweeps the hierarchy, after which the index is complete.
+            setCarbonContextForTenant(PARENT_ORG_ID, PARENT_TENANT_ID, PARENT_ORG_ID);
+            brandingPreferenceResolver.clearBrandingResolverCacheHierarchy(ORGANIZATION_TYPE, PARENT_ORG_ID,
+                    PARENT_ORG_ID);
+            Assert.assertEquals(
+                    brandingPreferenceResolver.getInvalidationScheduler().getRequestedInvalidationCount(), 1);
+
+            // Resolving the child app branding from the parent org branding makes the child app a dependent.
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+            Assert.assertFalse(brandingDependencyIndex.getDependents(PARENT_ORG_ID, ORGANIZATION_TYPE).isEmpty());
+
+            setCarbonContextForTenant(PARENT_ORG_ID, PARENT_TENANT_ID, PARENT_ORG_ID);
+            brandingPreferenceResolver.clearBrandingResolverCacheHierarchy(ORGANIZATION_TYPE, PARENT_ORG_ID,
+                    PARENT_ORG_ID);
+
+            verify(brandedAppCache).clearCacheEntry(new BrandedAppCacheKey(CHILD_APP_ID), CHILD_ORG_ID);
+            verify(resolvedBrandingCache).clear(CHILD_ORG_ID);
+            // Only the dependents are evicted, without sweeping the other child organizations of the hierarchy.
+            Assert.assertEquals(
+                    brandingPreferenceResolver.getInvalidationScheduler().getRequestedInvalidationCount(), 1);
+            verify(brandedAppCache, never()).clear(CHILD_ORG_ID);
+            verify(organizationManager, never()).getOrganizations(anyInt(), any(), any(), any(), any(), anyBoolean());
+        }
+    }
+
+    @Test
+    public void testResolveAppBrandingIgnoresCacheEntryWithStaleGeneration() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setGenerationInvalidationEnabled(true);
+
+            String resourceName = CHILD_APP_ID.toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "14356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-child-app-branding-preference.json";
+
+            when(organizationHierarchyCache.getValueFromCache(new OrganizationHierarchyCacheKey(CHILD_ORG_ID),
+                    MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)).thenReturn(new OrganizationHierarchyCacheEntry(
+                    new String[]{CHILD_ORG_ID, PARENT_ORG_ID, ROOT_ORG_ID}, CHILD_ORG_ID));
+            // Cached resolution which was made before a branding change of the parent organization.
+            BrandedAppCacheEntry brandedAppCacheEntry =
+                    new BrandedAppCacheEntry(PARENT_ORG_ID, null, ORGANIZATION_TYPE);
+            brandedAppCacheEntry.setGenerationStamp(new BrandingGenerationStamp(
+                    new String[]{PARENT_ORG_ID + ":" + ORGANIZATION_TYPE}, new long[]{1L}));
+            when(brandedAppCache.getValueFromCache(any(BrandedAppCacheKey.class), eq(CHILD_ORG_ID))).thenReturn(
+                    brandedAppCacheEntry);
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, APPLICATION_BRANDING_RESOURCE_TYPE,
+                    resourceFileName);
+
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE, false);
+
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getName(), CHILD_APP_ID);
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getType(), APPLICATION_TYPE);
+            verify(brandedAppCache).clearCacheEntry(any(BrandedAppCacheKey.class), eq(CHILD_ORG_ID));
+        }
+    }
+
+    @Test
+    public void testResolveOrgBrandingOfSaaSAppResolvesBrandedOrganizationOnce() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME,
+                    MultitenantConstants.SUPER_TENANT_ID, ROOT_ORG_ID);
+            BrandingResolverComponentDataHolder.getInstance().setGenerationInvalidationEnabled(true);
+
+            assertThrows(BrandingPreferenceMgtClientException.class, () ->
+                    brandingPreferenceResolver.resolveBranding(ORGANIZATION_TYPE, CHILD_ORG_ID, DEFAULT_LOCALE,
+                            false));
+            // The organization of the tenant given in the name is resolved once, and reused for the resolution.
+            verify(organizationManager, times(1)).resolveOrganizationId(CHILD_ORG_ID);
+        }
+    }
+
+    @Test
+    public void testResolveOrgBrandingWithNotConfiguredCacheEntry() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+
+            BrandingNotConfiguredCacheEntry notConfiguredCacheEntry =
+                    new BrandingNotConfiguredCacheEntry(System.currentTimeMillis() + 60000);
+            when(brandingNotConfiguredCache.getValueFromCache(
+                    new BrandingNotConfiguredCacheKey(ORGANIZATION_TYPE, CHILD_ORG_ID, DEFAULT_LOCALE), CHILD_ORG_ID))
+                    .thenReturn(notConfiguredCacheEntry);
+
+            assertThrows(BrandingPreferenceMgtClientException.class, () ->
+                    brandingPreferenceResolver.resolveBranding(ORGANIZATION_TYPE, CHILD_ORG_ID, DEFAULT_LOCALE,
+                            false));
+            verify(configurationManager, never()).getFiles(anyString(), anyString());
+        }
+    }
+
+    @Test
+    public void testResolveOrgBrandingOfAnotherLocaleAfterNotConfiguredLocale() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+            mockCacheWithMap(brandedOrgCache);
+            mockCacheWithMap(brandingNotConfiguredCache);
+            String resourceName =
+                    String.valueOf(PARENT_TENANT_ID).toLowerCase() + RESOURCE_NAME_SEPARATOR + DEFAULT_LOCALE;
+            String resourceId = "16356f5e-e10b-49f2-87a6-f7f48e164374";
+            String resourceFileName = "sample-parent-org-branding-preference.json";
+            String notConfiguredLocale = "fr-FR";
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+            when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+            when(organizationManager.getOrganizationDepthInHierarchy(ROOT_ORG_ID)).thenReturn(0);
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.getOrganizationDepthInHierarchy(PARENT_ORG_ID)).thenReturn(1);
+            mockBrandingPreferenceRetrieval(resourceName, resourceId, BRANDING_RESOURCE_TYPE, resourceFileName);
+
+            assertThrows(BrandingPreferenceMgtClientException.class, () ->
+                    brandingPreferenceResolver.resolveBranding(ORGANIZATION_TYPE, CHILD_ORG_ID, notConfiguredLocale,
+                            false));
+
+            // The tombstone of the first locale must not hide the branding of the other locales.
+            BrandingPreference resolvedBrandingPreference =
+                    brandingPreferenceResolver.resolveBranding(ORGANIZATION_TYPE, CHILD_ORG_ID, DEFAULT_LOCALE,
+                            false);
+            Assert.assertEquals(resolvedBrandingPreference.getLocale(), DEFAULT_LOCALE);
+            Assert.assertEquals(resolvedBrandingPreference.getResolvedFrom().getName(), PARENT_ORG_ID);
+
+            // The tombstone of the first locale is still used for the requests of the same locale.
+            assertThrows(BrandingPreferenceMgtClientException.class, () ->
+                    brandingPreferenceResolver.resolveBranding(ORGANIZATION_TYPE, CHILD_ORG_ID, notConfiguredLocale,
+                            false));
+            verify(configurationManager, times(1)).getFiles(BRANDING_RESOURCE_TYPE,
+                    String.valueOf(CHILD_TENANT_ID) + RESOURCE_NAME_SEPARATOR + notConfiguredLocale);
+        }
+    }
+
+    @Test
+    public void testTryResolveAppBrandingWhenNoBrandingAvailable() throws Exception {
+
+        try (MockedStatic<OSGiDataHolder> mockedOSGiDataHolder = mockStatic(OSGiDataHolder.class)) {
+            mockOSGiDataHolder(mockedOSGiDataHolder);
+            setCarbonContextForTenant(CHILD_ORG_ID, CHILD_TENANT_ID, CHILD_ORG_ID);
+
+            mockAncestorOrgIdAndAppIdRetrieval();
+
+            when(organizationManager.resolveTenantDomain(ROOT_ORG_ID)).thenReturn(ROOT_TENANT_DOMAIN);
+            when(organizationManager.getOrganizationDepthInHierarchy(ROOT_ORG_ID)).thenReturn(0);
+
+            when(organizationManager.resolveTenantDomain(PARENT_ORG_ID)).thenReturn(PARENT_ORG_ID);
+            when(organizationManager.getOrganizationDepthInHierarchy(PARENT_ORG_ID)).thenReturn(1);
+
+            PreferenceResolutionResult<BrandingPreference> resolutionResult =
+                    brandingPreferenceResolver.tryResolveBranding(APPLICATION_TYPE, CHILD_APP_ID, DEFAULT_LOCALE,
+                            false);
+
+            Assert.assertFalse(resolutionResult.isResolved());
+            Assert.assertNull(resolutionResult.getPreference());
+            Assert.assertEquals(resolutionResult.getNotFoundReason(), ERROR_CODE_BRANDING_PREFERENCE_NOT_CONFIGURED);
+        }
+    }
+
     private void mockOSGiDataHolder(MockedStatic<OSGiDataHolder> mockedOSGiDataHolder)
             throws Exception {
 
@@ -705,6 +1409,25 @@ public class UIBrandingPreferenceResolverImplTest {
         mockedOSGiDataHolder.when(OSGiDataHolder::getInstance).thenReturn(dataHolder);
     }
 
+    /**
+     * Back a mocked resolver cache with an in-memory map, so that the entries added to the cache can be read back.
+     *
+     * @param cache Mocked cache.
+     */
+    private static <K extends Serializable, V extends Serializable> void mockCacheWithMap(BaseCache<K, V> cache) {
+
+        Map<String, Map<K, V>> tenantEntries = new HashMap<>();
+        doAnswer(invocation -> tenantEntries.computeIfAbsent(invocation.getArgument(2), key -> new HashMap<>())
+                .put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).addToCache(any(), any(), anyString());
+        when(cache.getValueFromCache(any(), anyString())).thenAnswer(invocation -> tenantEntries
+                .getOrDefault(invocation.getArgument(1), Collections.emptyMap()).get(invocation.getArgument(0)));
+        doAnswer(invocation -> tenantEntries.getOrDefault(invocation.getArgument(1), Collections.emptyMap())
+                .remove(invocation.getArgument(0)))
+                .when(cache).clearCacheEntry(any(), anyString());
+        doAnswer(invocation -> tenantEntries.remove(invocation.getArgument(0))).when(cache).clear(anyString());
+    }
+
     private void mockBrandingPreferenceRetrieval(String resourceName, String resourceId, String resourceType,
                                                  String resourceFileName)
             throws ConfigurationManagementException, IOException {
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.branding.preference.resolver.util.BrandingDependencyIndex.Dependent;
+
+import java.util.Collections;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.APPLICATION_TYPE;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
+
+/**
+ * Unit tests for BrandingDependencyIndex.
+ */
+public class BrandingDependencyIndexTest {
+
+    private static final String PARENT_TENANT_DOMAIN = "parent.com";
+    private static final String CHILD_TENANT_DOMAIN = "child.com";
+
+    @Test
+    public void testDependentsAreNotReportedBeforeTracking() {
+
+        BrandingDependencyIndex index = new BrandingDependencyIndex(10);
+        index.addDependent(PARENT_TENANT_DOMAIN, new Dependent(APPLICATION_TYPE, CHILD_TENANT_DOMAIN, "app-1"));
+
+        // Entries resolved before the node started are not known to the index.
+        Assert.assertNull(index.getDependents(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE));
+        Assert.assertNull(index.removeDependents(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE));
+    }
+
+    @Test
+    public void testDependentsAreRemovedOnceTracked() {
+
+        BrandingDependencyIndex index = new BrandingDependencyIndex(10);
+        index.startTracking(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE);
+        Dependent appDependent = new Dependent(APPLICATION_TYPE, CHILD_TENANT_DOMAIN, "app-1");
+        Dependent orgDependent = new Dependent(ORGANIZATION_TYPE, CHILD_TENANT_DOMAIN, "org-1");
+        index.addDependent(PARENT_TENANT_DOMAIN, appDependent);
+        index.addDependent(PARENT_TENANT_DOMAIN, orgDependent);
+
+        // Organization branding resolution does not depend on application branding.
+        Assert.assertEquals(index.removeDependents(PARENT_TENANT_DOMAIN, APPLICATION_TYPE),
+                Collections.singleton(appDependent));
+        Assert.assertEquals(index.removeDependents(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE),
+                Collections.singleton(orgDependent));
+        Assert.assertEquals(index.removeDependents(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE),
+                Collections.emptySet());
+    }
+
+    @Test
+    public void testTrackingStopsOnceLimitIsExceeded() {
+
+        BrandingDependencyIndex index = new BrandingDependencyIndex(1);
+        index.startTracking(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE);
+        index.addDependent(PARENT_TENANT_DOMAIN, new Dependent(APPLICATION_TYPE, CHILD_TENANT_DOMAIN, "app-1"));
+        index.addDependent(PARENT_TENANT_DOMAIN, new Dependent(APPLICATION_TYPE, CHILD_TENANT_DOMAIN, "app-2"));
+
+        Assert.assertNull(index.removeDependents(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE));
+
+        // The hierarchy sweep of the next change restarts the tracking.
+        index.startTracking(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE);
+        Assert.assertEquals(index.removeDependents(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE), Collections.emptySet());
+    }
+
+    @Test
+    public void testTrackingStopsWhenSweepFails() {
+
+        BrandingDependencyIndex index = new BrandingDependencyIndex(10);
+        index.startTracking(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE);
+        index.stopTracking(PARENT_TENANT_DOMAIN);
+
+        Assert.assertNull(index.getDependents(PARENT_TENANT_DOMAIN, ORGANIZATION_TYPE));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for CallerCarbonContext.
+ */
+public class CallerCarbonContextTest {
+
+    private static final String TENANT_DOMAIN = "sub-org.com";
+    private static final int TENANT_ID = 2;
+    private static final String USERNAME = "admin";
+    private static final String USER_ID = "c8a4b0a6-5c3b-4e4f-9f3c-7d7d3b0e0a11";
+    private static final String ORGANIZATION_ID = "b1a76a8c-4f5b-4c7e-8e0d-5bd5a0a8f4d2";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private ExecutorService workerExecutorService;
+
+    @BeforeMethod
+    public void setUp() {
+
+        setCarbonHome();
+        workerExecutorService = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        workerExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void testWrappedTaskRunsWithCallerCarbonContext() throws Exception {
+
+        CallerCarbonContext callerCarbonContext;
+        PrivilegedCarbonContext.startTenantFlow();
+        try {
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantDomain(TENANT_DOMAIN);
+            carbonContext.setTenantId(TENANT_ID);
+            carbonContext.setUsername(USERNAME);
+            carbonContext.setUserId(USER_ID);
+            carbonContext.setOrganizationId(ORGANIZATION_ID);
+            callerCarbonContext = CallerCarbonContext.capture();
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+
+        String[] seenContext = workerExecutorService.submit(callerCarbonContext.wrap(() -> {
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            return new String[]{carbonContext.getTenantDomain(), String.valueOf(carbonContext.getTenantId()),
+                    carbonContext.getUsername(), carbonContext.getUserId(), carbonContext.getOrganizationId()};
+        })).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertEquals(seenContext, new String[]{TENANT_DOMAIN, String.valueOf(TENANT_ID), USERNAME, USER_ID,
+                ORGANIZATION_ID});
+        // The tenant flow of the task is ended, leaving the worker thread without the caller's context.
+        String organizationIdAfterTask = workerExecutorService.submit(() ->
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().getOrganizationId())
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Assert.assertNull(organizationIdAfterTask);
+    }
+
+    private void setCarbonHome() {
+
+        String carbonHome = Paths.get(System.getProperty("user.dir"), "target", "test-classes", "repository").
+                toString();
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, carbonHome);
+        System.setProperty(CarbonBaseConstants.CARBON_CONFIG_DIR_PATH, Paths.get(carbonHome, "conf").toString());
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.branding.preference.resolver.util.InvalidationScheduler.Category;
+import org.wso2.carbon.identity.branding.preference.resolver.util.InvalidationScheduler.Invalidation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_TYPE;
+
+/**
+ * Unit tests for InvalidationScheduler.
+ */
+public class InvalidationSchedulerTest {
+
+    private static final String ROOT_ORG_ID = "72b81cba-51c7-4dc1-91be-b267e177c17a";
+    private static final String PARENT_ORG_ID = "93d996f9-a5ba-4275-a52b-adaad9eba869";
+    private static final String CHILD_ORG_ID = "30b701c6-e309-4241-b047-0c299c45d1a0";
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @BeforeMethod
+    public void setUp() {
+
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void testScheduleDebouncesInvalidationsOfSameKey() throws Exception {
+
+        InvalidationScheduler invalidationScheduler = getInvalidationScheduler(200, TIMEOUT_MILLIS);
+        AtomicInteger firstRuns = new AtomicInteger();
+        AtomicInteger secondRuns = new AtomicInteger();
+        AtomicInteger lastRuns = new AtomicInteger();
+
+        invalidationScheduler.schedule(getInvalidation(Category.BRANDING, PARENT_ORG_ID, firstRuns));
+        invalidationScheduler.schedule(getInvalidation(Category.BRANDING, PARENT_ORG_ID, secondRuns));
+        invalidationScheduler.schedule(getInvalidation(Category.BRANDING, PARENT_ORG_ID, lastRuns));
+        Assert.assertEquals(invalidationScheduler.getPendingInvalidationCount(), 1);
+
+        waitUntil(() -> invalidationScheduler.getDispatchedInvalidationCount() == 1);
+        // Only the latest request of the key is dispatched.
+        Assert.assertEquals(firstRuns.get(), 0);
+        Assert.assertEquals(secondRuns.get(), 0);
+        Assert.assertEquals(lastRuns.get(), 1);
+        Assert.assertEquals(invalidationScheduler.getRequestedInvalidationCount(), 3);
+        Assert.assertEquals(invalidationScheduler.getCoalescedInvalidationCount(), 2);
+        Assert.assertEquals(invalidationScheduler.getPendingInvalidationCount(), 0);
+    }
+
+    @Test
+    public void testScheduleDropsInvalidationCoveredByPendingAncestorInvalidation() throws Exception {
+
+        InvalidationScheduler invalidationScheduler = getInvalidationScheduler(200, TIMEOUT_MILLIS);
+        AtomicInteger parentRuns = new AtomicInteger();
+        AtomicInteger childRuns = new AtomicInteger();
+
+        invalidationScheduler.schedule(getInvalidation(Category.BRANDING, PARENT_ORG_ID, parentRuns));
+        invalidationScheduler.schedule(getInvalidation(Category.RESOLVED_BRANDING, CHILD_ORG_ID, childRuns));
+        Assert.assertEquals(invalidationScheduler.getPendingInvalidationCount(), 1);
+
+        waitUntil(() -> invalidationScheduler.getDispatchedInvalidationCount() == 1);
+        Assert.assertEquals(parentRuns.get(), 1);
+        Assert.assertEquals(childRuns.get(), 0);
+        Assert.assertEquals(invalidationScheduler.getCoalescedInvalidationCount(), 1);
+    }
+
+    @Test
+    public void testScheduleReplacesPendingDescendantInvalidation() throws Exception {
+
+        InvalidationScheduler invalidationScheduler = getInvalidationScheduler(200, TIMEOUT_MILLIS);
+        AtomicInteger childRuns = new AtomicInteger();
+        AtomicInteger rootRuns = new AtomicInteger();
+        AtomicInteger customTextRuns = new AtomicInteger();
+
+        invalidationScheduler.schedule(getInvalidation(Category.BRANDING, CHILD_ORG_ID, childRuns));
+        // Custom text invalidations are not covered by the branding invalidations.
+        invalidationScheduler.schedule(getInvalidation(Category.CUSTOM_TEXT, CHILD_ORG_ID, customTextRuns));
+        invalidationScheduler.schedule(getInvalidation(Category.BRANDING, ROOT_ORG_ID, rootRuns));
+        Assert.assertEquals(invalidationScheduler.getPendingInvalidationCount(), 2);
+
+        waitUntil(() -> invalidationScheduler.getDispatchedInvalidationCount() == 2);
+        Assert.assertEquals(childRuns.get(), 0);
+        Assert.assertEquals(rootRuns.get(), 1);
+        Assert.assertEquals(customTextRuns.get(), 1);
+        Assert.assertEquals(invalidationScheduler.getCoalescedInvalidationCount(), 1);
+    }
+
+    @Test
+    public void testScheduleKeepsDescendantInvalidationOfWiderScope() throws Exception {
+
+        InvalidationScheduler invalidationScheduler = getInvalidationScheduler(200, TIMEOUT_MILLIS);
+        AtomicInteger rootRuns = new AtomicInteger();
+        AtomicInteger childRuns = new AtomicInteger();
+
+        // Resolved branding traversals of an ancestor do not clear the branding resolver caches of a descendant.
+        invalidationScheduler.schedule(getInvalidation(Category.RESOLVED_BRANDING, ROOT_ORG_ID, rootRuns));
+        invalidationScheduler.schedule(getInvalidation(Category.BRANDING, CHILD_ORG_ID, childRuns));
+        Assert.assertEquals(invalidationScheduler.getPendingInvalidationCount(), 2);
+
+        waitUntil(() -> invalidationScheduler.getDispatchedInvalidationCount() == 2);
+        Assert.assertEquals(rootRuns.get(), 1);
+        Assert.assertEquals(childRuns.get(), 1);
+        Assert.assertEquals(invalidationScheduler.getCoalescedInvalidationCount(), 0);
+        Assert.assertEquals(invalidationScheduler.getPendingInvalidationCount(), 0);
+    }
+
+    @Test
+    public void testScheduleDispatchesInvalidationAtMaxDelay() throws Exception {
+
+        InvalidationScheduler invalidationScheduler = getInvalidationScheduler(300, 500);
+        AtomicLong firstRunTime = new AtomicLong();
+        long startTime = System.currentTimeMillis();
+
+        // Changes keep arriving within the debounce time, for longer than the maximum delay.
+        while (System.currentTimeMillis() - startTime < 1500) {
+            invalidationScheduler.schedule(new Invalidation(Category.BRANDING, ORGANIZATION_TYPE, PARENT_ORG_ID,
+                    PARENT_ORG_ID, () -> {
+                        firstRunTime.compareAndSet(0, System.currentTimeMillis());
+                        return CompletableFuture.completedFuture(null);
+                    }));
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        Assert.assertTrue(firstRunTime.get() > 0, "Invalidation is expected to be dispatched at the maximum delay.");
+        Assert.assertTrue(firstRunTime.get() - startTime < 1000,
+                "Invalidation is expected to be dispatched before the changes stop arriving.");
+    }
+
+    private InvalidationScheduler getInvalidationScheduler(long debounceMillis, long maxDelayMillis) {
+
+        return new InvalidationScheduler(scheduledExecutorService, debounceMillis, maxDelayMillis,
+                organizationId -> {
+                    if (CHILD_ORG_ID.equals(organizationId)) {
+                        return Arrays.asList(CHILD_ORG_ID, PARENT_ORG_ID, ROOT_ORG_ID);
+                    }
+                    if (PARENT_ORG_ID.equals(organizationId)) {
+                        return Arrays.asList(PARENT_ORG_ID, ROOT_ORG_ID);
+                    }
+                    return Collections.singletonList(organizationId);
+                });
+    }
+
+    private static Invalidation getInvalidation(Category category, String organizationId, AtomicInteger runs) {
+
+        return new Invalidation(category, ORGANIZATION_TYPE, organizationId, organizationId, () -> {
+            runs.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline, "Condition is not met within the timeout.");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.mockito.Mock;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.identity.branding.preference.resolver.internal.BrandingResolverComponentDataHolder;
+import org.wso2.carbon.identity.branding.preference.resolver.util.OrganizationSubtreeTraverser.TraversalReport;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+import org.wso2.carbon.identity.organization.management.service.model.BasicOrganization;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+/**
+ * Unit tests for OrganizationSubtreeTraverser.
+ */
+public class OrganizationSubtreeTraverserTest {
+
+    private static final String TRAVERSAL_ID = "branding/carbon.super/ORG/carbon.super";
+    private static final String USERNAME = "admin";
+    private static final int PAGE_SIZE = 2;
+    private static final int MAX_RETRIES = 2;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Mock
+    private OrganizationManager organizationManager;
+
+    private ExecutorService traversalExecutorService;
+    private ExecutorService workerExecutorService;
+    private OrganizationSubtreeTraverser organizationSubtreeTraverser;
+
+    @BeforeMethod
+    public void setUp() {
+
+        openMocks(this);
+        setCarbonHome();
+        BrandingResolverComponentDataHolder.getInstance().setOrganizationManager(organizationManager);
+
+        traversalExecutorService = Executors.newSingleThreadExecutor();
+        workerExecutorService = Executors.newFixedThreadPool(2);
+        organizationSubtreeTraverser = new OrganizationSubtreeTraverser(traversalExecutorService,
+                workerExecutorService, 2, PAGE_SIZE, MAX_RETRIES);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        traversalExecutorService.shutdownNow();
+        workerExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void testTraverseResumesFromCheckpointAfterFailedPage() throws Exception {
+
+        List<BasicOrganization> firstPage = Arrays.asList(getOrganization("org-1", "1"),
+                getOrganization("org-2", "2"));
+        List<BasicOrganization> secondPage = Collections.singletonList(getOrganization("org-3", "3"));
+        when(organizationManager.getOrganizations(anyInt(), isNull(), isNull(), anyString(), anyString(),
+                anyBoolean())).thenReturn(firstPage);
+        when(organizationManager.getOrganizations(anyInt(), eq(getCursor("2")), isNull(), anyString(), anyString(),
+                anyBoolean())).thenThrow(new OrganizationManagementException("Error while retrieving the page."))
+                .thenReturn(secondPage);
+        when(organizationManager.getOrganizations(anyInt(), eq(getCursor("3")), isNull(), anyString(), anyString(),
+                anyBoolean())).thenReturn(Collections.emptyList());
+
+        List<String> visitedOrganizationIds = Collections.synchronizedList(new ArrayList<>());
+        TraversalReport report = organizationSubtreeTraverser.traverse(TRAVERSAL_ID,
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME, USERNAME, organizations ->
+                        organizations.forEach(organization -> visitedOrganizationIds.add(organization.getId())))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // The failed page is retried from its cursor. Hence, the organizations of the first page are visited once.
+        Collections.sort(visitedOrganizationIds);
+        Assert.assertEquals(visitedOrganizationIds, Arrays.asList("org-1", "org-2", "org-3"));
+        Assert.assertEquals(report.getOrganizationCount(), 3);
+        Assert.assertEquals(report.getPageCount(), 2);
+        Assert.assertEquals(report.getRetryCount(), 1);
+        Assert.assertEquals(report.getRestartCount(), 0);
+        verify(organizationManager, times(1)).getOrganizations(anyInt(), isNull(), isNull(), anyString(),
+                anyString(), anyBoolean());
+        Assert.assertEquals(organizationSubtreeTraverser.getActiveTraversalCount(), 0);
+    }
+
+    @Test
+    public void testTraverseFailsAfterMaxRetries() throws Exception {
+
+        when(organizationManager.getOrganizations(anyInt(), any(), isNull(), anyString(), anyString(),
+                anyBoolean())).thenThrow(new OrganizationManagementException("Error while retrieving the page."));
+
+        CompletableFuture<TraversalReport> report = organizationSubtreeTraverser.traverse(TRAVERSAL_ID,
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME, USERNAME, organizations -> {
+                });
+
+        try {
+            report.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Assert.fail("Traversal is expected to fail once the retries are exhausted.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof OrganizationManagementException);
+        }
+        verify(organizationManager, times(MAX_RETRIES + 1)).getOrganizations(anyInt(), any(), isNull(),
+                anyString(), anyString(), anyBoolean());
+        Assert.assertEquals(organizationSubtreeTraverser.getActiveTraversalCount(), 0);
+    }
+
+    @Test
+    public void testTraverseRestartsInProgressTraversal() throws Exception {
+
+        List<BasicOrganization> page = Arrays.asList(getOrganization("org-1", "1"), getOrganization("org-2", "2"));
+        when(organizationManager.getOrganizations(anyInt(), isNull(), isNull(), anyString(), anyString(),
+                anyBoolean())).thenReturn(page);
+        when(organizationManager.getOrganizations(anyInt(), eq(getCursor("2")), isNull(), anyString(), anyString(),
+                anyBoolean())).thenReturn(Collections.emptyList());
+
+        CountDownLatch visitStarted = new CountDownLatch(1);
+        CountDownLatch releaseVisit = new CountDownLatch(1);
+        List<String> visitedOrganizationIds = Collections.synchronizedList(new ArrayList<>());
+        OrganizationSubtreeTraverser.Visitor visitor = organizations -> {
+            visitStarted.countDown();
+            try {
+                releaseVisit.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            organizations.forEach(organization -> visitedOrganizationIds.add(organization.getId()));
+        };
+
+        CompletableFuture<TraversalReport> report = organizationSubtreeTraverser.traverse(TRAVERSAL_ID,
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME, USERNAME, visitor);
+        Assert.assertTrue(visitStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // The same traversal requested while in progress restarts it, instead of starting another traversal.
+        CompletableFuture<TraversalReport> restartedReport = organizationSubtreeTraverser.traverse(TRAVERSAL_ID,
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME, USERNAME, visitor);
+        Assert.assertSame(restartedReport, report);
+        releaseVisit.countDown();
+
+        TraversalReport completedReport = report.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Assert.assertEquals(visitedOrganizationIds.size(), 4);
+        // The counts of the report cover only the last pass over the hierarchy.
+        Assert.assertEquals(completedReport.getOrganizationCount(), 2);
+        Assert.assertEquals(completedReport.getPageCount(), 1);
+        Assert.assertEquals(completedReport.getRetryCount(), 0);
+        Assert.assertEquals(completedReport.getRestartCount(), 1);
+        Assert.assertEquals(organizationSubtreeTraverser.getActiveTraversalCount(), 0);
+    }
+
+    private static BasicOrganization getOrganization(String id, String created) {
+
+        BasicOrganization organization = new BasicOrganization();
+        organization.setId(id);
+        organization.setCreated(created);
+        return organization;
+    }
+
+    private static String getCursor(String created) {
+
+        return Base64.getEncoder().encodeToString(created.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void setCarbonHome() {
+
+        String carbonHome = Paths.get(System.getProperty("user.dir"), "target", "test-classes", "repository").
+                toString();
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, carbonHome);
+        System.setProperty(CarbonBaseConstants.CARBON_CONFIG_DIR_PATH, Paths.get(carbonHome, "conf").toString());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.branding.preference.management.core.model.PreferenceDocument;
+import org.wso2.carbon.identity.branding.preference.management.core.util.PreferenceParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.DISPLAY_NAME;
+import static org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants.ORGANIZATION_DETAILS;
+
+/**
+ * Unit tests for PreferenceTrees.
+ */
+public class PreferenceTreesTest {
+
+    private static final String PREFERENCE_JSON =
+            "{\"organizationDetails\": {\"displayName\": \"Parent\", \"supportEmail\": \"support@parent.com\"}, "
+                    + "\"configs\": {\"isBrandingEnabled\": true}}";
+
+    @Test
+    public void testOverrideValueOfPreferenceDocument() throws Exception {
+
+        PreferenceDocument document = (PreferenceDocument) PreferenceParser.parseDocument(
+                PREFERENCE_JSON.getBytes(StandardCharsets.UTF_8)).getPreference();
+
+        Object preference = PreferenceTrees.overrideValue(document, "", ORGANIZATION_DETAILS, DISPLAY_NAME);
+
+        Assert.assertTrue(preference instanceof PreferenceDocument);
+        Assert.assertEquals(((PreferenceDocument) preference).getDisplayName(), "");
+        Assert.assertEquals(document.getDisplayName(), "Parent");
+    }
+
+    @Test
+    public void testOverrideValueOfPreferenceMap() {
+
+        Map<String, Object> organizationDetails = new LinkedHashMap<>();
+        organizationDetails.put(DISPLAY_NAME, "Parent");
+        organizationDetails.put("supportEmail", "support@parent.com");
+        Map<String, Object> configs = new LinkedHashMap<>();
+        Map<String, Object> preference = new LinkedHashMap<>();
+        preference.put(ORGANIZATION_DETAILS, organizationDetails);
+        preference.put("configs", configs);
+
+        Map<?, ?> overriddenPreference =
+                (Map<?, ?>) PreferenceTrees.overrideValue(preference, "", ORGANIZATION_DETAILS, DISPLAY_NAME);
+
+        Map<?, ?> overriddenOrganizationDetails = (Map<?, ?>) overriddenPreference.get(ORGANIZATION_DETAILS);
+        // Maps along the path remain mutable linked hash maps.
+        Assert.assertTrue(overriddenPreference instanceof LinkedHashMap);
+        Assert.assertTrue(overriddenOrganizationDetails instanceof LinkedHashMap);
+        Assert.assertEquals(overriddenOrganizationDetails.get(DISPLAY_NAME), "");
+        Assert.assertEquals(overriddenOrganizationDetails.get("supportEmail"), "support@parent.com");
+        // The maps off the path are shared, and the given tree is not modified.
+        Assert.assertSame(overriddenPreference.get("configs"), configs);
+        Assert.assertEquals(organizationDetails.get(DISPLAY_NAME), "Parent");
+    }
+
+    @Test
+    public void testOverrideValueOfMissingPath() {
+
+        Map<String, Object> preference = new LinkedHashMap<>();
+        preference.put("configs", new LinkedHashMap<>());
+
+        Assert.assertSame(PreferenceTrees.overrideValue(preference, "", ORGANIZATION_DETAILS, DISPLAY_NAME),
+                preference);
+    }
+}
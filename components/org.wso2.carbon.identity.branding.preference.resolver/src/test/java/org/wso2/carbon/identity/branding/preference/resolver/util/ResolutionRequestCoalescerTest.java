@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.branding.preference.resolver.util;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtServerException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Unit tests for ResolutionRequestCoalescer.
+ */
+public class ResolutionRequestCoalescerTest {
+
+    private static final String REQUEST_KEY = "carbon.super/null/ORG/carbon.super/en-US/false";
+    private static final String OTHER_REQUEST_KEY = "carbon.super/null/ORG/carbon.super/fr-FR/false";
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private ResolutionRequestCoalescer<List<String>> resolutionRequestCoalescer;
+    private ExecutorService executorService;
+    private CountDownLatch releaseLoad;
+
+    @BeforeMethod
+    public void setUp() {
+
+        resolutionRequestCoalescer = new ResolutionRequestCoalescer<>(ArrayList::new);
+        executorService = Executors.newFixedThreadPool(2);
+        releaseLoad = new CountDownLatch(1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        releaseLoad.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testWaitingRequestsGetCopiesOfLoadedValue() throws Exception {
+
+        List<String> loadedValue = new ArrayList<>(Collections.singletonList("loaded"));
+        Future<List<String>> loadingRequest = executorService.submit(() ->
+                resolutionRequestCoalescer.execute(REQUEST_KEY, TIMEOUT_MILLIS, () -> {
+                    awaitRelease();
+                    return loadedValue;
+                }));
+        waitUntil(() -> resolutionRequestCoalescer.getInFlightRequestCount() == 1);
+
+        Future<List<String>> waitingRequest = executorService.submit(() ->
+                resolutionRequestCoalescer.execute(REQUEST_KEY, TIMEOUT_MILLIS, () -> {
+                    throw new IllegalStateException("Waiting request is not expected to load the value.");
+                }));
+        waitUntil(() -> resolutionRequestCoalescer.getCoalescedRequestCount() == 1);
+        releaseLoad.countDown();
+
+        Assert.assertSame(loadingRequest.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), loadedValue);
+        List<String> coalescedValue = waitingRequest.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(coalescedValue, loadedValue);
+        // The waiting request must not share the mutable value of the loading request.
+        Assert.assertNotSame(coalescedValue, loadedValue);
+        Assert.assertEquals(resolutionRequestCoalescer.getLoadedRequestCount(), 1);
+        Assert.assertEquals(resolutionRequestCoalescer.getTimedOutRequestCount(), 0);
+        Assert.assertEquals(resolutionRequestCoalescer.getInFlightRequestCount(), 0);
+    }
+
+    @Test
+    public void testWaitingRequestLoadsValueAfterTimeout() throws Exception {
+
+        Future<List<String>> loadingRequest = executorService.submit(() ->
+                resolutionRequestCoalescer.execute(REQUEST_KEY, TIMEOUT_MILLIS, () -> {
+                    awaitRelease();
+                    return Collections.singletonList("loaded");
+                }));
+        waitUntil(() -> resolutionRequestCoalescer.getInFlightRequestCount() == 1);
+
+        // The in progress load does not complete within the maximum wait time of the waiting request.
+        List<String> fallbackValue = resolutionRequestCoalescer.execute(REQUEST_KEY, 50,
+                () -> Collections.singletonList("fallback"));
+
+        Assert.assertEquals(fallbackValue, Collections.singletonList("fallback"));
+        Assert.assertEquals(resolutionRequestCoalescer.getCoalescedRequestCount(), 1);
+        Assert.assertEquals(resolutionRequestCoalescer.getTimedOutRequestCount(), 1);
+
+        releaseLoad.countDown();
+        Assert.assertEquals(loadingRequest.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+                Collections.singletonList("loaded"));
+        Assert.assertEquals(resolutionRequestCoalescer.getInFlightRequestCount(), 0);
+    }
+
+    @Test
+    public void testRequestsOfDifferentKeysAreNotCoalesced() throws Exception {
+
+        Future<List<String>> loadingRequest = executorService.submit(() ->
+                resolutionRequestCoalescer.execute(REQUEST_KEY, TIMEOUT_MILLIS, () -> {
+                    awaitRelease();
+                    return Collections.singletonList("loaded");
+                }));
+        waitUntil(() -> resolutionRequestCoalescer.getInFlightRequestCount() == 1);
+
+        Future<List<String>> otherLoadingRequest = executorService.submit(() ->
+                resolutionRequestCoalescer.execute(OTHER_REQUEST_KEY, TIMEOUT_MILLIS, () -> {
+                    awaitRelease();
+                    return Collections.singletonList("other");
+                }));
+        waitUntil(() -> resolutionRequestCoalescer.getInFlightRequestCount() == 2);
+        releaseLoad.countDown();
+
+        Assert.assertEquals(loadingRequest.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+                Collections.singletonList("loaded"));
+        Assert.assertEquals(otherLoadingRequest.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+                Collections.singletonList("other"));
+        Assert.assertEquals(resolutionRequestCoalescer.getLoadedRequestCount(), 2);
+        Assert.assertEquals(resolutionRequestCoalescer.getCoalescedRequestCount(), 0);
+        Assert.assertEquals(resolutionRequestCoalescer.getInFlightRequestCount(), 0);
+    }
+
+    @Test
+    public void testWaitingRequestGetsErrorOfLoad() throws Exception {
+
+        BrandingPreferenceMgtServerException loadError =
+                new BrandingPreferenceMgtServerException("Error while loading the value.", "BPM-00000");
+        Future<List<String>> loadingRequest = executorService.submit(() ->
+                resolutionRequestCoalescer.execute(REQUEST_KEY, TIMEOUT_MILLIS, () -> {
+                    awaitRelease();
+                    throw loadError;
+                }));
+        waitUntil(() -> resolutionRequestCoalescer.getInFlightRequestCount() == 1);
+
+        Future<List<String>> waitingRequest = executorService.submit(() ->
+                resolutionRequestCoalescer.execute(REQUEST_KEY, TIMEOUT_MILLIS, () -> {
+                    throw new IllegalStateException("Waiting request is not expected to load the value.");
+                }));
+        waitUntil(() -> resolutionRequestCoalescer.getCoalescedRequestCount() == 1);
+        releaseLoad.countDown();
+
+        assertLoadError(loadingRequest, loadError);
+        assertLoadError(waitingRequest, loadError);
+        Assert.assertEquals(resolutionRequestCoalescer.getInFlightRequestCount(), 0);
+    }
+
+    private void awaitRelease() {
+
+        try {
+            releaseLoad.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void assertLoadError(Future<List<String>> request, Exception loadError) throws Exception {
+
+        try {
+            request.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            Assert.fail("Request is expected to fail with the error of the load.");
+        } catch (ExecutionException e) {
+            Assert.assertSame(e.getCause(), loadError);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline, "Condition is not met within the timeout.");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}